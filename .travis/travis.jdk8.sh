@@ -0,0 +1,18 @@
+#!/bin/bash
+
+# The JDK 8 of the build image may predate 8u262, which brings the
+# jdk.jfr API the connector is compiled against. Use a pinned build.
+# The script is sourced, so JAVA_HOME is exported to the next steps.
+
+JDK8_RELEASE=jdk8u392-b08
+JDK8_HOME="${HOME}/${JDK8_RELEASE}"
+
+if [ ! -x "${JDK8_HOME}/bin/javac" ]; then
+    mkdir -p "${JDK8_HOME}"
+    curl -fsSL "https://api.adoptium.net/v3/binary/version/${JDK8_RELEASE}/linux/x64/jdk/hotspot/normal/eclipse" \
+        | tar -xz --strip-components=1 -C "${JDK8_HOME}"
+fi
+
+export JAVA_HOME="${JDK8_HOME}"
+export PATH="${JAVA_HOME}/bin:${PATH}"
+java -version
@@ -0,0 +1,27 @@
+package org.tarantool.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class which tuple codec is generated at compile time.
+ * <p>
+ * For a class {@code Account} the processor generates
+ * {@code AccountTupleCodec} in the same package, which
+ * {@code INSTANCE} implements {@code org.tarantool.TupleCodec}.
+ * <p>
+ * Tuple fields are mapped to non-static and non-transient fields
+ * of the class in their declaration order unless some of the fields
+ * are annotated by {@link TupleField}; then only the annotated fields
+ * are mapped. A field is accessed directly if it is not private,
+ * otherwise through its getter and setter. The class must have
+ * a non-private constructor without arguments.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface TarantoolTuple {
+}
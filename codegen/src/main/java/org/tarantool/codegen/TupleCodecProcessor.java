@@ -0,0 +1,459 @@
+package org.tarantool.codegen;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates tuple codecs for {@link TarantoolTuple} classes.
+ * <p>
+ * A generated codec reads and writes the fields positionally using
+ * a method specialized for the field type, so neither reflection nor
+ * boxing of primitive fields is involved. Fields of other types are
+ * encoded and decoded by {@code MsgPackLite}.
+ */
+@SupportedAnnotationTypes("org.tarantool.codegen.TarantoolTuple")
+public class TupleCodecProcessor extends AbstractProcessor {
+
+    static final String CODEC_SUFFIX = "TupleCodec";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(TarantoolTuple.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@TarantoolTuple is applicable to classes only");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                List<Mapping> mappings = collectMappings(type);
+                if (mappings != null && checkConstructor(type)) {
+                    generate(type, mappings);
+                }
+            } catch (IOException e) {
+                error(type, "Cannot write a tuple codec: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private List<Mapping> collectMappings(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        boolean annotated = false;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            fields.add(field);
+            annotated |= field.getAnnotation(TupleField.class) != null;
+        }
+
+        List<Mapping> mappings = new ArrayList<>();
+        boolean valid = true;
+        int position = 0;
+        for (VariableElement field : fields) {
+            TupleField tupleField = field.getAnnotation(TupleField.class);
+            if (annotated && tupleField == null) {
+                continue;
+            }
+            Mapping mapping = new Mapping(field, annotated ? tupleField.value() : position++);
+            valid &= resolveAccessors(type, mapping);
+            mappings.add(mapping);
+        }
+        if (mappings.isEmpty()) {
+            error(type, "No fields to be mapped");
+            return null;
+        }
+        mappings.sort(Comparator.comparingInt(m -> m.position));
+        for (int i = 0; i < mappings.size(); i++) {
+            Mapping mapping = mappings.get(i);
+            if (mapping.position < 0) {
+                error(mapping.field, "Tuple field position must be non-negative");
+                valid = false;
+            } else if (i > 0 && mappings.get(i - 1).position == mapping.position) {
+                error(mapping.field, "Tuple field " + mapping.position + " is mapped more than once");
+                valid = false;
+            }
+        }
+        return valid ? mappings : null;
+    }
+
+    private boolean resolveAccessors(TypeElement type, Mapping mapping) {
+        VariableElement field = mapping.field;
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            mapping.getter = name;
+            mapping.setter = field.getModifiers().contains(Modifier.FINAL) ? null : name + " = ";
+        } else {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            String prefix = field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PRIVATE) ||
+                    method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                String methodName = method.getSimpleName().toString();
+                if (methodName.equals(prefix + suffix) && method.getParameters().isEmpty()) {
+                    mapping.getter = methodName + "()";
+                } else if (methodName.equals("set" + suffix) && method.getParameters().size() == 1) {
+                    mapping.setter = methodName + "(";
+                }
+            }
+        }
+        if (mapping.getter == null || mapping.setter == null) {
+            error(field, "Field must be non-private and non-final or have a getter and a setter");
+            return false;
+        }
+        if (codecType(field.asType()) == null) {
+            error(field, "Unsupported tuple field type " + field.asType());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean checkConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@TarantoolTuple class must not be abstract");
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            error(type, "@TarantoolTuple class must be static");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "@TarantoolTuple class must have a non-private constructor without arguments");
+        return false;
+    }
+
+    private void generate(TypeElement type, List<Mapping> mappings) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String codecName = codecName(type);
+        String typeName = type.getQualifiedName().toString();
+        String qualifiedCodecName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        int fieldCount = mappings.get(mappings.size() - 1).position + 1;
+
+        Writer writer = processingEnv.getFiler().createSourceFile(qualifiedCodecName, type).openWriter();
+        try (PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import org.tarantool.MsgPackLite;");
+            out.println("import org.tarantool.MsgPackReader;");
+            out.println("import org.tarantool.MsgPackWriter;");
+            out.println("import org.tarantool.TupleCodec;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            out.println("/**");
+            out.println(" * Tuple codec of {@link " + typeName + "}.");
+            out.println(" * Generated by " + TupleCodecProcessor.class.getName() + ", do not edit.");
+            out.println(" */");
+            String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+            out.println(visibility + "final class " + codecName + " implements TupleCodec<" + typeName + "> {");
+            out.println();
+            out.println("    public static final " + codecName + " INSTANCE = new " + codecName + "();");
+            out.println();
+            out.println("    private static final int FIELD_COUNT = " + fieldCount + ";");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings(\"unchecked\")");
+            out.println("    public " + typeName + " decode(MsgPackReader reader) {");
+            out.println("        int size = reader.readArrayHeader();");
+            out.println("        " + typeName + " value = new " + typeName + "();");
+            int position = 0;
+            for (Mapping mapping : mappings) {
+                for (; position < mapping.position; position++) {
+                    out.println("        if (size > " + position + ") {");
+                    out.println("            reader.skipValue();");
+                    out.println("        }");
+                }
+                out.println("        if (size > " + position + ") {");
+                String field = mapping.field.getSimpleName().toString();
+                out.println("            value." + mapping.write(decodeExpression(mapping.field.asType(), field)) + ";");
+                out.println("        }");
+                position++;
+            }
+            out.println("        if (size > FIELD_COUNT) {");
+            out.println("            reader.skipValues(size - FIELD_COUNT);");
+            out.println("        }");
+            out.println("        return value;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void encode(" + typeName + " value, MsgPackWriter writer) throws IOException {");
+            out.println("        writer.writeArrayHeader(FIELD_COUNT);");
+            position = 0;
+            for (Mapping mapping : mappings) {
+                for (; position < mapping.position; position++) {
+                    out.println("        writer.writeNil();");
+                }
+                writeEncodeStatement(out, mapping, position);
+                position++;
+            }
+            out.println("    }");
+            writeNarrowingMethods(out, mappings);
+            out.println();
+            out.println("}");
+        }
+    }
+
+    /**
+     * Writes methods which check that a decoded integer fits a short
+     * or a byte field, so a value out of the range is not truncated.
+     */
+    private void writeNarrowingMethods(PrintWriter out, List<Mapping> mappings) {
+        Set<String> types = new TreeSet<>();
+        for (Mapping mapping : mappings) {
+            String type = narrowType(mapping.field.asType());
+            if (type != null) {
+                types.add(type);
+            }
+        }
+        for (String type : types) {
+            String boxed = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+            out.println();
+            out.println("    private static " + type + " to" + boxed + "(long value, String field) {");
+            out.println("        if (value < " + boxed + ".MIN_VALUE || value > " + boxed + ".MAX_VALUE) {");
+            out.println("            throw new IllegalArgumentException(");
+            out.println("                \"Value \" + value + \" of field \" + field + \" exceeds the range of " +
+                type + "\"");
+            out.println("            );");
+            out.println("        }");
+            out.println("        return (" + type + ") value;");
+            out.println("    }");
+        }
+    }
+
+    /**
+     * Gets a primitive type narrower than int a field is decoded to.
+     *
+     * @param type field type
+     *
+     * @return {@code short}, {@code byte} or {@code null} for other types
+     */
+    private String narrowType(TypeMirror type) {
+        switch (type.getKind()) {
+        case SHORT:
+            return "short";
+        case BYTE:
+            return "byte";
+        case DECLARED:
+            break;
+        default:
+            return null;
+        }
+        switch (type.toString()) {
+        case "java.lang.Short":
+            return "short";
+        case "java.lang.Byte":
+            return "byte";
+        default:
+            return null;
+        }
+    }
+
+    private void writeEncodeStatement(PrintWriter out, Mapping mapping, int position) {
+        TypeMirror type = mapping.field.asType();
+        String method = codecType(type);
+        String value = "value." + mapping.getter;
+        if (type.getKind().isPrimitive()) {
+            out.println("        writer." + method + "(" + value + ");");
+        } else if ("String".equals(method) || "Binary".equals(method)) {
+            out.println("        writer.write" + method + "(" + value + ");");
+        } else {
+            String local = "field" + position;
+            out.println("        " + type + " " + local + " = " + value + ";");
+            out.println("        if (" + local + " == null) {");
+            out.println("            writer.writeNil();");
+            out.println("        } else {");
+            out.println("            writer." + (method.isEmpty() ? "writeValue" : method) + "(" + local + ");");
+            out.println("        }");
+        }
+    }
+
+    private String decodeExpression(TypeMirror type, String field) {
+        String narrowed = "(reader.readLong(), \"" + field + "\")";
+        switch (type.getKind()) {
+        case LONG:
+            return "reader.readLong()";
+        case INT:
+            return "reader.readInt()";
+        case SHORT:
+            return "toShort" + narrowed;
+        case BYTE:
+            return "toByte" + narrowed;
+        case DOUBLE:
+            return "reader.readDouble()";
+        case FLOAT:
+            return "(float) reader.readDouble()";
+        case BOOLEAN:
+            return "reader.readBoolean()";
+        case ARRAY:
+            return "reader.skipNil() ? null : reader.readBinary()";
+        default:
+            break;
+        }
+        String name = type.toString();
+        String boxed;
+        switch (name) {
+        case "java.lang.String":
+            return "reader.skipNil() ? null : reader.readString()";
+        case "java.lang.Long":
+            boxed = "Long.valueOf(reader.readLong())";
+            break;
+        case "java.lang.Integer":
+            boxed = "Integer.valueOf(reader.readInt())";
+            break;
+        case "java.lang.Short":
+            boxed = "Short.valueOf(toShort" + narrowed + ")";
+            break;
+        case "java.lang.Byte":
+            boxed = "Byte.valueOf(toByte" + narrowed + ")";
+            break;
+        case "java.lang.Double":
+            boxed = "Double.valueOf(reader.readDouble())";
+            break;
+        case "java.lang.Float":
+            boxed = "Float.valueOf((float) reader.readDouble())";
+            break;
+        case "java.lang.Boolean":
+            boxed = "Boolean.valueOf(reader.readBoolean())";
+            break;
+        default:
+            boxed = "(" + name + ") reader.readValue(MsgPackLite.INSTANCE)";
+            break;
+        }
+        return "reader.skipNil() ? null : " + boxed;
+    }
+
+    /**
+     * Gets a writer method for a field type.
+     *
+     * @param type field type
+     *
+     * @return writer method name, {@code String} or {@code Binary} for
+     *     nullable values written as is, an empty string for values
+     *     written by {@code MsgPackLite} or {@code null} if the type
+     *     is not supported
+     */
+    private String codecType(TypeMirror type) {
+        switch (type.getKind()) {
+        case LONG:
+        case INT:
+        case SHORT:
+        case BYTE:
+            return "writeLong";
+        case DOUBLE:
+            return "writeDouble";
+        case FLOAT:
+            return "writeFloat";
+        case BOOLEAN:
+            return "writeBoolean";
+        case CHAR:
+            return null;
+        case ARRAY:
+            return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? "Binary" : null;
+        case DECLARED:
+            break;
+        default:
+            return null;
+        }
+        switch (type.toString()) {
+        case "java.lang.String":
+            return "String";
+        case "java.lang.Long":
+        case "java.lang.Integer":
+        case "java.lang.Short":
+        case "java.lang.Byte":
+            return "writeLong";
+        case "java.lang.Double":
+            return "writeDouble";
+        case "java.lang.Float":
+            return "writeFloat";
+        case "java.lang.Boolean":
+            return "writeBoolean";
+        case "java.lang.Character":
+            return null;
+        default:
+            return "";
+        }
+    }
+
+    static String codecName(TypeElement type) {
+        List<String> names = new ArrayList<>();
+        Element element = type;
+        while (element instanceof TypeElement) {
+            names.add(element.getSimpleName().toString());
+            element = element.getEnclosingElement();
+        }
+        Collections.reverse(names);
+        return String.join("_", names) + CODEC_SUFFIX;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Mapping of a class field to a tuple field.
+     */
+    private static class Mapping {
+
+        final VariableElement field;
+        final int position;
+
+        /**
+         * Expression reading the field value relative to the object.
+         */
+        String getter;
+
+        /**
+         * Beginning of a statement assigning the field value.
+         */
+        String setter;
+
+        Mapping(VariableElement field, int position) {
+            this.field = field;
+            this.position = position;
+        }
+
+        String write(String expression) {
+            return setter.endsWith("(") ? setter + expression + ")" : setter + expression;
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.tarantool.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field of a {@link TarantoolTuple} class to a tuple field.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface TupleField {
+
+    /**
+     * Zero-based position of the tuple field.
+     *
+     * @return field position
+     */
+    int value();
+
+}
@@ -0,0 +1,215 @@
+package org.tarantool.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+import org.tarantool.TupleCodec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+@DisplayName("A tuple codec processor")
+class TupleCodecProcessorTest {
+
+    private static final String ACCOUNT_SOURCE = String.join("\n",
+        "package test;",
+        "",
+        "import org.tarantool.codegen.TarantoolTuple;",
+        "",
+        "@TarantoolTuple",
+        "public class Account {",
+        "    public static final int IGNORED = 1;",
+        "    long id;",
+        "    private String owner;",
+        "    Double balance;",
+        "    boolean active;",
+        "    byte[] data;",
+        "    java.util.List<String> tags;",
+        "    transient Object cache;",
+        "",
+        "    public String getOwner() { return owner; }",
+        "    public void setOwner(String owner) { this.owner = owner; }",
+        "}"
+    );
+
+    private static final String SPARSE_SOURCE = String.join("\n",
+        "package test;",
+        "",
+        "import org.tarantool.codegen.TarantoolTuple;",
+        "import org.tarantool.codegen.TupleField;",
+        "",
+        "@TarantoolTuple",
+        "public class Sparse {",
+        "    @TupleField(2) int value;",
+        "    @TupleField(0) int key;",
+        "    String ignored;",
+        "}"
+    );
+
+    @TempDir
+    Path output;
+
+    @Test
+    @DisplayName("generated a codec mapping fields in the declaration order")
+    void testDeclarationOrder() throws Exception {
+        ClassLoader loader = compile("Account", ACCOUNT_SOURCE);
+        TupleCodec<Object> codec = codec(loader, "test.AccountTupleCodec");
+        Class<?> type = loader.loadClass("test.Account");
+
+        List<?> tuple = Arrays.asList(1L << 40, "owner", 10.5d, true, new byte[] { 1, 2 }, Arrays.asList("a", "b"));
+        Object account = codec.decode(reader(tuple));
+        assertEquals(1L << 40, field(type, "id", account));
+        assertEquals("owner", type.getMethod("getOwner").invoke(account));
+        assertEquals(10.5d, field(type, "balance", account));
+        assertEquals(true, field(type, "active", account));
+        assertArrayEquals(new byte[] { 1, 2 }, (byte[]) field(type, "data", account));
+        assertEquals(Arrays.asList("a", "b"), field(type, "tags", account));
+
+        assertArrayEquals(pack(tuple), encode(codec, account));
+    }
+
+    @Test
+    @DisplayName("handled nulls and tuples of different sizes")
+    void testNullsAndSizes() throws Exception {
+        ClassLoader loader = compile("Account", ACCOUNT_SOURCE);
+        TupleCodec<Object> codec = codec(loader, "test.AccountTupleCodec");
+
+        Object account = codec.decode(reader(Arrays.asList(1, null, null)));
+        assertArrayEquals(pack(Arrays.asList(1, null, null, false, null, null)), encode(codec, account));
+
+        MsgPackReader reader = reader(Arrays.asList(1, "o", 1.5d, false, null, null, "extra", "fields"));
+        codec.decode(reader);
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    @DisplayName("generated a codec mapping annotated fields")
+    void testAnnotatedPositions() throws Exception {
+        ClassLoader loader = compile("Sparse", SPARSE_SOURCE);
+        TupleCodec<Object> codec = codec(loader, "test.SparseTupleCodec");
+        Class<?> type = loader.loadClass("test.Sparse");
+
+        Object sparse = codec.decode(reader(Arrays.asList(7, "skipped", 42)));
+        assertEquals(7, field(type, "key", sparse));
+        assertEquals(42, field(type, "value", sparse));
+        assertEquals(null, field(type, "ignored", sparse));
+
+        assertArrayEquals(pack(Arrays.asList(7, null, 42)), encode(codec, sparse));
+    }
+
+    @Test
+    @DisplayName("rejected values out of the range of narrow fields")
+    void testNarrowFields() throws Exception {
+        String source = String.join("\n",
+            "package test;",
+            "@org.tarantool.codegen.TarantoolTuple",
+            "public class Narrow {",
+            "    short count;",
+            "    Byte flag;",
+            "}"
+        );
+        ClassLoader loader = compile("Narrow", source);
+        TupleCodec<Object> codec = codec(loader, "test.NarrowTupleCodec");
+        Class<?> type = loader.loadClass("test.Narrow");
+
+        Object narrow = codec.decode(reader(Arrays.asList(-32768, 127)));
+        assertEquals((short) -32768, field(type, "count", narrow));
+        assertEquals((byte) 127, field(type, "flag", narrow));
+
+        IllegalArgumentException error = assertThrows(
+            IllegalArgumentException.class, () -> codec.decode(reader(Arrays.asList(70000, 1)))
+        );
+        assertTrue(error.getMessage().contains("field count"), error.getMessage());
+        error = assertThrows(
+            IllegalArgumentException.class, () -> codec.decode(reader(Arrays.asList(1, 128)))
+        );
+        assertTrue(error.getMessage().contains("field flag"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("reported unmappable classes")
+    void testErrors() throws IOException {
+        String source = String.join("\n",
+            "package test;",
+            "@org.tarantool.codegen.TarantoolTuple",
+            "public class Broken {",
+            "    private int hidden;",
+            "    char letter;",
+            "    public Broken(int hidden) { this.hidden = hidden; }",
+            "}"
+        );
+        String errors = compileWithErrors("Broken", source);
+
+        assertTrue(errors.contains("getter and a setter"), errors);
+        assertTrue(errors.contains("Unsupported tuple field type char"), errors);
+    }
+
+    private ClassLoader compile(String name, String source) throws IOException {
+        String errors = compileWithErrors(name, source);
+        assertEquals("", errors);
+        return new URLClassLoader(new URL[] { output.toUri().toURL() }, getClass().getClassLoader());
+    }
+
+    private String compileWithErrors(String name, String source) throws IOException {
+        Path file = output.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int status = compiler.run(
+            null, null, diagnostics,
+            "-classpath", System.getProperty("java.class.path"),
+            "-processor", TupleCodecProcessor.class.getName(),
+            "-d", output.toString(),
+            "-s", output.toString(),
+            file.toString()
+        );
+        return status == 0 ? "" : new String(diagnostics.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TupleCodec<Object> codec(ClassLoader loader, String name) throws Exception {
+        return (TupleCodec<Object>) loader.loadClass(name).getField("INSTANCE").get(null);
+    }
+
+    private Object field(Class<?> type, String name, Object object) throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    private MsgPackReader reader(Object value) throws IOException {
+        return new MsgPackReader(ByteBuffer.wrap(pack(value)));
+    }
+
+    private byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, bytes);
+        return bytes.toByteArray();
+    }
+
+    private byte[] encode(TupleCodec<Object> codec, Object value) throws IOException {
+        return pack(codec.bind(value));
+    }
+
+}
@@ -0,0 +1,297 @@
+package org.tarantool.msgpack;
+
+import org.tarantool.BoundedInput;
+import org.tarantool.Code;
+import org.tarantool.MsgPackCodecFactory;
+import org.tarantool.MsgPackExtensions;
+import org.tarantool.MsgPackLite;
+import org.tarantool.StringCache;
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+
+import org.msgpack.core.ExtensionTypeHeader;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePackException;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.ByteBufferInput;
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.value.ValueType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MsgPack codec backed by <a href="https://github.com/msgpack/msgpack-java">msgpack-core</a>.
+ * <p>
+ * Strings, numbers, lists, arrays and maps are encoded by the per-thread
+ * msgpack-core packer. Other values (binaries, {@code MsgPackWritable},
+ * extension types, etc.) are encoded by {@link MsgPackLite} right into
+ * the target stream, so large binaries are still passed by reference and
+ * streamed binaries are still streamed. The nesting depth of the encoded
+ * values is limited by {@link #getMaxDepth()}.
+ * <p>
+ * Values are decoded by msgpack-core directly from the buffer of
+ * a {@link ByteBufferBackedInputStream}, which is the input of
+ * the buffered responses, to the same types {@link MsgPackLite} uses.
+ * The collections are assembled and limited by the decoding loop of
+ * {@link MsgPackLite}. Other inputs are decoded by {@link MsgPackLite}
+ * because msgpack-core reads them ahead.
+ * <p>
+ * The codec is plugged into a client by
+ * <pre>{@code config.msgPackCodecFactory = MessagePackCodec.FACTORY;}</pre>
+ */
+public class MessagePackCodec extends MsgPackLite {
+
+    public static final MsgPackCodecFactory FACTORY = MessagePackCodec::new;
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private static final ThreadLocal<Encoder> ENCODERS = ThreadLocal.withInitial(Encoder::new);
+    private static final ThreadLocal<Decoder> DECODERS = ThreadLocal.withInitial(Decoder::new);
+
+    public MessagePackCodec() {
+        this(null, DEFAULT_MAX_DEPTH, DEFAULT_MAX_COLLECTION_SIZE);
+    }
+
+    public MessagePackCodec(StringCache stringCache, int maxDepth, int maxCollectionSize) {
+        super(stringCache, maxDepth, maxCollectionSize);
+    }
+
+    @Override
+    public void pack(Object item, OutputStream os) throws IOException {
+        Encoder encoder = ENCODERS.get();
+        // a MsgPackWritable packs its fields while its holder is being packed
+        if (encoder.busy) {
+            encoder = new Encoder();
+        }
+        encoder.busy = true;
+        try {
+            MessageBufferPacker packer = encoder.packer;
+            packer.clear();
+            pack(item, os, packer, 0);
+            flush(packer, os);
+        } finally {
+            encoder.packer.clear();
+            encoder.busy = false;
+        }
+    }
+
+    private void pack(Object item, OutputStream os, MessageBufferPacker packer, int depth) throws IOException {
+        if (item == null) {
+            packer.packNil();
+        } else if (item instanceof String) {
+            packer.packString((String) item);
+        } else if (item instanceof Integer || item instanceof Long || item instanceof Short || item instanceof Byte) {
+            packer.packLong(((Number) item).longValue());
+        } else if (item instanceof Boolean) {
+            packer.packBoolean((Boolean) item);
+        } else if (item instanceof Code) {
+            packer.packInt(((Code) item).getId());
+        } else if (item instanceof Double) {
+            packer.packDouble((Double) item);
+        } else if (item instanceof Float) {
+            packer.packFloat((Float) item);
+        } else if (item instanceof BigInteger) {
+            packer.packBigInteger((BigInteger) item);
+        } else if (item instanceof List) {
+            List<?> list = (List<?>) item;
+            packer.packArrayHeader(list.size());
+            for (Object element : list) {
+                pack(element, os, packer, checkDepth(depth));
+            }
+        } else if (item instanceof Object[]) {
+            Object[] array = (Object[]) item;
+            packer.packArrayHeader(array.length);
+            for (Object element : array) {
+                pack(element, os, packer, checkDepth(depth));
+            }
+        } else if (item instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) item;
+            packer.packMapHeader(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                pack(entry.getKey(), os, packer, checkDepth(depth));
+                pack(entry.getValue(), os, packer, checkDepth(depth));
+            }
+        } else {
+            // the values packed so far precede the value written to the stream
+            flush(packer, os);
+            super.pack(item, os);
+        }
+    }
+
+    private int checkDepth(int depth) {
+        if (depth == getMaxDepth()) {
+            throw new IllegalArgumentException("Value nesting depth exceeds " + getMaxDepth());
+        }
+        return depth + 1;
+    }
+
+    private static void flush(MessageBufferPacker packer, OutputStream os) throws IOException {
+        packer.flush();
+        for (MessageBuffer buffer : packer.toBufferList()) {
+            os.write(buffer.array(), buffer.arrayOffset(), buffer.size());
+        }
+        packer.clear();
+    }
+
+    @Override
+    public Object unpack(InputStream is) throws IOException {
+        if (!(is instanceof ByteBufferBackedInputStream)) {
+            return super.unpack(is);
+        }
+        ByteBuffer buffer = ((ByteBufferBackedInputStream) is).getBuffer();
+        Decoder decoder = DECODERS.get();
+        try {
+            MessageUnpacker unpacker = decoder.reset(buffer);
+            int length = buffer.remaining();
+            BoundedInput bound = () -> length - (int) unpacker.getTotalReadBytes();
+            Object value = unpack(new UnpackerSource(unpacker, bound), bound);
+            buffer.position(buffer.position() + (int) unpacker.getTotalReadBytes());
+            return value;
+        } catch (MessagePackException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } finally {
+            decoder.reset(EMPTY_BUFFER);
+        }
+    }
+
+    /**
+     * Source of the values read by msgpack-core.
+     */
+    private final class UnpackerSource implements ValueSource {
+
+        private final MessageUnpacker unpacker;
+        private final BoundedInput bound;
+        private boolean map;
+        private int size;
+        private Object value;
+
+        UnpackerSource(MessageUnpacker unpacker, BoundedInput bound) {
+            this.unpacker = unpacker;
+            this.bound = bound;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            MessageFormat format = unpacker.getNextFormat();
+            ValueType type = format.getValueType();
+            if (type == ValueType.ARRAY) {
+                map = false;
+                size = unpacker.unpackArrayHeader();
+                return true;
+            }
+            if (type == ValueType.MAP) {
+                map = true;
+                size = unpacker.unpackMapHeader();
+                return true;
+            }
+            value = unpackScalar(format);
+            return false;
+        }
+
+        @Override
+        public boolean isMap() {
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object value() {
+            return value;
+        }
+
+        private Object unpackScalar(MessageFormat format) throws IOException {
+            switch (format) {
+            case NIL:
+                unpacker.unpackNil();
+                return null;
+            case BOOLEAN:
+                return unpacker.unpackBoolean();
+            case POSFIXINT:
+            case UINT8:
+            case UINT16:
+            case INT32:
+                return unpacker.unpackInt();
+            case UINT32:
+            case INT64:
+                return unpacker.unpackLong();
+            case UINT64: {
+                BigInteger value = unpacker.unpackBigInteger();
+                return value.bitLength() < Long.SIZE ? (Object) value.longValue() : value;
+            }
+            case NEGFIXINT:
+            case INT8:
+                return unpacker.unpackByte();
+            case INT16:
+                return unpacker.unpackShort();
+            case FLOAT32:
+                return unpacker.unpackFloat();
+            case FLOAT64:
+                return unpacker.unpackDouble();
+            case FIXSTR:
+            case STR8:
+            case STR16:
+            case STR32: {
+                int length = checkLength(unpacker.unpackRawStringHeader(), bound);
+                byte[] data = unpacker.readPayload(length);
+                StringCache stringCache = getStringCache();
+                return stringCache != null ? stringCache.get(data, 0, length) : StringCache.decode(data, 0, length);
+            }
+            case BIN8:
+            case BIN16:
+            case BIN32:
+                return unpacker.readPayload(checkLength(unpacker.unpackBinaryHeader(), bound));
+            case FIXEXT1:
+            case FIXEXT2:
+            case FIXEXT4:
+            case FIXEXT8:
+            case FIXEXT16:
+            case EXT8:
+            case EXT16:
+            case EXT32: {
+                ExtensionTypeHeader header = unpacker.unpackExtensionTypeHeader();
+                byte[] data = unpacker.readPayload(checkLength(header.getLength(), bound));
+                return MsgPackExtensions.read(
+                    header.getType(), data.length, new DataInputStream(new ByteArrayInputStream(data))
+                );
+            }
+            default:
+                throw new IllegalArgumentException("Input contains invalid type value " + format);
+            }
+        }
+
+    }
+
+    private static class Encoder {
+
+        private final MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        private boolean busy;
+
+    }
+
+    private static class Decoder {
+
+        private final ByteBufferInput input = new ByteBufferInput(EMPTY_BUFFER);
+        private final MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(input);
+
+        MessageUnpacker reset(ByteBuffer buffer) throws IOException {
+            input.reset(buffer);
+            unpacker.reset(input);
+            return unpacker;
+        }
+
+    }
+
+}
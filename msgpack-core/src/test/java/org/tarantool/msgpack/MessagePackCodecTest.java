@@ -0,0 +1,128 @@
+package org.tarantool.msgpack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.MsgPackLite;
+import org.tarantool.StreamedBinary;
+import org.tarantool.protocol.PacketBuffer;
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@DisplayName("A msgpack-core codec")
+class MessagePackCodecTest {
+
+    private final MessagePackCodec codec = new MessagePackCodec();
+
+    @Test
+    @DisplayName("decoded values to the types of the built-in codec")
+    void testTypes() throws IOException {
+        Map<Object, Object> value = new HashMap<>();
+        value.put(0, Arrays.asList(1, 200, 70000, 5_000_000_000L, -1, -200, "name", 1.5, true, null));
+        value.put("big", new BigInteger("18446744073709551615"));
+        value.put("bin", Collections.singletonList(new byte[] {1, 2, 3}));
+        value.put("ext", Arrays.asList(new BigDecimal("-12.34"), new UUID(1, 2)));
+
+        byte[] packed = pack(MsgPackLite.INSTANCE, value);
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(packed, packed.length + 1));
+        Map<?, ?> decoded = (Map<?, ?>) codec.unpack(new ByteBufferBackedInputStream(buffer));
+
+        Map<?, ?> expected = (Map<?, ?>) MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(packed));
+        List<?> expectedList = (List<?>) expected.get(0);
+        List<?> decodedList = (List<?>) decoded.get(0);
+        assertEquals(expectedList, decodedList);
+        for (int i = 0; i < expectedList.size() - 1; i++) {
+            assertEquals(expectedList.get(i).getClass(), decodedList.get(i).getClass());
+        }
+        assertEquals(value.get("big"), decoded.get("big"));
+        assertEquals(value.get("ext"), decoded.get("ext"));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) ((List<?>) decoded.get("bin")).get(0));
+        // only the value has been consumed
+        assertEquals(packed.length, buffer.position());
+    }
+
+    @Test
+    @DisplayName("encoded values the built-in codec decodes")
+    void testEncode() throws IOException {
+        List<Object> value = Arrays.asList(
+            1, -1, Long.MAX_VALUE, "строка", new byte[0], new Object[] {1.5f, false},
+            Collections.singletonMap(1, null), new BigDecimal("1.5"), new UUID(3, 4)
+        );
+
+        List<?> decoded = (List<?>) MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(pack(codec, value)));
+
+        assertEquals(value.size(), decoded.size());
+        assertEquals(Arrays.asList(1, (byte) -1, Long.MAX_VALUE, "строка"), decoded.subList(0, 4));
+        assertEquals(Arrays.asList(1.5f, false), decoded.get(5));
+        assertEquals(Collections.singletonMap(1, null), decoded.get(6));
+        assertEquals(value.subList(7, 9), decoded.subList(7, 9));
+    }
+
+    @Test
+    @DisplayName("limited decoded values")
+    void testLimits() throws IOException {
+        MessagePackCodec limited = new MessagePackCodec(null, 2, 3);
+        List<?> nested = Collections.singletonList(Collections.singletonList(Collections.singletonList(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> limited.unpack(input(nested)));
+        assertThrows(IllegalArgumentException.class, () -> limited.unpack(input(Arrays.asList(1, 2, 3, 4))));
+        assertEquals(Arrays.asList(1, 2, 3), limited.unpack(input(Arrays.asList(1, 2, 3))));
+
+        // an array announcing more elements than the input has
+        byte[] truncated = {(byte) 0xdc, 0x10, 0x00, 1, 2};
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> codec.unpack(new ByteBufferBackedInputStream(ByteBuffer.wrap(truncated)))
+        );
+    }
+
+    @Test
+    @DisplayName("passed binaries by reference and limited encoded values")
+    void testEncodeReferences() throws IOException {
+        byte[] blob = new byte[1024];
+        Arrays.fill(blob, (byte) 7);
+        List<Object> value = Arrays.asList(
+            "head", ByteBuffer.wrap(blob), StreamedBinary.of(new ByteArrayInputStream(blob), blob.length), "tail"
+        );
+        PacketBuffer buffer = new PacketBuffer(64);
+        buffer.setReferenceThreshold(blob.length);
+
+        codec.pack(value, buffer);
+        assertTrue(buffer.hasReferences());
+        assertTrue(buffer.hasStreams());
+        assertEquals(pack(MsgPackLite.INSTANCE, Arrays.asList("head", blob, blob, "tail")).length, buffer.getPacketSize());
+
+        MessagePackCodec limited = new MessagePackCodec(null, 2, 3);
+        List<?> nested = Collections.singletonList(Collections.singletonList(Collections.singletonList(1)));
+        assertThrows(IllegalArgumentException.class, () -> pack(limited, nested));
+        assertEquals(nested.get(0), limited.unpack(input(nested.get(0))));
+    }
+
+    private ByteBufferBackedInputStream input(Object value) throws IOException {
+        return new ByteBufferBackedInputStream(ByteBuffer.wrap(pack(MsgPackLite.INSTANCE, value)));
+    }
+
+    private byte[] pack(MsgPackLite msgPackLite, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        msgPackLite.pack(value, bytes);
+        return bytes.toByteArray();
+    }
+
+}
@@ -8,6 +8,19 @@ public abstract class AbstractTarantoolOps<Space, Tuple, Operation, Result>
 
     protected abstract Result exec(Code code, Object... args);
 
+    /**
+     * Executes a request template. This implementation
+     * falls back to a regular execution of the bound arguments.
+     *
+     * @param operation request template
+     * @param value     variable argument value
+     *
+     * @return operation result
+     */
+    protected Result exec(PreparedOperation operation, Object value) {
+        return exec(operation.getCode(), operation.bind(value));
+    }
+
     public Result select(Space space, Space index, Tuple key, int offset, int limit, Iterator iterator) {
         return select(space, index, key, offset, limit, iterator.getValue());
     }
@@ -52,6 +65,10 @@ public abstract class AbstractTarantoolOps<Space, Tuple, Operation, Result>
         return exec(Code.EVAL, Key.EXPRESSION, expression, Key.TUPLE, args);
     }
 
+    public Result execute(PreparedOperation operation, Tuple value) {
+        return exec(operation, value);
+    }
+
     public void ping() {
         exec(Code.PING);
     }
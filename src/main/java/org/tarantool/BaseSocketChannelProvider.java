@@ -1,11 +1,19 @@
 package org.tarantool;
 
+import org.tarantool.util.StringUtils;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
 
 public abstract class BaseSocketChannelProvider implements ConfigurableSocketChannelProvider {
 
+    /**
+     * Prefix of the string addresses of Unix domain sockets.
+     */
+    public static final String UNIX_SOCKET_PREFIX = "unix:";
+
     /**
      * Limit of retries.
      */
@@ -76,20 +84,48 @@ public abstract class BaseSocketChannelProvider implements ConfigurableSocketCha
 
     /**
      * Parse a string address in the form of host[:port]
-     * and builds a socket address.
+     * or unix:/path/to/socket and builds a socket address.
+     * <p>
+     * Unix domain socket addresses are supported on Java 16
+     * and newer.
      *
      * @param address Server address.
      *
      * @return Socket address.
+     *
+     * @throws IllegalArgumentException if the address is a Unix domain socket
+     *                                  one and the sockets are not supported
      */
-    protected InetSocketAddress parseAddress(String address) {
+    protected SocketAddress parseAddress(String address) {
+        if (address.startsWith(UNIX_SOCKET_PREFIX)) {
+            String path = address.substring(UNIX_SOCKET_PREFIX.length());
+            if (StringUtils.isBlank(path)) {
+                throw new IllegalArgumentException("Unix socket path must not be empty");
+            }
+            return UnixSockets.toAddress(path);
+        }
         int separatorPosition = address.indexOf(':');
         String host = (separatorPosition < 0) ? address : address.substring(0, separatorPosition);
         int port = (separatorPosition < 0) ? 3301 : Integer.parseInt(address.substring(separatorPosition + 1));
         return new InetSocketAddress(host, port);
     }
 
-    protected SocketChannel openChannel(InetSocketAddress socketAddress) throws IOException {
+    /**
+     * Opens a channel connected to an address.
+     * <p>
+     * The connection timeout is applied to the internet addresses only,
+     * a Unix domain socket is connected or refused immediately.
+     *
+     * @param socketAddress address to connect to
+     *
+     * @return connected channel
+     *
+     * @throws IOException if any I/O errors occur
+     */
+    protected SocketChannel openChannel(SocketAddress socketAddress) throws IOException {
+        if (!(socketAddress instanceof InetSocketAddress)) {
+            return SocketChannel.open(socketAddress);
+        }
         SocketChannel channel = null;
         try {
             channel = SocketChannel.open();
@@ -0,0 +1,20 @@
+package org.tarantool;
+
+/**
+ * Input which knows how many bytes are left in it.
+ * <p>
+ * {@link MsgPackLite} uses the bound to reject collections and strings
+ * which announce more elements or bytes than the input has left, so
+ * a malformed packet cannot make it allocate more memory than the packet
+ * itself takes.
+ */
+public interface BoundedInput {
+
+    /**
+     * Gets a number of bytes which are not consumed yet.
+     *
+     * @return number of bytes
+     */
+    int remaining();
+
+}
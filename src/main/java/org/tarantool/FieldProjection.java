@@ -0,0 +1,154 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result reader which decodes only the requested fields of tuples.
+ * Other fields are skipped byte-wise without being decoded, so
+ * large blobs and nested values that are not needed cost nothing
+ * but a scan over their bytes.
+ * <p>
+ * Each tuple is returned as a list of the projected fields in the
+ * requested order. A field which is absent in a shorter tuple is
+ * returned as {@code null}. Every element of the result must be
+ * a tuple (an array), otherwise the operation fails.
+ * <pre>
+ * FieldProjection projection = FieldProjection.of(0, 3);
+ * List&lt;List&lt;Object&gt;&gt; rows = client.readingOps(projection)
+ *     .select("accounts", "primary", Collections.emptyList(), 0, 1000, Iterator.ALL)
+ *     .toCompletableFuture()
+ *     .get();
+ * </pre>
+ *
+ * @see TarantoolClient#readingOps(ResultReader)
+ */
+public final class FieldProjection implements ResultReader<List<List<Object>>> {
+
+    private final int[] fields;
+    private final boolean[] projected;
+    private final MsgPackLite msgPackLite;
+
+    private FieldProjection(int[] fields, MsgPackLite msgPackLite) {
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        int max = -1;
+        for (int field : fields) {
+            if (field < 0) {
+                throw new IllegalArgumentException("Field index must be non-negative: " + field);
+            }
+            max = Math.max(max, field);
+        }
+        this.fields = fields;
+        this.projected = new boolean[max + 1];
+        for (int field : fields) {
+            projected[field] = true;
+        }
+        this.msgPackLite = msgPackLite;
+    }
+
+    /**
+     * Creates a projection of fields.
+     *
+     * @param fields zero-based field indexes in the order
+     *               they appear in the projected tuples
+     *
+     * @return projection
+     */
+    public static FieldProjection of(int... fields) {
+        return new FieldProjection(fields.clone(), MsgPackLite.INSTANCE);
+    }
+
+    /**
+     * Creates a projection of named fields.
+     *
+     * @param format field indexes of a space by their names
+     *               (for instance, built from {@code space:format()})
+     * @param names  names of the fields in the order they
+     *               appear in the projected tuples
+     *
+     * @return projection
+     *
+     * @throws IllegalArgumentException if a field is not in the format
+     */
+    public static FieldProjection of(Map<String, Integer> format, String... names) {
+        int[] fields = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Integer field = format.get(names[i]);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field " + names[i]);
+            }
+            fields[i] = field;
+        }
+        return new FieldProjection(fields, MsgPackLite.INSTANCE);
+    }
+
+    /**
+     * Creates a copy of this projection which uses another
+     * decoder for the projected fields.
+     *
+     * @param msgPackLite decoder
+     *
+     * @return new projection
+     */
+    public FieldProjection withDecoder(MsgPackLite msgPackLite) {
+        return new FieldProjection(fields, msgPackLite);
+    }
+
+    public List<Integer> getFields() {
+        List<Integer> list = new ArrayList<>(fields.length);
+        for (int field : fields) {
+            list.add(field);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public List<List<Object>> read(MsgPackReader reader) {
+        int size = reader.readArrayHeader();
+        List<List<Object>> tuples = new ArrayList<>(size);
+        Object[] values = new Object[projected.length];
+        for (int i = 0; i < size; i++) {
+            tuples.add(readTuple(reader, values));
+        }
+        return tuples;
+    }
+
+    /**
+     * Reads a tuple decoding the projected fields only.
+     *
+     * @param reader reader positioned at the tuple
+     * @param values holder of the decoded fields by their indexes
+     *
+     * @return projected tuple
+     */
+    private List<Object> readTuple(MsgPackReader reader, Object[] values) {
+        int size = reader.readArrayHeader();
+        int read = Math.min(size, projected.length);
+        for (int i = 0; i < read; i++) {
+            if (projected[i]) {
+                values[i] = reader.readValue(msgPackLite);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.skipValues(size - read);
+        Arrays.fill(values, read, values.length, null);
+
+        Object[] tuple = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            tuple[i] = values[fields[i]];
+        }
+        return Arrays.asList(tuple);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldProjection" + Arrays.toString(fields);
+    }
+
+}
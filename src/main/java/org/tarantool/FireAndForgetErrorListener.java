@@ -0,0 +1,21 @@
+package org.tarantool;
+
+/**
+ * Receives server errors of fire-and-forget requests.
+ * <p>
+ * The listener is invoked on the client's reader thread and
+ * should return quickly, otherwise it delays other responses.
+ *
+ * @see TarantoolClient#fireAndForgetOps()
+ */
+public interface FireAndForgetErrorListener {
+
+    /**
+     * Called when a request which has no pending operation failed.
+     *
+     * @param syncId request id returned by a fire-and-forget operation
+     * @param error  server error
+     */
+    void onError(long syncId, TarantoolException error);
+
+}
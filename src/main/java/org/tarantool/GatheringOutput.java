@@ -0,0 +1,41 @@
+package org.tarantool;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Output which can take binary payloads by reference.
+ * <p>
+ * {@link MsgPackLite} writes only the header of a {@code byte[]} or
+ * {@link ByteBuffer} value to such output and offers the payload itself
+ * to it, so a large payload is sent straight from the memory of the
+ * caller instead of being copied into the packet. A {@link StreamedBinary}
+ * is offered the same way, so it is read only when the packet is sent.
+ */
+public interface GatheringOutput {
+
+    /**
+     * Appends a payload by reference if the output decides to.
+     * A referenced payload must not be changed until the output
+     * is written out.
+     *
+     * @param payload bytes between the position and the limit
+     *                of the buffer, which are not consumed
+     *
+     * @return {@code true} if the payload has been referenced,
+     *     otherwise it has to be written as usual
+     */
+    boolean writeReference(ByteBuffer payload);
+
+    /**
+     * Appends a streamed value by reference if the output supports it.
+     *
+     * @param value value to be read when the output is written out
+     *
+     * @return {@code true} if the value has been referenced,
+     *     otherwise it has to be copied
+     */
+    default boolean writeStream(StreamedBinary value) {
+        return false;
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.tarantool;
+
+/**
+ * Creates the MsgPack codec of a client.
+ * <p>
+ * The codec is a {@link MsgPackLite} or its subclass. Besides the values
+ * of the requests and responses, the client encodes and decodes whole
+ * packets through its {@link MsgPackLite#pack(Object, java.io.OutputStream)},
+ * {@link MsgPackLite#packMapHeader(int, java.io.OutputStream)},
+ * {@link MsgPackLite#unpack(java.io.InputStream)},
+ * {@link MsgPackLite#unpackArrayHeader(java.io.InputStream)} and
+ * {@link MsgPackLite#unpackMapHeader(java.io.InputStream)}, so overriding
+ * them replaces the MsgPack implementation of the client entirely.
+ * <p>
+ * An overriding codec must decode values to the same types as
+ * {@link MsgPackLite} does and honour the limits it is created with.
+ *
+ * @see TarantoolClientConfig#msgPackCodecFactory
+ */
+@FunctionalInterface
+public interface MsgPackCodecFactory {
+
+    /**
+     * Built-in codec.
+     */
+    MsgPackCodecFactory DEFAULT = MsgPackLite::new;
+
+    /**
+     * Creates a codec.
+     *
+     * @param stringCache       cache of decoded strings or {@code null}
+     * @param maxDepth          max nesting depth of decoded arrays and maps
+     * @param maxCollectionSize max number of elements of a decoded array or entries of a decoded map
+     *
+     * @return new codec
+     */
+    MsgPackLite create(StringCache stringCache, int maxDepth, int maxCollectionSize);
+
+}
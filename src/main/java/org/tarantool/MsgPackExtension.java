@@ -0,0 +1,51 @@
+package org.tarantool;
+
+import java.util.Arrays;
+
+/**
+ * MsgPack extension value which type is not known to the decoder.
+ * It is kept as is, so it can be sent back unchanged.
+ *
+ * @see MsgPackExtensions
+ */
+public final class MsgPackExtension {
+
+    private final byte type;
+    private final byte[] data;
+
+    public MsgPackExtension(byte type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof MsgPackExtension)) {
+            return false;
+        }
+        MsgPackExtension that = (MsgPackExtension) other;
+        return type == that.type && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return "MsgPackExtension{type=" + type + ", length=" + data.length + "}";
+    }
+
+}
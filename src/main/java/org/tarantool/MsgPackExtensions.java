@@ -0,0 +1,371 @@
+package org.tarantool;
+
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Encoding of the Tarantool MsgPack extension types.
+ * <ul>
+ *     <li>{@link #DECIMAL_TYPE} is a {@link BigDecimal}: a scale followed
+ *     by packed BCD digits and a sign nibble;</li>
+ *     <li>{@link #UUID_TYPE} is a {@link UUID}: 16 bytes in the
+ *     big-endian order;</li>
+ *     <li>{@link #DATETIME_TYPE} is an {@link OffsetDateTime}: little-endian
+ *     epoch seconds optionally followed by nanoseconds, a time zone
+ *     offset in minutes and a time zone index.</li>
+ * </ul>
+ * Values are decoded straight from the input: decimals of up to 18 digits
+ * are accumulated in a {@code long} and UUIDs and datetimes are read as
+ * primitives. Extensions of other types are decoded as {@link MsgPackExtension}.
+ */
+public final class MsgPackExtensions {
+
+    public static final byte DECIMAL_TYPE = 1;
+    public static final byte UUID_TYPE = 2;
+    public static final byte DATETIME_TYPE = 4;
+
+    static final int FIXEXT1 = 0xd4;
+    static final int FIXEXT2 = 0xd5;
+    static final int FIXEXT4 = 0xd6;
+    static final int FIXEXT8 = 0xd7;
+    static final int FIXEXT16 = 0xd8;
+    static final int EXT8 = 0xc7;
+    static final int EXT16 = 0xc8;
+    static final int EXT32 = 0xc9;
+
+    private static final int UUID_LENGTH = 16;
+    private static final int DATETIME_SHORT_LENGTH = 8;
+    private static final int DATETIME_LENGTH = 16;
+
+    private static final int DECIMAL_PLUS = 0x0c;
+    private static final int DECIMAL_MINUS = 0x0d;
+    private static final int DECIMAL_ALT_MINUS = 0x0b;
+    private static final int LONG_DIGITS = 18;
+    private static final BigInteger LONG_DIGITS_FACTOR = BigInteger.TEN.pow(LONG_DIGITS);
+
+    private MsgPackExtensions() {
+    }
+
+    /**
+     * Checks whether a value is encoded as an extension.
+     *
+     * @param value value to be checked
+     *
+     * @return {@code true} if the value has an extension type
+     */
+    public static boolean isExtension(Object value) {
+        return value instanceof BigDecimal ||
+            value instanceof UUID ||
+            value instanceof Instant ||
+            value instanceof OffsetDateTime ||
+            value instanceof ZonedDateTime ||
+            value instanceof MsgPackExtension;
+    }
+
+    /**
+     * Writes a value which {@link #isExtension(Object)}.
+     *
+     * @param value value to be written
+     * @param out   output
+     *
+     * @throws IOException              if the value cannot be written
+     * @throws IllegalArgumentException if the value is not an extension
+     */
+    static void write(Object value, DataOutputStream out) throws IOException {
+        if (value instanceof BigDecimal) {
+            writeDecimal((BigDecimal) value, out);
+        } else if (value instanceof UUID) {
+            writeUuid((UUID) value, out);
+        } else if (value instanceof Instant) {
+            Instant instant = (Instant) value;
+            writeDateTime(instant.getEpochSecond(), instant.getNano(), ZoneOffset.UTC, out);
+        } else if (value instanceof OffsetDateTime) {
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            writeDateTime(dateTime.toEpochSecond(), dateTime.getNano(), dateTime.getOffset(), out);
+        } else if (value instanceof ZonedDateTime) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            writeDateTime(dateTime.toEpochSecond(), dateTime.getNano(), dateTime.getOffset(), out);
+        } else if (value instanceof MsgPackExtension) {
+            MsgPackExtension extension = (MsgPackExtension) value;
+            writeHeader(extension.getData().length, extension.getType(), out);
+            out.write(extension.getData());
+        } else {
+            throw new IllegalArgumentException("Not an extension value " + value);
+        }
+    }
+
+    static void writeDecimal(BigDecimal value, DataOutputStream out) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        byte[] digits;
+        if (unscaled.bitLength() < Long.SIZE - 1) {
+            long number = Math.abs(unscaled.longValue());
+            int count = 1;
+            for (long rest = number / 10; rest > 0; rest /= 10) {
+                count++;
+            }
+            digits = new byte[count];
+            for (int i = count - 1; i >= 0; i--) {
+                digits[i] = (byte) (number % 10);
+                number /= 10;
+            }
+        } else {
+            digits = unscaled.abs().toString().getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] -= '0';
+            }
+        }
+        // the digits and the sign nibble are aligned to the right
+        int nibbles = digits.length + 1;
+        int bcdLength = (nibbles + 1) / 2;
+        writeHeader(intLength(value.scale()) + bcdLength, DECIMAL_TYPE, out);
+        writeInt(value.scale(), out);
+
+        int nibble = nibbles % 2 == 0 ? 0 : 1;
+        int current = 0;
+        for (byte digit : digits) {
+            if (nibble % 2 == 0) {
+                current = digit << 4;
+            } else {
+                out.write(current | digit);
+            }
+            nibble++;
+        }
+        out.write(current | (unscaled.signum() < 0 ? DECIMAL_MINUS : DECIMAL_PLUS));
+    }
+
+    static void writeUuid(UUID value, DataOutputStream out) throws IOException {
+        writeHeader(UUID_LENGTH, UUID_TYPE, out);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    static void writeDateTime(long seconds, int nanos, ZoneOffset offset, DataOutputStream out)
+        throws IOException {
+        int offsetSeconds = offset.getTotalSeconds();
+        if (offsetSeconds % 60 != 0) {
+            throw new IllegalArgumentException("Time zone offset must be whole minutes: " + offset);
+        }
+        if (nanos == 0 && offsetSeconds == 0) {
+            writeHeader(DATETIME_SHORT_LENGTH, DATETIME_TYPE, out);
+            out.writeLong(Long.reverseBytes(seconds));
+        } else {
+            writeHeader(DATETIME_LENGTH, DATETIME_TYPE, out);
+            out.writeLong(Long.reverseBytes(seconds));
+            out.writeInt(Integer.reverseBytes(nanos));
+            out.writeShort(Short.reverseBytes((short) (offsetSeconds / 60)));
+            out.writeShort(0);
+        }
+    }
+
+    /**
+     * Reads an extension value which header has been read.
+     *
+     * @param type   extension type
+     * @param length length of the extension data
+     * @param in     input positioned at the extension data
+     *
+     * @return decoded value
+     *
+     * @throws IOException              if the value cannot be read
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public static Object read(byte type, int length, DataInput in) throws IOException {
+        switch (type) {
+        case DECIMAL_TYPE:
+            return readDecimal(length, in);
+        case UUID_TYPE:
+            checkLength(type, length, UUID_LENGTH);
+            return new UUID(in.readLong(), in.readLong());
+        case DATETIME_TYPE:
+            return readDateTime(length, in);
+        default:
+            byte[] data = new byte[length];
+            in.readFully(data);
+            return new MsgPackExtension(type, data);
+        }
+    }
+
+    static BigDecimal readDecimal(int length, DataInput in) throws IOException {
+        int first = in.readUnsignedByte();
+        int scale;
+        int scaleLength = 1;
+        if (first <= 0x7f || first >= 0xe0) {
+            scale = (byte) first;
+        } else {
+            switch (first) {
+            case 0xcc:
+                scale = in.readUnsignedByte();
+                scaleLength = 2;
+                break;
+            case 0xcd:
+                scale = in.readUnsignedShort();
+                scaleLength = 3;
+                break;
+            case 0xd0:
+                scale = in.readByte();
+                scaleLength = 2;
+                break;
+            case 0xd1:
+                scale = in.readShort();
+                scaleLength = 3;
+                break;
+            case 0xce:
+            case 0xd2:
+                scale = in.readInt();
+                scaleLength = 5;
+                if (first == 0xce && scale < 0) {
+                    throw new IllegalArgumentException("Decimal scale is out of range");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid decimal scale type " + (byte) first);
+            }
+        }
+        int bcdLength = length - scaleLength;
+        if (bcdLength <= 0) {
+            throw new IllegalArgumentException("Decimal has no digits");
+        }
+
+        long chunk = 0;
+        int chunkDigits = 0;
+        BigInteger big = null;
+        int current = 0;
+        int digits = bcdLength * 2 - 1;
+        for (int i = 0; i < digits; i++) {
+            int digit;
+            if (i % 2 == 0) {
+                current = in.readUnsignedByte();
+                digit = current >> 4;
+            } else {
+                digit = current & 0x0f;
+            }
+            if (digit > 9) {
+                throw new IllegalArgumentException("Invalid decimal digit " + digit);
+            }
+            chunk = chunk * 10 + digit;
+            if (++chunkDigits == LONG_DIGITS) {
+                big = big == null
+                    ? BigInteger.valueOf(chunk)
+                    : big.multiply(LONG_DIGITS_FACTOR).add(BigInteger.valueOf(chunk));
+                chunk = 0;
+                chunkDigits = 0;
+            }
+        }
+        int sign = current & 0x0f;
+        if (sign < 0x0a) {
+            throw new IllegalArgumentException("Invalid decimal sign " + sign);
+        }
+        boolean negative = sign == DECIMAL_MINUS || sign == DECIMAL_ALT_MINUS;
+        if (big == null) {
+            return BigDecimal.valueOf(negative ? -chunk : chunk, scale);
+        }
+        if (chunkDigits > 0) {
+            big = big.multiply(BigInteger.TEN.pow(chunkDigits)).add(BigInteger.valueOf(chunk));
+        }
+        return new BigDecimal(negative ? big.negate() : big, scale);
+    }
+
+    static OffsetDateTime readDateTime(int length, DataInput in) throws IOException {
+        long seconds = Long.reverseBytes(in.readLong());
+        int nanos = 0;
+        int offsetMinutes = 0;
+        if (length == DATETIME_LENGTH) {
+            nanos = Integer.reverseBytes(in.readInt());
+            offsetMinutes = Short.reverseBytes(in.readShort());
+            // the time zone index is not supported, the offset is enough to restore the time
+            in.readShort();
+        } else {
+            checkLength(DATETIME_TYPE, length, DATETIME_SHORT_LENGTH);
+        }
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new IllegalArgumentException("Invalid datetime nanoseconds " + nanos);
+        }
+        ZoneOffset offset = offsetMinutes == 0 ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds(offsetMinutes * 60);
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(seconds, nanos, offset), offset);
+    }
+
+    static void writeHeader(int length, byte type, DataOutputStream out) throws IOException {
+        switch (length) {
+        case 1:
+            out.write(FIXEXT1);
+            break;
+        case 2:
+            out.write(FIXEXT2);
+            break;
+        case 4:
+            out.write(FIXEXT4);
+            break;
+        case 8:
+            out.write(FIXEXT8);
+            break;
+        case 16:
+            out.write(FIXEXT16);
+            break;
+        default:
+            if (length <= 0xff) {
+                out.write(EXT8);
+                out.write(length);
+            } else if (length <= 0xffff) {
+                out.write(EXT16);
+                out.writeShort(length);
+            } else {
+                out.write(EXT32);
+                out.writeInt(length);
+            }
+        }
+        out.write(type);
+    }
+
+    private static void checkLength(byte type, int length, int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException(
+                "Extension " + type + " must be " + expected + " bytes long but was " + length
+            );
+        }
+    }
+
+    private static int intLength(int value) {
+        if (value >= -32 && value <= 0x7f) {
+            return 1;
+        }
+        if (value >= Byte.MIN_VALUE && value <= 0xff) {
+            return 2;
+        }
+        if (value >= Short.MIN_VALUE && value <= 0xffff) {
+            return 3;
+        }
+        return 5;
+    }
+
+    private static void writeInt(int value, DataOutputStream out) throws IOException {
+        if (value >= -32 && value <= 0x7f) {
+            out.write(value & 0xff);
+        } else if (value > 0x7f && value <= 0xff) {
+            out.write(0xcc);
+            out.write(value);
+        } else if (value >= Byte.MIN_VALUE && value < 0) {
+            out.write(0xd0);
+            out.write(value);
+        } else if (value > 0 && value <= 0xffff) {
+            out.write(0xcd);
+            out.writeShort(value);
+        } else if (value >= Short.MIN_VALUE && value < 0) {
+            out.write(0xd1);
+            out.writeShort(value);
+        } else {
+            out.write(0xd2);
+            out.writeInt(value);
+        }
+    }
+
+}
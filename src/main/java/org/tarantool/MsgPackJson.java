@@ -0,0 +1,384 @@
+package org.tarantool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Transcodes MsgPack values to JSON directly, without building
+ * the intermediate Java objects.
+ * <p>
+ * The values are mapped as follows:
+ * <ul>
+ *     <li>integers of any width including unsigned 64-bit ones are written
+ *     as JSON numbers, floats are written as {@link Float#toString(float)}
+ *     and {@link Double#toString(double)} do, NaN and infinities are written
+ *     as strings as JSON has no such numbers;</li>
+ *     <li>strings are copied as UTF-8 bytes escaping quotes, backslashes and
+ *     control characters;</li>
+ *     <li>binary values are written as base64 strings;</li>
+ *     <li>map keys which are not strings are written as strings, for instance,
+ *     {@code {1: "a"}} becomes {@code {"1":"a"}}, arrays and maps cannot be keys;</li>
+ *     <li>decimals are written as numbers, UUIDs and datetimes are written
+ *     as strings, other extensions are written as {@code {"type":1,"data":"base64"}}.</li>
+ * </ul>
+ * Nested values are transcoded without recursion. Only the extension
+ * values and the floats are decoded to Java objects.
+ *
+ * @see TarantoolClient#jsonOps()
+ */
+public final class MsgPackJson {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64 = Base64.CHAR_SET.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final int FLOAT32 = 0xca;
+    private static final int UINT64 = 0xcf;
+    private static final int CHUNK_SIZE = 1024;
+    private static final int INITIAL_DEPTH = 8;
+
+    private final OutputStream out;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private int count;
+
+    private long[] sizes = new long[INITIAL_DEPTH];
+    private long[] indexes = new long[INITIAL_DEPTH];
+    private boolean[] maps = new boolean[INITIAL_DEPTH];
+    private int depth;
+
+    private MsgPackJson(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Transcodes the next value of a reader.
+     *
+     * @param reader source reader which is advanced past the value
+     * @param out    target stream
+     *
+     * @throws IOException              if the JSON cannot be written
+     * @throws IllegalArgumentException if the value is malformed or has a map key which is
+     *                                  an array or a map
+     */
+    public static void transcode(MsgPackReader reader, OutputStream out) throws IOException {
+        MsgPackJson json = new MsgPackJson(out);
+        try {
+            json.writeValue(reader);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Value is incomplete", e);
+        }
+        json.flush();
+    }
+
+    /**
+     * Transcodes a value held by a buffer.
+     *
+     * @param source buffer which remaining bytes are a value,
+     *               its position is not changed
+     * @param out    target stream
+     *
+     * @throws IOException              if the JSON cannot be written
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static void transcode(ByteBuffer source, OutputStream out) throws IOException {
+        transcode(new MsgPackReader(source.duplicate()), out);
+    }
+
+    /**
+     * Transcodes the next value of a reader to a byte array.
+     * It can be used as a {@link ResultReader}.
+     *
+     * @param reader source reader
+     *
+     * @return UTF-8 encoded JSON
+     */
+    public static byte[] toJson(MsgPackReader reader) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+            Math.min(reader.getBuffer().remaining(), Integer.MAX_VALUE / 2) * 2
+        );
+        try {
+            transcode(reader, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeValue(MsgPackReader reader) throws IOException {
+        do {
+            boolean key = false;
+            if (depth > 0) {
+                int frame = depth - 1;
+                long index = indexes[frame]++;
+                if (index > 0) {
+                    write(maps[frame] && (index & 1) == 1 ? ':' : ',');
+                }
+                key = maps[frame] && (index & 1) == 0;
+            }
+            MsgPackType type = reader.nextToken();
+            if (key && (type == MsgPackType.ARRAY || type == MsgPackType.MAP)) {
+                throw new IllegalArgumentException("JSON object keys cannot be of type " + type);
+            }
+            switch (type) {
+            case ARRAY:
+                startCollection(false, reader.readArrayHeader());
+                break;
+            case MAP:
+                startCollection(true, 2L * reader.readMapHeader());
+                break;
+            case STRING:
+                writeString(reader.getBuffer(), reader.readStringHeader());
+                break;
+            case BINARY:
+                writeBase64(reader.getBuffer(), reader.readBinaryHeader());
+                break;
+            case EXTENSION:
+                writeExtension(reader.readValue(MsgPackLite.INSTANCE), key);
+                break;
+            case END:
+                throw new IllegalArgumentException("Value is incomplete");
+            default:
+                writeScalar(reader, type, key);
+                break;
+            }
+            while (depth > 0 && indexes[depth - 1] == sizes[depth - 1]) {
+                depth--;
+                write(maps[depth] ? '}' : ']');
+            }
+        } while (depth > 0);
+    }
+
+    private void startCollection(boolean map, long size) throws IOException {
+        write(map ? '{' : '[');
+        if (size == 0) {
+            write(map ? '}' : ']');
+            return;
+        }
+        if (depth == sizes.length) {
+            sizes = Arrays.copyOf(sizes, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+            maps = Arrays.copyOf(maps, depth * 2);
+        }
+        sizes[depth] = size;
+        indexes[depth] = 0;
+        maps[depth] = map;
+        depth++;
+    }
+
+    private void writeScalar(MsgPackReader reader, MsgPackType type, boolean key) throws IOException {
+        if (key) {
+            write('"');
+        }
+        ByteBuffer buffer = reader.getBuffer();
+        switch (type) {
+        case NIL:
+            reader.readNil();
+            write(NULL);
+            break;
+        case BOOLEAN:
+            write(reader.readBoolean() ? TRUE : FALSE);
+            break;
+        case INTEGER:
+            if ((buffer.get(buffer.position()) & 0xff) == UINT64) {
+                buffer.get();
+                writeUnsigned(buffer.getLong());
+            } else {
+                writeLong(reader.readLong());
+            }
+            break;
+        default:
+            double value;
+            String text;
+            if ((buffer.get(buffer.position()) & 0xff) == FLOAT32) {
+                buffer.get();
+                float floatValue = buffer.getFloat();
+                value = floatValue;
+                text = Float.toString(floatValue);
+            } else {
+                value = reader.readDouble();
+                text = Double.toString(value);
+            }
+            boolean quoted = !key && (Double.isNaN(value) || Double.isInfinite(value));
+            if (quoted) {
+                write('"');
+            }
+            writeAscii(text);
+            if (quoted) {
+                write('"');
+            }
+            break;
+        }
+        if (key) {
+            write('"');
+        }
+    }
+
+    private void writeExtension(Object value, boolean key) throws IOException {
+        if (value instanceof BigDecimal && !key) {
+            writeAscii(value.toString());
+        } else if (value instanceof MsgPackExtension && !key) {
+            MsgPackExtension extension = (MsgPackExtension) value;
+            writeAscii("{\"type\":");
+            writeLong(extension.getType());
+            writeAscii(",\"data\":");
+            writeBase64(ByteBuffer.wrap(extension.getData()), extension.getData().length);
+            write('}');
+        } else {
+            byte[] text = value.toString().getBytes(StandardCharsets.UTF_8);
+            writeString(ByteBuffer.wrap(text), text.length);
+        }
+    }
+
+    /**
+     * Writes a string consuming its UTF-8 bytes from the buffer.
+     */
+    private void writeString(ByteBuffer buffer, int length) throws IOException {
+        write('"');
+        for (int i = 0; i < length; i++) {
+            int b = buffer.get() & 0xff;
+            if (b == '"' || b == '\\') {
+                write('\\');
+                write(b);
+            } else if (b >= 0x20) {
+                write(b);
+            } else {
+                write('\\');
+                switch (b) {
+                case '\b':
+                    write('b');
+                    break;
+                case '\f':
+                    write('f');
+                    break;
+                case '\n':
+                    write('n');
+                    break;
+                case '\r':
+                    write('r');
+                    break;
+                case '\t':
+                    write('t');
+                    break;
+                default:
+                    write('u');
+                    write('0');
+                    write('0');
+                    write(HEX[b >> 4]);
+                    write(HEX[b & 0xf]);
+                    break;
+                }
+            }
+        }
+        write('"');
+    }
+
+    /**
+     * Writes a base64 string consuming the binary data from the buffer.
+     */
+    private void writeBase64(ByteBuffer buffer, int length) throws IOException {
+        write('"');
+        int left = length;
+        while (left >= 3) {
+            int bits = (buffer.get() & 0xff) << 16 | (buffer.get() & 0xff) << 8 | buffer.get() & 0xff;
+            write(BASE64[bits >>> 18]);
+            write(BASE64[bits >>> 12 & 0x3f]);
+            write(BASE64[bits >>> 6 & 0x3f]);
+            write(BASE64[bits & 0x3f]);
+            left -= 3;
+        }
+        if (left > 0) {
+            int bits = (buffer.get() & 0xff) << 16;
+            if (left == 2) {
+                bits |= (buffer.get() & 0xff) << 8;
+            }
+            write(BASE64[bits >>> 18]);
+            write(BASE64[bits >>> 12 & 0x3f]);
+            write(left == 2 ? BASE64[bits >>> 6 & 0x3f] : '=');
+            write('=');
+        }
+        write('"');
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value < 0) {
+            write('-');
+            if (value == Long.MIN_VALUE) {
+                writeAscii("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        writeUnsigned(value);
+    }
+
+    /**
+     * Writes decimal digits of a 64-bit unsigned value.
+     */
+    private void writeUnsigned(long value) throws IOException {
+        ensureSpace(20);
+        int end = count + digits(value);
+        int position = end;
+        long rest = value;
+        if (rest < 0) {
+            long quotient = (rest >>> 1) / 5;
+            chunk[--position] = (byte) ('0' + (rest - quotient * 10));
+            rest = quotient;
+        }
+        do {
+            chunk[--position] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        count = end;
+    }
+
+    private static int digits(long value) {
+        if (value < 0) {
+            return value >= 0x8AC7230489E80000L ? 20 : 19;
+        }
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            write(text.charAt(i));
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            write(b);
+        }
+    }
+
+    private void write(int b) throws IOException {
+        if (count == chunk.length) {
+            flush();
+        }
+        chunk[count++] = (byte) b;
+    }
+
+    private void ensureSpace(int length) throws IOException {
+        if (count + length > chunk.length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.write(chunk, 0, count);
+        count = 0;
+    }
+
+}
@@ -8,7 +8,9 @@ import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +18,10 @@ import java.util.concurrent.Callable;
 
 /**
  * forked from https://bitbucket.org/sirbrialliance/msgpack-java-lite
+ * <p>
+ * It is the MsgPack codec of a client and can be replaced by a subclass.
+ *
+ * @see MsgPackCodecFactory
  */
 public class MsgPackLite {
 
@@ -74,8 +80,76 @@ public class MsgPackLite {
     protected static final byte MP_STR16 = (byte) 0xda;
     protected static final byte MP_STR32 = (byte) 0xdb;
 
+    protected static final byte MP_FIXEXT1 = (byte) 0xd4;
+    protected static final byte MP_FIXEXT2 = (byte) 0xd5;
+    protected static final byte MP_FIXEXT4 = (byte) 0xd6;
+    protected static final byte MP_FIXEXT8 = (byte) 0xd7;
+    protected static final byte MP_FIXEXT16 = (byte) 0xd8;
+    protected static final byte MP_EXT8 = (byte) 0xc7;
+    protected static final byte MP_EXT16 = (byte) 0xc8;
+    protected static final byte MP_EXT32 = (byte) 0xc9;
+
+    public static final int DEFAULT_MAX_DEPTH = 128;
+    public static final int DEFAULT_MAX_COLLECTION_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Max number of elements preallocated for a collection
+     * when the size of the remaining input is not known.
+     */
+    private static final int MAX_UNBOUNDED_PREALLOCATION = 1024;
+
+    /**
+     * Size of the chunks a direct buffer is copied by.
+     */
+    private static final int BIN_COPY_CHUNK_SIZE = 8 * 1024;
+
+    private final StringCache stringCache;
+    private final int maxDepth;
+    private final int maxCollectionSize;
+
+    public MsgPackLite() {
+        this(null);
+    }
+
+    /**
+     * Creates an instance which decodes strings through the cache.
+     *
+     * @param stringCache cache of decoded strings or {@code null}
+     */
+    public MsgPackLite(StringCache stringCache) {
+        this(stringCache, DEFAULT_MAX_DEPTH, DEFAULT_MAX_COLLECTION_SIZE);
+    }
+
+    /**
+     * Creates an instance which limits decoded values.
+     *
+     * @param stringCache       cache of decoded strings or {@code null}
+     * @param maxDepth          max nesting depth of arrays and maps
+     * @param maxCollectionSize max number of elements of an array or entries of a map
+     */
+    public MsgPackLite(StringCache stringCache, int maxDepth, int maxCollectionSize) {
+        if (maxDepth <= 0 || maxCollectionSize <= 0) {
+            throw new IllegalArgumentException("Max depth and collection size must be positive");
+        }
+        this.stringCache = stringCache;
+        this.maxDepth = maxDepth;
+        this.maxCollectionSize = maxCollectionSize;
+    }
+
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxCollectionSize() {
+        return maxCollectionSize;
+    }
+
     public void pack(Object item, OutputStream os) throws IOException {
-        DataOutputStream out = new DataOutputStream(os);
+        DataOutputStream out = output(os);
         if (item instanceof Callable) {
             try {
                 item = ((Callable) item).call();
@@ -85,8 +159,12 @@ public class MsgPackLite {
         }
         if (item == null) {
             out.write(MP_NULL);
+        } else if (item instanceof MsgPackWritable) {
+            ((MsgPackWritable) item).writeTo(new MsgPackWriter(out, this));
         } else if (item instanceof Boolean) {
             out.write(((Boolean) item).booleanValue() ? MP_TRUE : MP_FALSE);
+        } else if (MsgPackExtensions.isExtension(item)) {
+            MsgPackExtensions.write(item, out);
         } else if (item instanceof Number || item instanceof Code) {
             if (item instanceof Float) {
                 out.write(MP_FLOAT);
@@ -165,31 +243,17 @@ public class MsgPackLite {
             }
             out.write(data);
         } else if (item instanceof byte[] || item instanceof ByteBuffer) {
-            byte[] data;
-            if (item instanceof byte[]) {
-                data = (byte[]) item;
-            } else {
-                ByteBuffer bb = ((ByteBuffer) item);
-                if (bb.hasArray()) {
-                    data = bb.array();
-                } else {
-                    data = new byte[bb.capacity()];
-                    bb.position();
-                    bb.limit(bb.capacity());
-                    bb.get(data);
-                }
+            ByteBuffer data = item instanceof byte[] ? ByteBuffer.wrap((byte[]) item) : ((ByteBuffer) item).slice();
+            writeBinHeader(data.remaining(), out);
+            if (!((PackOutputStream) out).writeReference(data)) {
+                writeBin(data, out);
             }
-            if (data.length <= MAX_8BIT) {
-                out.write(MP_BIN8);
-                out.writeByte(data.length);
-            } else if (data.length <= MAX_16BIT) {
-                out.write(MP_BIN16);
-                out.writeShort(data.length);
-            } else {
-                out.write(MP_BIN32);
-                out.writeInt(data.length);
+        } else if (item instanceof StreamedBinary) {
+            StreamedBinary value = (StreamedBinary) item;
+            writeBinHeader(value.getSize(), out);
+            if (!((PackOutputStream) out).writeStream(value)) {
+                value.transferTo(Channels.newChannel(out));
             }
-            out.write(data);
         } else if (item instanceof List || item.getClass().isArray()) {
             int length = item instanceof List ? ((List) item).size() : Array.getLength(item);
             if (length <= MAX_4BIT) {
@@ -213,15 +277,7 @@ public class MsgPackLite {
             }
         } else if (item instanceof Map) {
             Map<Object, Object> map = (Map<Object, Object>) item;
-            if (map.size() <= MAX_4BIT) {
-                out.write(map.size() | MP_FIXMAP);
-            } else if (map.size() <= MAX_16BIT) {
-                out.write(MP_MAP16);
-                out.writeShort(map.size());
-            } else {
-                out.write(MP_MAP32);
-                out.writeInt(map.size());
-            }
+            packMapHeader(map.size(), out);
             for (Map.Entry<Object, Object> kvp : map.entrySet()) {
                 pack(kvp.getKey(), out);
                 pack(kvp.getValue(), out);
@@ -231,12 +287,168 @@ public class MsgPackLite {
         }
     }
 
+    /**
+     * Writes a header of a map which entries are expected
+     * to be packed next.
+     *
+     * @param size number of the map entries
+     * @param os   output stream
+     *
+     * @throws IOException if the header cannot be written
+     */
+    public void packMapHeader(int size, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        if (size <= MAX_4BIT) {
+            out.write(size | MP_FIXMAP);
+        } else if (size <= MAX_16BIT) {
+            out.write(MP_MAP16);
+            out.writeShort(size);
+        } else {
+            out.write(MP_MAP32);
+            out.writeInt(size);
+        }
+    }
+
+    /**
+     * Wraps a stream values are packed into. The returned stream passes
+     * binary payloads to the wrapped {@link GatheringOutput} if there is one.
+     *
+     * @param os target stream
+     *
+     * @return stream to be passed to the nested packing calls
+     */
+    static DataOutputStream output(OutputStream os) {
+        return os instanceof PackOutputStream ? (PackOutputStream) os : new PackOutputStream(os);
+    }
+
+    private void writeBinHeader(int length, DataOutputStream out) throws IOException {
+        if (length <= MAX_8BIT) {
+            out.write(MP_BIN8);
+            out.writeByte(length);
+        } else if (length <= MAX_16BIT) {
+            out.write(MP_BIN16);
+            out.writeShort(length);
+        } else {
+            out.write(MP_BIN32);
+            out.writeInt(length);
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer to a stream.
+     *
+     * @param data bytes to be written
+     * @param out  target stream
+     *
+     * @throws IOException if the bytes cannot be written
+     */
+    static void writeBin(ByteBuffer data, DataOutputStream out) throws IOException {
+        if (data.hasArray()) {
+            out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(data.remaining(), BIN_COPY_CHUNK_SIZE)];
+        while (data.hasRemaining()) {
+            int length = Math.min(chunk.length, data.remaining());
+            data.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Unpacks a value.
+     * <p>
+     * Nested arrays and maps are decoded without recursion, so the stack
+     * depth does not depend on the input. The nesting depth and the number
+     * of collection elements are limited. If the input is a {@link BoundedInput}
+     * a collection or a string cannot be larger than the remaining input,
+     * otherwise the memory preallocated for a collection is limited.
+     *
+     * @param is input stream
+     *
+     * @return unpacked value
+     *
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if the input is malformed or exceeds the limits
+     */
     public Object unpack(InputStream is) throws IOException {
-        DataInputStream in = new DataInputStream(is);
-        int value = in.read();
-        if (value < 0) {
-            throw new IllegalArgumentException("No more input available when expecting a value");
+        DataInputStream in = is instanceof DataInputStream ? (DataInputStream) is : new DataInputStream(is);
+        BoundedInput bound = is instanceof BoundedInput ? (BoundedInput) is : null;
+        return unpack(new StreamValueSource(in, bound), bound);
+    }
+
+    /**
+     * Unpacks a value read by a source.
+     * <p>
+     * It is the decoding loop of {@link #unpack(InputStream)} which
+     * assembles arrays and maps without recursion and applies the limits,
+     * so a subclass reading the values by other means shares it.
+     *
+     * @param source source of the values
+     * @param bound  input bound or {@code null}
+     *
+     * @return unpacked value
+     *
+     * @throws IOException              if the input cannot be read
+     * @throws IllegalArgumentException if the input is malformed or exceeds the limits
+     */
+    protected Object unpack(ValueSource source, BoundedInput bound) throws IOException {
+        Object[] containers = null;
+        long[] counters = null;
+        Object[] keys = null;
+        int depth = 0;
+        while (true) {
+            Object value;
+            if (source.next()) {
+                boolean isArray = !source.isMap();
+                int size = source.size();
+                if (size == 0) {
+                    value = isArray ? new ArrayList(0) : new HashMap(0);
+                } else {
+                    if (depth == maxDepth) {
+                        throw new IllegalArgumentException("Input nesting depth exceeds " + maxDepth);
+                    }
+                    if (containers == null || depth == containers.length) {
+                        int length = containers == null ? Math.min(maxDepth, 8) : Math.min(maxDepth, depth * 2);
+                        containers = containers == null ? new Object[length] : Arrays.copyOf(containers, length);
+                        counters = counters == null ? new long[length] : Arrays.copyOf(counters, length);
+                        keys = keys == null ? new Object[length] : Arrays.copyOf(keys, length);
+                    }
+                    int capacity = checkCollectionSize(size, isArray ? 1 : 2, bound);
+                    containers[depth] = isArray ? new ArrayList(capacity) : new HashMap(capacity);
+                    counters[depth] = isArray ? size : 2L * size;
+                    depth++;
+                    continue;
+                }
+            } else {
+                value = source.value();
+            }
+            while (true) {
+                if (depth == 0) {
+                    return value;
+                }
+                int top = depth - 1;
+                Object container = containers[top];
+                long left = --counters[top];
+                if (container instanceof List) {
+                    ((List) container).add(value);
+                } else if (left % 2 == 1) {
+                    keys[top] = value;
+                } else {
+                    ((Map) container).put(keys[top], value);
+                    keys[top] = null;
+                }
+                if (left > 0) {
+                    break;
+                }
+                value = container;
+                containers[top] = null;
+                depth--;
+            }
         }
+    }
+
+    private Object unpackScalar(int value, DataInputStream in, BoundedInput bound) throws IOException {
         switch ((byte) value) {
         case MP_NULL:
             return null;
@@ -281,38 +493,42 @@ public class MsgPackLite {
             return in.readInt();
         case MP_INT64:
             return in.readLong();
-        case MP_ARRAY16:
-            return unpackList(in.readShort() & MAX_16BIT, in);
-        case MP_ARRAY32:
-            return unpackList(in.readInt(), in);
-        case MP_MAP16:
-            return unpackMap(in.readShort() & MAX_16BIT, in);
-        case MP_MAP32:
-            return unpackMap(in.readInt(), in);
         case MP_STR8:
-            return unpackStr(in.readByte() & MAX_8BIT, in);
+            return unpackStr(checkLength(in.readByte() & MAX_8BIT, bound), in);
         case MP_STR16:
-            return unpackStr(in.readShort() & MAX_16BIT, in);
+            return unpackStr(checkLength(in.readShort() & MAX_16BIT, bound), in);
         case MP_STR32:
-            return unpackStr(in.readInt(), in);
+            return unpackStr(checkLength(in.readInt(), bound), in);
         case MP_BIN8:
-            return unpackBin(in.readByte() & MAX_8BIT, in);
+            return unpackBin(checkLength(in.readByte() & MAX_8BIT, bound), in);
         case MP_BIN16:
-            return unpackBin(in.readShort() & MAX_16BIT, in);
+            return unpackBin(checkLength(in.readShort() & MAX_16BIT, bound), in);
         case MP_BIN32:
-            return unpackBin(in.readInt(), in);
+            return unpackBin(checkLength(in.readInt(), bound), in);
+        case MP_FIXEXT1:
+            return unpackExt(1, in, bound);
+        case MP_FIXEXT2:
+            return unpackExt(2, in, bound);
+        case MP_FIXEXT4:
+            return unpackExt(4, in, bound);
+        case MP_FIXEXT8:
+            return unpackExt(8, in, bound);
+        case MP_FIXEXT16:
+            return unpackExt(16, in, bound);
+        case MP_EXT8:
+            return unpackExt(in.readByte() & MAX_8BIT, in, bound);
+        case MP_EXT16:
+            return unpackExt(in.readShort() & MAX_16BIT, in, bound);
+        case MP_EXT32:
+            return unpackExt(in.readInt(), in, bound);
         default:
             break;
         }
 
         if (value >= MP_NEGATIVE_FIXNUM_INT && value <= MP_NEGATIVE_FIXNUM_INT + MAX_5BIT) {
             return (byte) value;
-        } else if (value >= MP_FIXARRAY_INT && value <= MP_FIXARRAY_INT + MAX_4BIT) {
-            return unpackList(value - MP_FIXARRAY_INT, in);
-        } else if (value >= MP_FIXMAP_INT && value <= MP_FIXMAP_INT + MAX_4BIT) {
-            return unpackMap(value - MP_FIXMAP_INT, in);
         } else if (value >= MP_FIXSTR_INT && value <= MP_FIXSTR_INT + MAX_5BIT) {
-            return unpackStr(value - MP_FIXSTR_INT, in);
+            return unpackStr(checkLength(value - MP_FIXSTR_INT, bound), in);
         } else if (value <= MAX_7BIT) {
             // MP_FIXNUM - the value is value as an int
             return value;
@@ -321,28 +537,137 @@ public class MsgPackLite {
         }
     }
 
-    protected List unpackList(int size, DataInputStream in) throws IOException {
-        if (size < 0) {
-            throw new IllegalArgumentException("Array to unpack too large for Java (more than 2^31 elements)!");
+    private Object unpackExt(int length, DataInputStream in, BoundedInput bound) throws IOException {
+        if (length < 0) {
+            throw new IllegalArgumentException("Extension to unpack too large for Java (more than 2^31 bytes)!");
         }
-        List ret = new ArrayList(size);
-        for (int i = 0; i < size; ++i) {
-            ret.add(unpack(in));
+        byte type = in.readByte();
+        return MsgPackExtensions.read(type, checkLength(length, bound), in);
+    }
+
+    private int unpackArraySize(int value, DataInputStream in) throws IOException {
+        if (value >= MP_FIXARRAY_INT && value <= MP_FIXARRAY_INT + MAX_4BIT) {
+            return value - MP_FIXARRAY_INT;
+        } else if ((byte) value == MP_ARRAY16) {
+            return in.readShort() & MAX_16BIT;
+        } else if ((byte) value == MP_ARRAY32) {
+            return checkSize(in.readInt());
         }
-        return ret;
+        return -1;
     }
 
-    protected Map unpackMap(int size, DataInputStream in) throws IOException {
-        if (size < 0) {
-            throw new IllegalArgumentException("Map to unpack too large for Java (more than 2^31 elements)!");
+    private int unpackMapSize(int value, DataInputStream in) throws IOException {
+        if (value >= MP_FIXMAP_INT && value <= MP_FIXMAP_INT + MAX_4BIT) {
+            return value - MP_FIXMAP_INT;
+        } else if ((byte) value == MP_MAP16) {
+            return in.readShort() & MAX_16BIT;
+        } else if ((byte) value == MP_MAP32) {
+            return checkSize(in.readInt());
+        }
+        return -1;
+    }
+
+    /**
+     * Checks a collection size against the limits.
+     *
+     * @param size            number of the collection entries
+     * @param valuesPerEntry  number of the values per entry
+     * @param bound           input bound or {@code null}
+     *
+     * @return capacity to be preallocated for the collection
+     */
+    protected int checkCollectionSize(int size, int valuesPerEntry, BoundedInput bound) {
+        if (size > maxCollectionSize) {
+            throw new IllegalArgumentException(
+                "Collection of " + size + " elements exceeds the max size of " + maxCollectionSize
+            );
+        }
+        if (bound == null) {
+            return Math.min(size, MAX_UNBOUNDED_PREALLOCATION);
+        }
+        // each value takes one byte at least
+        if ((long) size * valuesPerEntry > bound.remaining()) {
+            throw new IllegalArgumentException(
+                "Collection of " + size + " elements exceeds the remaining input of " + bound.remaining() + " bytes"
+            );
+        }
+        return size;
+    }
+
+    /**
+     * Checks a string, binary or extension length against the input bound.
+     *
+     * @param length length of the value in bytes
+     * @param bound  input bound or {@code null}
+     *
+     * @return checked length
+     */
+    protected int checkLength(int length, BoundedInput bound) {
+        if (bound != null && length > bound.remaining()) {
+            throw new IllegalArgumentException(
+                "Value of " + length + " bytes exceeds the remaining input of " + bound.remaining() + " bytes"
+            );
+        }
+        return length;
+    }
+
+    /**
+     * Reads a header of an array which elements are
+     * expected to be unpacked next.
+     *
+     * @param is input stream
+     *
+     * @return number of the array elements
+     *
+     * @throws IOException if the header cannot be read
+     */
+    public int unpackArrayHeader(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        int value = in.read();
+        if (value < 0) {
+            throw new IllegalArgumentException("No more input available when expecting an array");
         }
-        Map ret = new HashMap(size);
-        for (int i = 0; i < size; ++i) {
-            Object key = unpack(in);
-            Object value = unpack(in);
-            ret.put(key, value);
+        if (value >= MP_FIXARRAY_INT && value <= MP_FIXARRAY_INT + MAX_4BIT) {
+            return value - MP_FIXARRAY_INT;
+        } else if ((byte) value == MP_ARRAY16) {
+            return in.readShort() & MAX_16BIT;
+        } else if ((byte) value == MP_ARRAY32) {
+            return checkSize(in.readInt());
         }
-        return ret;
+        throw new IllegalArgumentException("Input contains invalid array type value " + (byte) value);
+    }
+
+    /**
+     * Reads a header of a map which entries are
+     * expected to be unpacked next.
+     *
+     * @param is input stream
+     *
+     * @return number of the map entries
+     *
+     * @throws IOException if the header cannot be read
+     */
+    public int unpackMapHeader(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        int value = in.read();
+        if (value < 0) {
+            throw new IllegalArgumentException("No more input available when expecting a map");
+        }
+        if (value >= MP_FIXMAP_INT && value <= MP_FIXMAP_INT + MAX_4BIT) {
+            return value - MP_FIXMAP_INT;
+        } else if ((byte) value == MP_MAP16) {
+            return in.readShort() & MAX_16BIT;
+        } else if ((byte) value == MP_MAP32) {
+            return checkSize(in.readInt());
+        }
+        throw new IllegalArgumentException("Input contains invalid map type value " + (byte) value);
+    }
+
+    private int checkSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Collection to unpack too large for Java (more than 2^31 elements)!");
+        }
+        return size;
     }
 
     protected Object unpackStr(int size, DataInputStream in) throws IOException {
@@ -350,9 +675,12 @@ public class MsgPackLite {
             throw new IllegalArgumentException("byte[] to unpack too large for Java (more than 2^31 elements)!");
         }
 
+        if (stringCache != null) {
+            return stringCache.read(in, size);
+        }
         byte[] data = new byte[size];
         in.readFully(data);
-        return new String(data, "UTF-8");
+        return StringCache.decode(data, 0, size);
     }
 
     protected Object unpackBin(int size, DataInputStream in) throws IOException {
@@ -364,4 +692,117 @@ public class MsgPackLite {
         in.readFully(data);
         return data;
     }
+
+    /**
+     * Source of the values unpacked by {@link #unpack(ValueSource, BoundedInput)}.
+     */
+    protected interface ValueSource {
+
+        /**
+         * Reads the next value. Only the header is read if the value
+         * is an array or a map, its elements are read next.
+         *
+         * @return {@code true} if a header of an array or a map has been read
+         *
+         * @throws IOException if the input cannot be read
+         */
+        boolean next() throws IOException;
+
+        /**
+         * Checks whether the header read is one of a map.
+         *
+         * @return {@code true} for a map and {@code false} for an array
+         */
+        boolean isMap();
+
+        /**
+         * Gets the number of the elements of the array
+         * or the entries of the map which header is read.
+         *
+         * @return collection size
+         */
+        int size();
+
+        /**
+         * Gets the value read if it is neither an array nor a map.
+         *
+         * @return decoded value
+         */
+        Object value();
+
+    }
+
+    /**
+     * Source of the values of a stream.
+     */
+    private final class StreamValueSource implements ValueSource {
+
+        private final DataInputStream in;
+        private final BoundedInput bound;
+        private boolean map;
+        private int size;
+        private Object value;
+
+        StreamValueSource(DataInputStream in, BoundedInput bound) {
+            this.in = in;
+            this.bound = bound;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            int type = in.read();
+            if (type < 0) {
+                throw new IllegalArgumentException("No more input available when expecting a value");
+            }
+            size = unpackArraySize(type, in);
+            map = size < 0;
+            if (map) {
+                size = unpackMapSize(type, in);
+            }
+            if (size >= 0) {
+                return true;
+            }
+            value = unpackScalar(type, in, bound);
+            return false;
+        }
+
+        @Override
+        public boolean isMap() {
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object value() {
+            return value;
+        }
+
+    }
+
+    /**
+     * Data stream which is reused by the nested packing calls
+     * and forwards binary payloads to its target.
+     */
+    private static final class PackOutputStream extends DataOutputStream implements GatheringOutput {
+
+        PackOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public boolean writeReference(ByteBuffer payload) {
+            return out instanceof GatheringOutput && ((GatheringOutput) out).writeReference(payload);
+        }
+
+        @Override
+        public boolean writeStream(StreamedBinary value) {
+            return out instanceof GatheringOutput && ((GatheringOutput) out).writeStream(value);
+        }
+
+    }
+
 }
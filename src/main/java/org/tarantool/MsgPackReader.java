@@ -0,0 +1,738 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+import org.tarantool.protocol.FrameBuffer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor-style MsgPack reader over a buffer.
+ * <p>
+ * Unlike {@link MsgPackLite#unpack(java.io.InputStream)} the reader does
+ * not build an object graph: the caller inspects the next value using
+ * {@link #nextToken()} and reads scalars and collection headers one by one,
+ * or skips whole values. Reading scalars and headers and skipping values
+ * do not allocate, only the methods returning objects do: {@link #readString()},
+ * {@link #readBinary()}, the array readers, {@link #readRawValue()} and
+ * {@link #readValue(MsgPackLite)}. Skipping is non-recursive, so the reader
+ * suits tuples of a known layout:
+ * <pre>
+ * int tuples = reader.readArrayHeader();
+ * for (int i = 0; i &lt; tuples; i++) {
+ *     int fields = reader.readArrayHeader();
+ *     long id = reader.readLong();
+ *     double score = reader.readDouble();
+ *     reader.skipValues(fields - 2);
+ * }
+ * </pre>
+ * The reader consumes the buffer it is created for, advancing its position.
+ * Reading a value of an unexpected type fails with {@link IllegalArgumentException}
+ * leaving the position before the value.
+ */
+public class MsgPackReader {
+
+    private static final int MAX_FIXINT = 0x7f;
+    private static final int FIXMAP = 0x80;
+    private static final int FIXARRAY = 0x90;
+    private static final int FIXSTR = 0xa0;
+    private static final int NIL = 0xc0;
+    private static final int NEVER_USED = 0xc1;
+    private static final int FALSE = 0xc2;
+    private static final int TRUE = 0xc3;
+    private static final int BIN8 = 0xc4;
+    private static final int BIN16 = 0xc5;
+    private static final int BIN32 = 0xc6;
+    private static final int EXT8 = 0xc7;
+    private static final int EXT16 = 0xc8;
+    private static final int EXT32 = 0xc9;
+    private static final int FLOAT32 = 0xca;
+    private static final int FLOAT64 = 0xcb;
+    private static final int UINT8 = 0xcc;
+    private static final int UINT16 = 0xcd;
+    private static final int UINT32 = 0xce;
+    private static final int UINT64 = 0xcf;
+    private static final int INT8 = 0xd0;
+    private static final int INT16 = 0xd1;
+    private static final int INT32 = 0xd2;
+    private static final int INT64 = 0xd3;
+    private static final int FIXEXT1 = 0xd4;
+    private static final int FIXEXT16 = 0xd8;
+    private static final int STR8 = 0xd9;
+    private static final int STR16 = 0xda;
+    private static final int STR32 = 0xdb;
+    private static final int ARRAY16 = 0xdc;
+    private static final int ARRAY32 = 0xdd;
+    private static final int MAP16 = 0xde;
+    private static final int MAP32 = 0xdf;
+    private static final int MIN_NEGATIVE_FIXINT = 0xe0;
+
+    private ByteBuffer buffer;
+    private StringCache stringCache;
+    private FrameBuffer frame;
+
+    /**
+     * Creates a reader.
+     *
+     * @param buffer buffer ready to be read (flipped)
+     */
+    public MsgPackReader(ByteBuffer buffer) {
+        reset(buffer);
+    }
+
+    /**
+     * Switches the reader to another buffer, so the same
+     * reader can be reused for many buffers.
+     *
+     * @param buffer buffer ready to be read (flipped)
+     *
+     * @return this reader
+     */
+    public MsgPackReader reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    /**
+     * Sets a cache used to decode strings.
+     *
+     * @param stringCache cache of decoded strings or {@code null}
+     *
+     * @return this reader
+     */
+    public MsgPackReader setStringCache(StringCache stringCache) {
+        this.stringCache = stringCache;
+        return this;
+    }
+
+    /**
+     * Gets the pooled frame the buffer belongs to. A reader which
+     * result refers to the buffer has to retain the frame.
+     *
+     * @return frame or {@code null} if the buffer is not pooled
+     */
+    public FrameBuffer getFrame() {
+        return frame;
+    }
+
+    public MsgPackReader setFrame(FrameBuffer frame) {
+        this.frame = frame;
+        return this;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Gets a type of the next value without consuming it.
+     *
+     * @return type of the next value or {@link MsgPackType#END}
+     *
+     * @throws IllegalArgumentException if the next byte is not a valid type
+     */
+    public MsgPackType nextToken() {
+        if (!buffer.hasRemaining()) {
+            return MsgPackType.END;
+        }
+        int type = peekType();
+        if (type <= MAX_FIXINT || type >= MIN_NEGATIVE_FIXINT) {
+            return MsgPackType.INTEGER;
+        }
+        if (type < FIXARRAY) {
+            return MsgPackType.MAP;
+        }
+        if (type < FIXSTR) {
+            return MsgPackType.ARRAY;
+        }
+        if (type < NIL) {
+            return MsgPackType.STRING;
+        }
+        switch (type) {
+        case NIL:
+            return MsgPackType.NIL;
+        case FALSE:
+        case TRUE:
+            return MsgPackType.BOOLEAN;
+        case BIN8:
+        case BIN16:
+        case BIN32:
+            return MsgPackType.BINARY;
+        case FLOAT32:
+        case FLOAT64:
+            return MsgPackType.FLOAT;
+        case UINT8:
+        case UINT16:
+        case UINT32:
+        case UINT64:
+        case INT8:
+        case INT16:
+        case INT32:
+        case INT64:
+            return MsgPackType.INTEGER;
+        case STR8:
+        case STR16:
+        case STR32:
+            return MsgPackType.STRING;
+        case ARRAY16:
+        case ARRAY32:
+            return MsgPackType.ARRAY;
+        case MAP16:
+        case MAP32:
+            return MsgPackType.MAP;
+        case NEVER_USED:
+            throw new IllegalArgumentException("Input contains invalid type value " + (byte) type);
+        default:
+            return MsgPackType.EXTENSION;
+        }
+    }
+
+    public void readNil() {
+        if (peekType() != NIL) {
+            throw unexpectedType(MsgPackType.NIL);
+        }
+        buffer.get();
+    }
+
+    /**
+     * Consumes the next value if it is nil.
+     *
+     * @return {@code true} if nil is consumed
+     */
+    public boolean skipNil() {
+        if (buffer.hasRemaining() && (buffer.get(buffer.position()) & 0xff) == NIL) {
+            buffer.get();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean readBoolean() {
+        int type = peekType();
+        if (type != TRUE && type != FALSE) {
+            throw unexpectedType(MsgPackType.BOOLEAN);
+        }
+        buffer.get();
+        return type == TRUE;
+    }
+
+    /**
+     * Reads an integer of any width.
+     *
+     * @return integer value
+     *
+     * @throws IllegalArgumentException if the next value is not an integer
+     *                                  or it is an unsigned value which exceeds {@link Long#MAX_VALUE}
+     */
+    public long readLong() {
+        int type = peekType();
+        if (type <= MAX_FIXINT || type >= MIN_NEGATIVE_FIXINT) {
+            return buffer.get();
+        }
+        int start = buffer.position();
+        buffer.get();
+        switch (type) {
+        case UINT8:
+            return buffer.get() & 0xff;
+        case UINT16:
+            return buffer.getShort() & 0xffff;
+        case UINT32:
+            return buffer.getInt() & 0xffffffffL;
+        case UINT64:
+            long value = buffer.getLong();
+            if (value < 0) {
+                buffer.position(start);
+                throw new IllegalArgumentException("Unsigned value exceeds the range of long");
+            }
+            return value;
+        case INT8:
+            return buffer.get();
+        case INT16:
+            return buffer.getShort();
+        case INT32:
+            return buffer.getInt();
+        case INT64:
+            return buffer.getLong();
+        default:
+            buffer.position(start);
+            throw unexpectedType(MsgPackType.INTEGER);
+        }
+    }
+
+    /**
+     * Reads an integer which fits into {@code int}.
+     *
+     * @return integer value
+     *
+     * @throws IllegalArgumentException if the next value is not an integer or it is out of range
+     */
+    public int readInt() {
+        int start = buffer.position();
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            buffer.position(start);
+            throw new IllegalArgumentException("Value " + value + " exceeds the range of int");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a floating point number or an integer.
+     *
+     * @return number value
+     *
+     * @throws IllegalArgumentException if the next value is not a number
+     */
+    public double readDouble() {
+        int type = peekType();
+        if (type == FLOAT32) {
+            buffer.get();
+            return buffer.getFloat();
+        }
+        if (type == FLOAT64) {
+            buffer.get();
+            return buffer.getDouble();
+        }
+        if (nextToken() != MsgPackType.INTEGER) {
+            throw unexpectedType(MsgPackType.FLOAT);
+        }
+        return readLong();
+    }
+
+    /**
+     * Reads an array of integers into a primitive array.
+     *
+     * @return array values
+     *
+     * @throws IllegalArgumentException if the next value is not an array
+     *                                  or some of its elements are not integers
+     */
+    public long[] readLongArray() {
+        int start = buffer.position();
+        int size = readArrayHeader();
+        long[] values = new long[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                values[i] = readLong();
+            }
+        } catch (IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        }
+        return values;
+    }
+
+    /**
+     * Reads an array of integers which fit into {@code int}
+     * into a primitive array.
+     *
+     * @return array values
+     *
+     * @throws IllegalArgumentException if the next value is not an array
+     *                                  or some of its elements are not integers or out of range
+     */
+    public int[] readIntArray() {
+        int start = buffer.position();
+        int size = readArrayHeader();
+        int[] values = new int[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                values[i] = readInt();
+            }
+        } catch (IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        }
+        return values;
+    }
+
+    /**
+     * Reads an array of numbers into a primitive array.
+     *
+     * @return array values
+     *
+     * @throws IllegalArgumentException if the next value is not an array
+     *                                  or some of its elements are not numbers
+     */
+    public double[] readDoubleArray() {
+        int start = buffer.position();
+        int size = readArrayHeader();
+        double[] values = new double[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                values[i] = readDouble();
+            }
+        } catch (IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        }
+        return values;
+    }
+
+    /**
+     * Reads an array header. The array elements are the next
+     * values to be read.
+     *
+     * @return number of the array elements
+     */
+    public int readArrayHeader() {
+        int start = buffer.position();
+        int type = peekType();
+        int size;
+        if (type >= FIXARRAY && type < FIXSTR) {
+            buffer.get();
+            size = type - FIXARRAY;
+        } else if (type == ARRAY16) {
+            buffer.get();
+            size = buffer.getShort() & 0xffff;
+        } else if (type == ARRAY32) {
+            buffer.get();
+            size = readLength32();
+        } else {
+            throw unexpectedType(MsgPackType.ARRAY);
+        }
+        // each element takes one byte at least
+        return checkAvailable(size, start);
+    }
+
+    /**
+     * Reads a map header. The map keys and values are the next
+     * values to be read one after another.
+     *
+     * @return number of the map entries
+     */
+    public int readMapHeader() {
+        int start = buffer.position();
+        int type = peekType();
+        int size;
+        if (type >= FIXMAP && type < FIXARRAY) {
+            buffer.get();
+            size = type - FIXMAP;
+        } else if (type == MAP16) {
+            buffer.get();
+            size = buffer.getShort() & 0xffff;
+        } else if (type == MAP32) {
+            buffer.get();
+            size = readLength32();
+        } else {
+            throw unexpectedType(MsgPackType.MAP);
+        }
+        // each key and value take one byte at least
+        checkAvailable((int) Math.min(2L * size, Integer.MAX_VALUE), start);
+        return size;
+    }
+
+    /**
+     * Reads a string header. The string bytes start at the current
+     * position and can be consumed using {@link #skipBytes(int)}.
+     *
+     * @return string length in bytes
+     */
+    public int readStringHeader() {
+        int start = buffer.position();
+        int type = peekType();
+        int length;
+        if (type >= FIXSTR && type < NIL) {
+            buffer.get();
+            length = type - FIXSTR;
+        } else if (type == STR8) {
+            buffer.get();
+            length = buffer.get() & 0xff;
+        } else if (type == STR16) {
+            buffer.get();
+            length = buffer.getShort() & 0xffff;
+        } else if (type == STR32) {
+            buffer.get();
+            length = readLength32();
+        } else {
+            throw unexpectedType(MsgPackType.STRING);
+        }
+        return checkAvailable(length, start);
+    }
+
+    /**
+     * Reads a string copying its UTF-8 bytes.
+     *
+     * @param target array to copy the bytes to
+     *
+     * @return string length in bytes
+     *
+     * @throws IllegalArgumentException if the string does not fit into the array
+     */
+    public int readStringBytes(byte[] target) {
+        int start = buffer.position();
+        int length = readStringHeader();
+        if (length > target.length) {
+            buffer.position(start);
+            throw new IllegalArgumentException("String of " + length + " bytes does not fit into the array");
+        }
+        buffer.get(target, 0, length);
+        return length;
+    }
+
+    public String readString() {
+        int length = readStringHeader();
+        byte[] bytes;
+        int offset;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+        } else {
+            bytes = new byte[length];
+            offset = 0;
+            buffer.get(bytes);
+        }
+        return stringCache != null
+            ? stringCache.get(bytes, offset, length)
+            : StringCache.decode(bytes, offset, length);
+    }
+
+    /**
+     * Reads a binary header. The binary data start at the current
+     * position and can be consumed using {@link #skipBytes(int)}.
+     *
+     * @return data length in bytes
+     */
+    public int readBinaryHeader() {
+        int start = buffer.position();
+        int type = peekType();
+        int length;
+        if (type == BIN8) {
+            buffer.get();
+            length = buffer.get() & 0xff;
+        } else if (type == BIN16) {
+            buffer.get();
+            length = buffer.getShort() & 0xffff;
+        } else if (type == BIN32) {
+            buffer.get();
+            length = readLength32();
+        } else {
+            throw unexpectedType(MsgPackType.BINARY);
+        }
+        return checkAvailable(length, start);
+    }
+
+    /**
+     * Reads a binary value.
+     *
+     * @return copy of the binary data
+     */
+    public byte[] readBinary() {
+        byte[] data = new byte[readBinaryHeader()];
+        buffer.get(data);
+        return data;
+    }
+
+    /**
+     * Reads the next value as a whole. It is useful when only
+     * some of the values of a known layout have to be built.
+     *
+     * @param msgPackLite decoder of the value
+     *
+     * @return decoded value
+     */
+    public Object readValue(MsgPackLite msgPackLite) {
+        int start = buffer.position();
+        try {
+            return msgPackLite.unpack(new ByteBufferBackedInputStream(buffer));
+        } catch (IOException | IllegalArgumentException e) {
+            buffer.position(start);
+            throw new IllegalArgumentException("Cannot read a value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next value as a whole without decoding it.
+     * The returned buffer shares the content of the reader's
+     * buffer, so it is valid as long as the latter is.
+     *
+     * @return read-only buffer holding the encoded value
+     *
+     * @throws IllegalArgumentException if the value is incomplete or malformed
+     */
+    public ByteBuffer readRawValue() {
+        int start = buffer.position();
+        try {
+            skipValue();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot read a value: " + e.getMessage(), e);
+        }
+        ByteBuffer value = buffer.duplicate();
+        value.position(start).limit(buffer.position());
+        return value.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Skips raw bytes, for instance, a string or binary content.
+     *
+     * @param count number of bytes
+     *
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public void skipBytes(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Byte count must not be negative");
+        }
+        buffer.position(buffer.position() + checkAvailable(count, buffer.position()));
+    }
+
+    /**
+     * Skips the next value including all the nested ones.
+     */
+    public void skipValue() {
+        skipValues(1);
+    }
+
+    /**
+     * Skips the next values including all the nested ones.
+     * The method does not use recursion, so the nesting depth
+     * is not limited by the stack size.
+     *
+     * @param count number of the values to be skipped
+     *
+     * @throws IllegalArgumentException if the values are incomplete or malformed,
+     *                                  the position is left before them then
+     */
+    public void skipValues(long count) {
+        int start = buffer.position();
+        try {
+            skipValuesFrom(count);
+        } catch (IllegalArgumentException e) {
+            buffer.position(start);
+            throw e;
+        } catch (BufferUnderflowException e) {
+            buffer.position(start);
+            throw new IllegalArgumentException("No more input available when skipping a value", e);
+        }
+    }
+
+    private void skipValuesFrom(long count) {
+        while (count > 0) {
+            count--;
+            int type = buffer.get() & 0xff;
+            if (type <= MAX_FIXINT || type >= MIN_NEGATIVE_FIXINT) {
+                continue;
+            }
+            if (type < FIXARRAY) {
+                count += 2L * (type - FIXMAP);
+                continue;
+            }
+            if (type < FIXSTR) {
+                count += type - FIXARRAY;
+                continue;
+            }
+            if (type < NIL) {
+                skipBytes(type - FIXSTR);
+                continue;
+            }
+            switch (type) {
+            case NIL:
+            case FALSE:
+            case TRUE:
+                break;
+            case BIN8:
+            case STR8:
+                skipBytes(buffer.get() & 0xff);
+                break;
+            case BIN16:
+            case STR16:
+                skipBytes(buffer.getShort() & 0xffff);
+                break;
+            case BIN32:
+            case STR32:
+                skipBytes(readLength32());
+                break;
+            case EXT8:
+                skipBytes((buffer.get() & 0xff) + 1);
+                break;
+            case EXT16:
+                skipBytes((buffer.getShort() & 0xffff) + 1);
+                break;
+            case EXT32:
+                skipBytes(readLength32() + 1);
+                break;
+            case UINT8:
+            case INT8:
+                skipBytes(1);
+                break;
+            case UINT16:
+            case INT16:
+                skipBytes(2);
+                break;
+            case FLOAT32:
+            case UINT32:
+            case INT32:
+                skipBytes(4);
+                break;
+            case FLOAT64:
+            case UINT64:
+            case INT64:
+                skipBytes(8);
+                break;
+            case ARRAY16:
+                count += buffer.getShort() & 0xffff;
+                break;
+            case ARRAY32:
+                count += buffer.getInt() & 0xffffffffL;
+                break;
+            case MAP16:
+                count += 2L * (buffer.getShort() & 0xffff);
+                break;
+            case MAP32:
+                count += 2L * (buffer.getInt() & 0xffffffffL);
+                break;
+            default:
+                if (type >= FIXEXT1 && type <= FIXEXT16) {
+                    skipBytes((1 << (type - FIXEXT1)) + 1);
+                    break;
+                }
+                throw new IllegalArgumentException("Input contains invalid type value " + (byte) type);
+            }
+        }
+    }
+
+    private int peekType() {
+        if (!buffer.hasRemaining()) {
+            throw new IllegalArgumentException("No more input available when expecting a value");
+        }
+        return buffer.get(buffer.position()) & 0xff;
+    }
+
+    private int readLength32() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new IllegalArgumentException("Length exceeds the range of int");
+        }
+        return length;
+    }
+
+    private int checkAvailable(int length, int start) {
+        if (length > buffer.remaining()) {
+            int remaining = buffer.remaining();
+            buffer.position(start);
+            throw new IllegalArgumentException(
+                "Value of " + length + " bytes exceeds the remaining input of " + remaining + " bytes"
+            );
+        }
+        return length;
+    }
+
+    private IllegalArgumentException unexpectedType(MsgPackType expected) {
+        return new IllegalArgumentException("Expected " + expected + " but got " + nextToken());
+    }
+
+}
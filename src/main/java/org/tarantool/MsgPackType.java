@@ -0,0 +1,23 @@
+package org.tarantool;
+
+/**
+ * Type of the next MsgPack value reported by {@link MsgPackReader#nextToken()}.
+ */
+public enum MsgPackType {
+
+    NIL,
+    BOOLEAN,
+    INTEGER,
+    FLOAT,
+    STRING,
+    BINARY,
+    ARRAY,
+    MAP,
+    EXTENSION,
+
+    /**
+     * There are no more values in the input.
+     */
+    END
+
+}
@@ -0,0 +1,21 @@
+package org.tarantool;
+
+import java.io.IOException;
+
+/**
+ * Value which encodes itself when it is packed
+ * by {@link MsgPackLite}.
+ */
+public interface MsgPackWritable {
+
+    /**
+     * Writes exactly one MsgPack value (which may be
+     * an array or a map including nested values).
+     *
+     * @param writer target writer
+     *
+     * @throws IOException if the value cannot be written
+     */
+    void writeTo(MsgPackWriter writer) throws IOException;
+
+}
@@ -0,0 +1,228 @@
+package org.tarantool;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes MsgPack values one by one, so a structure of a known
+ * layout can be encoded without building an intermediate
+ * collection of boxed values.
+ * <p>
+ * Values which have no dedicated method are written using
+ * {@link MsgPackLite#pack(Object, OutputStream)}.
+ *
+ * @see MsgPackWritable
+ */
+public class MsgPackWriter {
+
+    private final DataOutputStream out;
+    private final MsgPackLite msgPackLite;
+
+    public MsgPackWriter(OutputStream out, MsgPackLite msgPackLite) {
+        this.out = MsgPackLite.output(out);
+        this.msgPackLite = msgPackLite;
+    }
+
+    public MsgPackWriter writeNil() throws IOException {
+        out.write(MsgPackLite.MP_NULL);
+        return this;
+    }
+
+    public MsgPackWriter writeBoolean(boolean value) throws IOException {
+        out.write(value ? MsgPackLite.MP_TRUE : MsgPackLite.MP_FALSE);
+        return this;
+    }
+
+    /**
+     * Writes an integer using the most compact encoding.
+     *
+     * @param value integer value
+     *
+     * @return this writer
+     *
+     * @throws IOException if the value cannot be written
+     */
+    public MsgPackWriter writeLong(long value) throws IOException {
+        if (value >= 0) {
+            if (value <= MsgPackLite.MAX_7BIT) {
+                out.write((int) value);
+            } else if (value <= MsgPackLite.MAX_8BIT) {
+                out.write(MsgPackLite.MP_UINT8);
+                out.write((int) value);
+            } else if (value <= MsgPackLite.MAX_16BIT) {
+                out.write(MsgPackLite.MP_UINT16);
+                out.writeShort((int) value);
+            } else if (value <= MsgPackLite.MAX_32BIT) {
+                out.write(MsgPackLite.MP_UINT32);
+                out.writeInt((int) value);
+            } else {
+                out.write(MsgPackLite.MP_UINT64);
+                out.writeLong(value);
+            }
+        } else {
+            if (value >= -(MsgPackLite.MAX_5BIT + 1)) {
+                out.write((int) (value & 0xff));
+            } else if (value >= -(MsgPackLite.MAX_7BIT + 1)) {
+                out.write(MsgPackLite.MP_INT8);
+                out.write((int) value);
+            } else if (value >= -(MsgPackLite.MAX_15BIT + 1)) {
+                out.write(MsgPackLite.MP_INT16);
+                out.writeShort((int) value);
+            } else if (value >= -(MsgPackLite.MAX_31BIT + 1)) {
+                out.write(MsgPackLite.MP_INT32);
+                out.writeInt((int) value);
+            } else {
+                out.write(MsgPackLite.MP_INT64);
+                out.writeLong(value);
+            }
+        }
+        return this;
+    }
+
+    public MsgPackWriter writeFloat(float value) throws IOException {
+        out.write(MsgPackLite.MP_FLOAT);
+        out.writeFloat(value);
+        return this;
+    }
+
+    public MsgPackWriter writeDouble(double value) throws IOException {
+        out.write(MsgPackLite.MP_DOUBLE);
+        out.writeDouble(value);
+        return this;
+    }
+
+    /**
+     * Writes a string or nil if the value is {@code null}.
+     *
+     * @param value string value
+     *
+     * @return this writer
+     *
+     * @throws IOException if the value cannot be written
+     */
+    public MsgPackWriter writeString(String value) throws IOException {
+        if (value == null) {
+            return writeNil();
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        if (data.length <= MsgPackLite.MAX_5BIT) {
+            out.write(data.length | MsgPackLite.MP_FIXSTR);
+        } else if (data.length <= MsgPackLite.MAX_8BIT) {
+            out.write(MsgPackLite.MP_STR8);
+            out.write(data.length);
+        } else if (data.length <= MsgPackLite.MAX_16BIT) {
+            out.write(MsgPackLite.MP_STR16);
+            out.writeShort(data.length);
+        } else {
+            out.write(MsgPackLite.MP_STR32);
+            out.writeInt(data.length);
+        }
+        out.write(data);
+        return this;
+    }
+
+    /**
+     * Writes a binary value or nil if the value is {@code null}.
+     *
+     * @param value binary value
+     *
+     * @return this writer
+     *
+     * @throws IOException if the value cannot be written
+     */
+    public MsgPackWriter writeBinary(byte[] value) throws IOException {
+        if (value == null) {
+            return writeNil();
+        }
+        if (value.length <= MsgPackLite.MAX_8BIT) {
+            out.write(MsgPackLite.MP_BIN8);
+            out.write(value.length);
+        } else if (value.length <= MsgPackLite.MAX_16BIT) {
+            out.write(MsgPackLite.MP_BIN16);
+            out.writeShort(value.length);
+        } else {
+            out.write(MsgPackLite.MP_BIN32);
+            out.writeInt(value.length);
+        }
+        out.write(value);
+        return this;
+    }
+
+    /**
+     * Writes already encoded MsgPack bytes as they are. Large
+     * payloads are referenced instead of copied if the target
+     * stream supports it.
+     *
+     * @param encoded buffer which remaining bytes are written,
+     *                its position is not changed
+     *
+     * @return this writer
+     *
+     * @throws IOException if the bytes cannot be written
+     *
+     * @see GatheringOutput
+     */
+    public MsgPackWriter writeRaw(ByteBuffer encoded) throws IOException {
+        ByteBuffer data = encoded.slice();
+        if (!(out instanceof GatheringOutput) || !((GatheringOutput) out).writeReference(data)) {
+            MsgPackLite.writeBin(data, out);
+        }
+        return this;
+    }
+
+    /**
+     * Writes an array header. The array elements
+     * are expected to be written next.
+     *
+     * @param size number of the array elements
+     *
+     * @return this writer
+     *
+     * @throws IOException if the header cannot be written
+     */
+    public MsgPackWriter writeArrayHeader(int size) throws IOException {
+        if (size <= MsgPackLite.MAX_4BIT) {
+            out.write(size | MsgPackLite.MP_FIXARRAY);
+        } else if (size <= MsgPackLite.MAX_16BIT) {
+            out.write(MsgPackLite.MP_ARRAY16);
+            out.writeShort(size);
+        } else {
+            out.write(MsgPackLite.MP_ARRAY32);
+            out.writeInt(size);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a map header. The map keys and values
+     * are expected to be written next.
+     *
+     * @param size number of the map entries
+     *
+     * @return this writer
+     *
+     * @throws IOException if the header cannot be written
+     */
+    public MsgPackWriter writeMapHeader(int size) throws IOException {
+        msgPackLite.packMapHeader(size, out);
+        return this;
+    }
+
+    /**
+     * Writes an arbitrary value.
+     *
+     * @param value value supported by {@link MsgPackLite}
+     *
+     * @return this writer
+     *
+     * @throws IOException if the value cannot be written
+     */
+    public MsgPackWriter writeValue(Object value) throws IOException {
+        msgPackLite.pack(value, out);
+        return this;
+    }
+
+}
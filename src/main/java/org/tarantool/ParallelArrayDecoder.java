@@ -0,0 +1,111 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decodes a large array by chunks of elements in parallel.
+ * <p>
+ * The element bounds are found by skipping the elements, which is
+ * much cheaper than decoding them, then the chunks are decoded by
+ * fork-join tasks. The tasks are forked to the pool of the calling
+ * thread or to the common pool. The decoder limits are applied to the
+ * array size and to each element separately.
+ *
+ * @see TarantoolClientConfig#decodingChunkSize
+ */
+final class ParallelArrayDecoder extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final Object[] elements;
+    private final MsgPackLite msgPackLite;
+    private final int chunkSize;
+    private final int from;
+    private final int to;
+
+    private ParallelArrayDecoder(ByteBuffer buffer,
+                                 int[] offsets,
+                                 Object[] elements,
+                                 MsgPackLite msgPackLite,
+                                 int chunkSize,
+                                 int from,
+                                 int to) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.elements = elements;
+        this.msgPackLite = msgPackLite;
+        this.chunkSize = chunkSize;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Decodes an array.
+     *
+     * @param reader      reader positioned at the array
+     * @param msgPackLite decoder of the elements
+     * @param chunkSize   number of elements decoded by a single task
+     *
+     * @return decoded elements
+     *
+     * @throws IllegalArgumentException if the array is malformed or exceeds the decoder limits
+     */
+    static List<Object> decode(MsgPackReader reader, MsgPackLite msgPackLite, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        try {
+            int size = msgPackLite.checkCollectionSize(reader.readArrayHeader(), 1, null);
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = reader.position();
+                reader.skipValue();
+            }
+            offsets[size] = reader.position();
+            Object[] elements = new Object[size];
+            new ParallelArrayDecoder(reader.getBuffer(), offsets, elements, msgPackLite, chunkSize, 0, size)
+                .invoke();
+            return new ArrayList<>(Arrays.asList(elements));
+        } catch (UncheckedIOException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Cannot decode an array: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= chunkSize) {
+            decodeChunk();
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new ParallelArrayDecoder(buffer, offsets, elements, msgPackLite, chunkSize, from, middle),
+            new ParallelArrayDecoder(buffer, offsets, elements, msgPackLite, chunkSize, middle, to)
+        );
+    }
+
+    private void decodeChunk() {
+        ByteBuffer chunk = buffer.duplicate();
+        chunk.limit(offsets[to]).position(offsets[from]);
+        ByteBufferBackedInputStream input = new ByteBufferBackedInputStream(chunk);
+        try {
+            for (int i = from; i < to; i++) {
+                elements[i] = msgPackLite.unpack(input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.tarantool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Request template which fixes all the arguments of an operation
+ * but one, for instance, a select from the specific space and
+ * index where only the key varies.
+ * <p>
+ * The constant part of the request is encoded once when the
+ * template is created. Each execution encodes a sync id and the
+ * variable argument only, thus avoiding arguments array and maps
+ * allocation, as well as re-encoding of the same keys and values.
+ * <p>
+ * Templates are immutable and can be shared between clients and
+ * threads:
+ * <pre>
+ * PreparedOperation selectById = PreparedOperation.select(spaceId, 0, 0, 1, Iterator.EQ);
+ * List&lt;?&gt; result = client.syncOps().execute(selectById, Collections.singletonList(id));
+ * </pre>
+ *
+ * @see TarantoolClientOps#execute(PreparedOperation, Object)
+ */
+public final class PreparedOperation {
+
+    private static final int SIZE_ESTIMATION_RESERVE = 64;
+
+    private final Code code;
+    private final Key variableKey;
+    private final Object[] constantArgs;
+
+    /**
+     * Encoded headers map where the sync id value is omitted.
+     */
+    private final byte[] headerPrefix;
+
+    /**
+     * Encoded body map where the variable argument value is omitted.
+     */
+    private final byte[] bodyPrefix;
+
+    /**
+     * Size of the largest request encoded so far. The estimation is
+     * used to pre-size output buffers and can be updated racy.
+     */
+    private int estimatedSize;
+
+    private PreparedOperation(Code code, Key variableKey, Object[] constantArgs) {
+        this.code = Objects.requireNonNull(code, "Operation code should not be null");
+        this.variableKey = Objects.requireNonNull(variableKey, "Variable key should not be null");
+        this.constantArgs = constantArgs.clone();
+        for (int i = 0; i < this.constantArgs.length; i += 2) {
+            if (!(this.constantArgs[i] instanceof Key)) {
+                throw new IllegalArgumentException("Argument " + i + " should be a key");
+            }
+            if (this.constantArgs[i] == variableKey) {
+                throw new IllegalArgumentException(variableKey.name() + " cannot be both constant and variable");
+            }
+            if (this.constantArgs[i + 1] == null) {
+                throw new NullPointerException(((Key) this.constantArgs[i]).name() + " should not be null");
+            }
+        }
+        try {
+            this.headerPrefix = encodeHeaderPrefix(code);
+            this.bodyPrefix = encodeBodyPrefix(this.constantArgs, variableKey);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot encode the operation", e);
+        }
+        this.estimatedSize = headerPrefix.length + bodyPrefix.length + SIZE_ESTIMATION_RESERVE;
+    }
+
+    /**
+     * Creates a generic template.
+     *
+     * @param code         operation code
+     * @param variableKey  key of the argument which is passed on each execution
+     * @param constantArgs other arguments as key-value pairs
+     *
+     * @return prepared operation
+     */
+    public static PreparedOperation prepare(Code code, Key variableKey, Object... constantArgs) {
+        if (constantArgs.length % 2 != 0) {
+            throw new IllegalArgumentException("Constant arguments should be key-value pairs");
+        }
+        return new PreparedOperation(code, variableKey, constantArgs);
+    }
+
+    public static PreparedOperation select(int space, int index, int offset, int limit, Iterator iterator) {
+        return select(space, index, offset, limit, iterator.getValue());
+    }
+
+    /**
+     * Creates a select template which accepts a key.
+     *
+     * @param space    space id
+     * @param index    index id
+     * @param offset   number of tuples to be skipped
+     * @param limit    max number of tuples to be returned
+     * @param iterator index iterator type
+     *
+     * @return prepared operation
+     */
+    public static PreparedOperation select(int space, int index, int offset, int limit, int iterator) {
+        return prepare(
+            Code.SELECT, Key.KEY,
+            Key.SPACE, space,
+            Key.INDEX, index,
+            Key.ITERATOR, iterator,
+            Key.LIMIT, limit,
+            Key.OFFSET, offset
+        );
+    }
+
+    public static PreparedOperation insert(int space) {
+        return prepare(Code.INSERT, Key.TUPLE, Key.SPACE, space);
+    }
+
+    public static PreparedOperation replace(int space) {
+        return prepare(Code.REPLACE, Key.TUPLE, Key.SPACE, space);
+    }
+
+    public static PreparedOperation delete(int space) {
+        return prepare(Code.DELETE, Key.KEY, Key.SPACE, space);
+    }
+
+    /**
+     * Creates a call template which accepts a list of function arguments.
+     * Use {@link #prepare(Code, Key, Object...)} with {@link Code#OLD_CALL}
+     * for the clients which do not use a new call.
+     *
+     * @param function function name
+     *
+     * @return prepared operation
+     */
+    public static PreparedOperation call(String function) {
+        return prepare(Code.CALL, Key.TUPLE, Key.FUNCTION, function);
+    }
+
+    public static PreparedOperation eval(String expression) {
+        return prepare(Code.EVAL, Key.TUPLE, Key.EXPRESSION, expression);
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    public Key getVariableKey() {
+        return variableKey;
+    }
+
+    /**
+     * Builds a full list of the request arguments.
+     *
+     * @param value variable argument value
+     *
+     * @return arguments as key-value pairs
+     */
+    public Object[] bind(Object value) {
+        Object[] args = Arrays.copyOf(constantArgs, constantArgs.length + 2);
+        args[constantArgs.length] = variableKey;
+        args[constantArgs.length + 1] = value;
+        return args;
+    }
+
+    /**
+     * Gets an estimated size of the next encoded request
+     * excluding the size prefix.
+     *
+     * @return size in bytes
+     */
+    public int getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * Encodes a request headers and body.
+     *
+     * @param msgPackLite encoder of the variable argument
+     * @param syncId      request id
+     * @param value       variable argument value
+     * @param os          output stream
+     *
+     * @throws IOException if the request cannot be written
+     */
+    public void writeTo(MsgPackLite msgPackLite, long syncId, Object value, OutputStream os) throws IOException {
+        DataOutputStream out = MsgPackLite.output(os);
+        out.write(headerPrefix);
+        msgPackLite.pack(syncId, out);
+        out.write(bodyPrefix);
+        msgPackLite.pack(value, out);
+        out.flush();
+        if (out.size() > estimatedSize) {
+            estimatedSize = out.size();
+        }
+    }
+
+    /**
+     * Gets the constant arguments without copying.
+     *
+     * @return constant arguments as key-value pairs
+     */
+    Object[] constantArgs() {
+        return constantArgs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PreparedOperation{").append(code.name());
+        for (int i = 0; i < constantArgs.length; i += 2) {
+            builder.append(", ").append(((Key) constantArgs[i]).name()).append('=').append(constantArgs[i + 1]);
+        }
+        return builder.append(", ").append(variableKey.name()).append("=?}").toString();
+    }
+
+    private static byte[] encodeHeaderPrefix(Code code) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.packMapHeader(2, bos);
+        MsgPackLite.INSTANCE.pack(Key.CODE, bos);
+        MsgPackLite.INSTANCE.pack(code, bos);
+        MsgPackLite.INSTANCE.pack(Key.SYNC, bos);
+        return bos.toByteArray();
+    }
+
+    private static byte[] encodeBodyPrefix(Object[] constantArgs, Key variableKey) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.packMapHeader(constantArgs.length / 2 + 1, bos);
+        for (Object arg : constantArgs) {
+            MsgPackLite.INSTANCE.pack(arg, bos);
+        }
+        MsgPackLite.INSTANCE.pack(variableKey, bos);
+        return bos.toByteArray();
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Value which is already encoded to MsgPack. It is written as is,
+ * so a tuple or a key received by raw operations can be passed
+ * to another request without decoding and encoding it again.
+ *
+ * @see TarantoolClient#rawOps(boolean)
+ */
+public final class RawMsgPack implements MsgPackWritable {
+
+    private final ByteBuffer encoded;
+
+    private RawMsgPack(ByteBuffer encoded) {
+        this.encoded = encoded;
+    }
+
+    /**
+     * Wraps an encoded value.
+     *
+     * @param encoded exactly one MsgPack value
+     *
+     * @return new value
+     *
+     * @throws IllegalArgumentException if the bytes are not a single value
+     */
+    public static RawMsgPack of(byte[] encoded) {
+        return of(ByteBuffer.wrap(encoded));
+    }
+
+    /**
+     * Wraps an encoded value. The remaining bytes of the buffer
+     * are shared, not copied, so they must not be changed until
+     * the request is sent.
+     *
+     * @param encoded exactly one MsgPack value
+     *
+     * @return new value
+     *
+     * @throws IllegalArgumentException if the bytes are not a single value
+     */
+    public static RawMsgPack of(ByteBuffer encoded) {
+        ByteBuffer value = encoded.slice();
+        MsgPackReader reader = new MsgPackReader(value.duplicate());
+        try {
+            reader.skipValue();
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IllegalArgumentException("Bytes are not a complete MsgPack value", e);
+        }
+        if (reader.hasNext()) {
+            throw new IllegalArgumentException("Bytes contain more than one MsgPack value");
+        }
+        return new RawMsgPack(value);
+    }
+
+    /**
+     * Gets the encoded bytes.
+     *
+     * @return read-only buffer
+     */
+    public ByteBuffer getBuffer() {
+        return encoded.asReadOnlyBuffer();
+    }
+
+    @Override
+    public void writeTo(MsgPackWriter writer) throws IOException {
+        writer.writeRaw(encoded);
+    }
+
+    @Override
+    public String toString() {
+        return "RawMsgPack{size=" + encoded.remaining() + "}";
+    }
+
+}
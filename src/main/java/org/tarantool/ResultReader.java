@@ -0,0 +1,22 @@
+package org.tarantool;
+
+/**
+ * Decodes a result of an operation directly from the response bytes.
+ *
+ * @param <T> result type
+ *
+ * @see TarantoolClient#readingOps(ResultReader)
+ */
+public interface ResultReader<T> {
+
+    /**
+     * Reads an operation result. It is called by the client's
+     * reader thread, so it should not block.
+     *
+     * @param reader reader positioned at the response data array
+     *
+     * @return operation result
+     */
+    T read(MsgPackReader reader);
+
+}
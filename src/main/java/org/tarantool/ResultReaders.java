@@ -0,0 +1,78 @@
+package org.tarantool;
+
+/**
+ * Factory of commonly used {@link ResultReader}s.
+ */
+public final class ResultReaders {
+
+    private ResultReaders() {
+    }
+
+    /**
+     * Creates a reader which collects an integer field
+     * of all the result tuples into a primitive array.
+     *
+     * @param field zero-based field index
+     *
+     * @return column reader
+     */
+    public static ResultReader<long[]> longColumn(int field) {
+        checkField(field);
+        return reader -> {
+            int size = reader.readArrayHeader();
+            long[] column = new long[size];
+            for (int i = 0; i < size; i++) {
+                int fields = seekField(reader, field);
+                column[i] = reader.readLong();
+                reader.skipValues(fields - field - 1);
+            }
+            return column;
+        };
+    }
+
+    /**
+     * Creates a reader which collects a numeric field
+     * of all the result tuples into a primitive array.
+     *
+     * @param field zero-based field index
+     *
+     * @return column reader
+     */
+    public static ResultReader<double[]> doubleColumn(int field) {
+        checkField(field);
+        return reader -> {
+            int size = reader.readArrayHeader();
+            double[] column = new double[size];
+            for (int i = 0; i < size; i++) {
+                int fields = seekField(reader, field);
+                column[i] = reader.readDouble();
+                reader.skipValues(fields - field - 1);
+            }
+            return column;
+        };
+    }
+
+    private static void checkField(int field) {
+        if (field < 0) {
+            throw new IllegalArgumentException("Field index must be non-negative: " + field);
+        }
+    }
+
+    /**
+     * Skips the tuple fields preceding the given one.
+     *
+     * @param reader reader positioned at a tuple
+     * @param field  zero-based field index
+     *
+     * @return number of the tuple fields
+     */
+    private static int seekField(MsgPackReader reader, int field) {
+        int fields = reader.readArrayHeader();
+        if (field >= fields) {
+            throw new IllegalArgumentException("Tuple of " + fields + " fields has no field " + field);
+        }
+        reader.skipValues(field);
+        return fields;
+    }
+
+}
@@ -1,7 +1,6 @@
 package org.tarantool;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
@@ -27,7 +26,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
     /**
      * Socket addresses pool.
      */
-    private final List<InetSocketAddress> socketAddresses = new ArrayList<>();
+    private final List<SocketAddress> socketAddresses = new ArrayList<>();
 
     /**
      * Current position within {@link #socketAddresses} list.
@@ -56,6 +55,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
      * Constructs an instance.
      *
      * @param addresses optional array of addresses in a form of host[:port]
+     *                  or unix:/path/to/socket
      *
      * @throws IllegalArgumentException if addresses aren't provided
      */
@@ -71,7 +71,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
         Lock writeLock = addressListLock.writeLock();
         writeLock.lock();
         try {
-            InetSocketAddress lastAddress = getLastObtainedAddress();
+            SocketAddress lastAddress = getLastObtainedAddress();
             socketAddresses.clear();
             addresses.stream()
                 .map(this::parseAddress)
@@ -88,7 +88,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
     }
 
     /**
-     * Gets parsed and resolved internet addresses.
+     * Gets parsed and resolved addresses.
      *
      * @return socket addresses
      */
@@ -108,7 +108,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
      * @return last obtained address or <code>null</code>
      *     if {@link #currentPosition} has {@link #UNSET_POSITION} value
      */
-    protected InetSocketAddress getLastObtainedAddress() {
+    protected SocketAddress getLastObtainedAddress() {
         Lock readLock = addressListLock.readLock();
         readLock.lock();
         try {
@@ -144,7 +144,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
         }
 
         int retriesLimit = getRetriesLimit();
-        InetSocketAddress socketAddress = getNextSocketAddress();
+        SocketAddress socketAddress = getNextSocketAddress();
         IOException connectionError = null;
         for (int i = 0; i < retriesLimit; i++) {
             try {
@@ -190,7 +190,7 @@ public class RoundRobinSocketProviderImpl extends BaseSocketChannelProvider impl
      *
      * @return Socket address to use for the next reconnection attempt
      */
-    protected InetSocketAddress getNextSocketAddress() {
+    protected SocketAddress getNextSocketAddress() {
         Lock readLock = addressListLock.readLock();
         readLock.lock();
         try {
@@ -3,7 +3,6 @@ package org.tarantool;
 import org.tarantool.util.StringUtils;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.channels.SocketChannel;
 
@@ -13,7 +12,7 @@ import java.nio.channels.SocketChannel;
  */
 public class SingleSocketChannelProviderImpl extends BaseSocketChannelProvider {
 
-    private InetSocketAddress address;
+    private SocketAddress address;
 
     /**
      *  Creates a simple provider.
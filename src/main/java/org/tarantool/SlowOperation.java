@@ -0,0 +1,193 @@
+package org.tarantool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of an operation which took longer than the
+ * configured threshold.
+ * <p>
+ * The latency is split into phases which are measured on the
+ * client side only:
+ * <ul>
+ *     <li>queue wait - since the operation has been created until the
+ *     client started to send it (i.e. when a cluster client retries it);</li>
+ *     <li>write - encoding and passing the request to the socket or to the
+ *     shared buffer including the time spent waiting for free space;</li>
+ *     <li>server - since the request has been passed to the writer until the
+ *     response started arriving, it covers the writer batching delay, the network
+ *     round trip and the server processing;</li>
+ *     <li>decode - receiving the rest of the response, decoding and
+ *     completing the operation.</li>
+ * </ul>
+ * A phase is {@code -1} if it was not measured.
+ */
+public class SlowOperation {
+
+    private final long timestamp;
+    private final long syncId;
+    private final Code code;
+    private final Object space;
+    private final Object index;
+    private final String function;
+    private final String argumentsPreview;
+    private final long errorCode;
+    private final long queueWaitNanos;
+    private final long writeNanos;
+    private final long serverNanos;
+    private final long decodeNanos;
+    private final long totalNanos;
+
+    public SlowOperation(long timestamp,
+                         long syncId,
+                         Code code,
+                         Object space,
+                         Object index,
+                         String function,
+                         String argumentsPreview,
+                         long errorCode,
+                         long queueWaitNanos,
+                         long writeNanos,
+                         long serverNanos,
+                         long decodeNanos,
+                         long totalNanos) {
+        this.timestamp = timestamp;
+        this.syncId = syncId;
+        this.code = code;
+        this.space = space;
+        this.index = index;
+        this.function = function;
+        this.argumentsPreview = argumentsPreview;
+        this.errorCode = errorCode;
+        this.queueWaitNanos = queueWaitNanos;
+        this.writeNanos = writeNanos;
+        this.serverNanos = serverNanos;
+        this.decodeNanos = decodeNanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Gets a time when the operation was captured.
+     *
+     * @return time in millis since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getSyncId() {
+        return syncId;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * Gets a target space.
+     *
+     * @return space or {@code null} if the operation is not space-related
+     */
+    public Object getSpace() {
+        return space;
+    }
+
+    /**
+     * Gets a target index.
+     *
+     * @return index or {@code null} if the operation does not specify it
+     */
+    public Object getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets a called function name, an evaluated expression or
+     * an executed SQL text.
+     *
+     * @return function or {@code null} if it is a space operation
+     */
+    public String getFunction() {
+        return function;
+    }
+
+    /**
+     * Gets a size-limited string representation of the
+     * operation arguments except ones used by the fingerprint.
+     *
+     * @return arguments preview
+     */
+    public String getArgumentsPreview() {
+        return argumentsPreview;
+    }
+
+    /**
+     * Gets a response code.
+     *
+     * @return server error code or {@code 0} if the operation succeeded
+     */
+    public long getErrorCode() {
+        return errorCode;
+    }
+
+    public long getQueueWaitNanos() {
+        return queueWaitNanos;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public long getServerNanos() {
+        return serverNanos;
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets an argument independent identity of the request
+     * which can be used to group similar operations.
+     * For instance, {@code SELECT space=512 index=0},
+     * {@code CALL box.info} or {@code EXECUTE SELECT * FROM t WHERE id = ?}.
+     *
+     * @return request fingerprint
+     */
+    public String getFingerprint() {
+        StringBuilder fingerprint = new StringBuilder(code.name());
+        if (space != null) {
+            fingerprint.append(" space=").append(space);
+        }
+        if (index != null) {
+            fingerprint.append(" index=").append(index);
+        }
+        if (function != null) {
+            fingerprint.append(' ').append(function);
+        }
+        return fingerprint.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SlowOperation{" +
+            "fingerprint='" + getFingerprint() + '\'' +
+            ", syncId=" + syncId +
+            ", errorCode=" + errorCode +
+            ", total=" + toMicros(totalNanos) + "us" +
+            ", queueWait=" + toMicros(queueWaitNanos) + "us" +
+            ", write=" + toMicros(writeNanos) + "us" +
+            ", server=" + toMicros(serverNanos) + "us" +
+            ", decode=" + toMicros(decodeNanos) + "us" +
+            ", arguments=" + argumentsPreview +
+            '}';
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+}
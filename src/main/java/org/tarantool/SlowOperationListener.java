@@ -0,0 +1,13 @@
+package org.tarantool;
+
+/**
+ * Receives operations captured by {@link SlowOperationLog}.
+ * <p>
+ * The listener is invoked on the client's reader thread and
+ * should return quickly, otherwise it delays other responses.
+ */
+public interface SlowOperationListener {
+
+    void onSlowOperation(SlowOperation operation);
+
+}
@@ -0,0 +1,263 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ProtoUtils;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Captures operations which latency exceeds a threshold.
+ * <p>
+ * Only every n-th operation (by its sync id) is sampled, so the
+ * detector costs a couple of {@link System#nanoTime()} calls
+ * per sampled operation. Captured operations are stored in a
+ * bounded lock-free ring buffer which keeps the most recent
+ * entries and can be read using {@link #dump()}. Optionally,
+ * each capture is passed to a {@link SlowOperationListener}.
+ *
+ * @see TarantoolClientConfig#slowOperationThresholdMillis
+ */
+public class SlowOperationLog {
+
+    private static final String ELLIPSIS = "...";
+
+    private final long thresholdNanos;
+    private final int sampleInterval;
+    private final int previewLength;
+    private final SlowOperationListener listener;
+
+    private final AtomicReferenceArray<SlowOperation> ring;
+    private final int mask;
+    private final AtomicLong captured = new AtomicLong();
+
+    /**
+     * Creates a new log.
+     *
+     * @param thresholdMillis minimal latency of an operation to be captured
+     * @param sampleInterval  every n-th operation is sampled
+     * @param capacity        number of the latest operations to be kept,
+     *                        it is rounded up to a power of two
+     * @param previewLength   max length of arguments preview
+     * @param listener        optional listener of captured operations
+     */
+    public SlowOperationLog(long thresholdMillis,
+                            int sampleInterval,
+                            int capacity,
+                            int previewLength,
+                            SlowOperationListener listener) {
+        if (thresholdMillis < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval should be at least 1");
+        }
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity should be in range [1, 2^30]");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleInterval = sampleInterval;
+        this.previewLength = Math.max(0, previewLength);
+        this.listener = listener;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Decides whether an operation should be timed.
+     *
+     * @param syncId operation id
+     *
+     * @return {@code true} if the operation is sampled
+     */
+    public boolean isSampled(long syncId) {
+        return sampleInterval == 1 || syncId % sampleInterval == 0;
+    }
+
+    /**
+     * Checks whether a completed operation is slow and captures it.
+     *
+     * @param operation      completed operation
+     * @param frameStartTime time the response started arriving at
+     * @param errorCode      response code
+     */
+    void check(TarantoolClientImpl.TarantoolOp<?> operation, long frameStartTime, long errorCode) {
+        if (!isSampled(operation.getId())) {
+            return;
+        }
+        long now = System.nanoTime();
+        long total = now - operation.getStartTime();
+        if (total < thresholdNanos) {
+            return;
+        }
+        long writeStart = operation.getWriteStartTime();
+        long writeEnd = operation.getWriteEndTime();
+        boolean written = writeStart != 0 && writeEnd != 0;
+        capture(new SlowOperation(
+            System.currentTimeMillis(),
+            operation.getId(),
+            operation.getCode(),
+            ProtoUtils.findArgument(operation.getArgs(), Key.SPACE),
+            ProtoUtils.findArgument(operation.getArgs(), Key.INDEX),
+            findFunction(operation.getArgs()),
+            makePreview(operation.getArgs()),
+            errorCode,
+            written ? writeStart - operation.getStartTime() : -1,
+            written ? writeEnd - writeStart : -1,
+            written ? frameStartTime - writeEnd : -1,
+            now - frameStartTime,
+            total
+        ));
+    }
+
+    /**
+     * Stores an operation and notifies the listener.
+     *
+     * @param operation operation to be stored
+     */
+    public void capture(SlowOperation operation) {
+        long sequence = captured.getAndIncrement();
+        ring.set((int) (sequence & mask), operation);
+        if (listener != null) {
+            try {
+                listener.onSlowOperation(operation);
+            } catch (RuntimeException ignored) {
+                // no-op
+            }
+        }
+    }
+
+    /**
+     * Gets the latest captured operations.
+     * Entries which are concurrently being overwritten
+     * may be missing or out of order.
+     *
+     * @return captured operations from the oldest to the newest
+     */
+    public List<SlowOperation> dump() {
+        long end = captured.get();
+        long start = Math.max(0, end - ring.length());
+        List<SlowOperation> operations = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            SlowOperation operation = ring.get((int) (i & mask));
+            if (operation != null) {
+                operations.add(operation);
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Gets a total number of captured operations
+     * including ones which were evicted from the log.
+     *
+     * @return captured operations count
+     */
+    public long getCapturedCount() {
+        return captured.get();
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    private String findFunction(Object[] args) {
+        Object function = ProtoUtils.findArgument(args, Key.FUNCTION);
+        if (function == null) {
+            function = ProtoUtils.findArgument(args, Key.EXPRESSION);
+        }
+        if (function == null) {
+            function = ProtoUtils.findArgument(args, Key.SQL_TEXT);
+        }
+        return function == null ? null : function.toString();
+    }
+
+    private String makePreview(Object[] args) {
+        StringBuilder preview = new StringBuilder();
+        if (args != null) {
+            for (int i = 0; i < args.length - 1 && preview.length() <= previewLength; i += 2) {
+                Key key = (Key) args[i];
+                if (key == Key.SPACE || key == Key.INDEX || key == Key.FUNCTION ||
+                    key == Key.EXPRESSION || key == Key.SQL_TEXT) {
+                    continue;
+                }
+                if (preview.length() > 0) {
+                    preview.append(", ");
+                }
+                preview.append(key.name()).append('=');
+                appendValue(preview, args[i + 1]);
+            }
+        }
+        if (preview.length() > previewLength) {
+            preview.setLength(previewLength);
+            preview.append(ELLIPSIS);
+        }
+        return preview.toString();
+    }
+
+    private void appendValue(StringBuilder preview, Object value) {
+        if (preview.length() > previewLength) {
+            return;
+        }
+        if (value instanceof byte[]) {
+            preview.append('<').append(((byte[]) value).length).append(" bytes>");
+        } else if (value instanceof ByteBuffer) {
+            preview.append('<').append(((ByteBuffer) value).remaining()).append(" bytes>");
+        } else if (value instanceof Collection) {
+            preview.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (preview.length() > previewLength) {
+                    break;
+                }
+                if (!first) {
+                    preview.append(", ");
+                }
+                appendValue(preview, element);
+                first = false;
+            }
+            preview.append(']');
+        } else if (value != null && value.getClass().isArray()) {
+            preview.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length && preview.length() <= previewLength; i++) {
+                if (i > 0) {
+                    preview.append(", ");
+                }
+                appendValue(preview, Array.get(value, i));
+            }
+            preview.append(']');
+        } else if (value instanceof Map) {
+            preview.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (preview.length() > previewLength) {
+                    break;
+                }
+                if (!first) {
+                    preview.append(", ");
+                }
+                appendValue(preview, entry.getKey());
+                preview.append('=');
+                appendValue(preview, entry.getValue());
+                first = false;
+            }
+            preview.append('}');
+        } else {
+            String text = String.valueOf(value);
+            int available = previewLength - preview.length() + 1;
+            preview.append(text, 0, Math.min(text.length(), available));
+        }
+    }
+
+}
@@ -24,11 +24,11 @@ public abstract class SqlProtoUtils {
     }
 
     public static List<List<Object>> getSQLData(TarantoolPacket pack) {
-        return (List<List<Object>>) pack.getBody().get(Key.DATA.getId());
+        return (List<List<Object>>) pack.getBodyValue(Key.DATA);
     }
 
     public static List<SQLMetaData> getSQLMetadata(TarantoolPacket pack) {
-        List<Map<Integer, Object>> meta = (List<Map<Integer, Object>>) pack.getBody().get(Key.SQL_METADATA.getId());
+        List<Map<Integer, Object>> meta = (List<Map<Integer, Object>>) pack.getBodyValue(Key.SQL_METADATA);
         List<SQLMetaData> values = new ArrayList<>(meta.size());
         for (Map<Integer, Object> c : meta) {
             values.add(new SQLMetaData((String) c.get(Key.SQL_FIELD_NAME.getId())));
@@ -37,7 +37,7 @@ public abstract class SqlProtoUtils {
     }
 
     public static Long getSqlRowCount(TarantoolPacket pack) {
-        Map<Key, Object> info = (Map<Key, Object>) pack.getBody().get(Key.SQL_INFO.getId());
+        Map<Key, Object> info = (Map<Key, Object>) pack.getBodyValue(Key.SQL_INFO);
         Number rowCount;
         if (info != null && (rowCount = ((Number) info.get(Key.SQL_ROW_COUNT.getId()))) != null) {
             return rowCount.longValue();
@@ -0,0 +1,245 @@
+package org.tarantool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Binary value of a known size which is read from a channel
+ * while the request is being sent, so it does not have to be
+ * loaded into memory beforehand.
+ * <p>
+ * It can be passed as a tuple field or any other argument
+ * of a request. The client sends such request from its writer
+ * thread: a file is transferred straight to the socket, other
+ * channels are copied by chunks through the writer buffer.
+ * The channel is read once, it is neither rewound nor closed
+ * by the client and must not be used until the operation
+ * completes. If the channel ends before the given size,
+ * the connection is broken as the request cannot be finished.
+ * <p>
+ * A file region is read by its position, so it can be sent again,
+ * for instance, when a cluster client retries the operation after
+ * a reconnection. A value of another channel cannot: an operation
+ * which value has been read fails instead of being retried.
+ */
+public final class StreamedBinary {
+
+    private static final int COPY_CHUNK_SIZE = 8 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final long position;
+    private final int size;
+
+    /**
+     * Whether the channel has been read if it is not repeatable.
+     */
+    private volatile boolean consumed;
+
+    private StreamedBinary(ReadableByteChannel channel, long position, long size) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel must not be null");
+        }
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Size must be in range 0.." + Integer.MAX_VALUE);
+        }
+        this.channel = channel;
+        this.position = position;
+        this.size = (int) size;
+    }
+
+    /**
+     * Creates a value of the rest of a file
+     * starting from its current position.
+     *
+     * @param file source file
+     *
+     * @return new value
+     *
+     * @throws IOException if the file size cannot be obtained
+     */
+    public static StreamedBinary of(FileChannel file) throws IOException {
+        long position = file.position();
+        return new StreamedBinary(file, position, file.size() - position);
+    }
+
+    /**
+     * Creates a value of a region of a file. The file
+     * position is neither used nor changed.
+     *
+     * @param file     source file
+     * @param position position of the value in the file
+     * @param size     size of the value
+     *
+     * @return new value
+     */
+    public static StreamedBinary of(FileChannel file, long position, long size) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+        return new StreamedBinary(file, position, size);
+    }
+
+    /**
+     * Creates a value of the next {@code size} bytes of a channel.
+     *
+     * @param channel source channel
+     * @param size    size of the value
+     *
+     * @return new value
+     */
+    public static StreamedBinary of(ReadableByteChannel channel, long size) {
+        return new StreamedBinary(channel, -1, size);
+    }
+
+    /**
+     * Creates a value of the next {@code size} bytes of a stream.
+     *
+     * @param stream source stream
+     * @param size   size of the value
+     *
+     * @return new value
+     */
+    public static StreamedBinary of(InputStream stream, long size) {
+        return new StreamedBinary(Channels.newChannel(stream), -1, size);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks whether the value can be sent more than once,
+     * that is whether it is a file region.
+     *
+     * @return {@code true} if the value is read by a file position
+     */
+    public boolean isRepeatable() {
+        return channel instanceof FileChannel && position >= 0;
+    }
+
+    /**
+     * Checks whether the value cannot be sent anymore
+     * as its channel has been read.
+     *
+     * @return {@code true} if the value is not repeatable and has been read
+     */
+    public boolean isConsumed() {
+        return consumed;
+    }
+
+    /**
+     * Checks whether the values contain a consumed value
+     * at any nesting level of lists, arrays and maps.
+     *
+     * @param values values to be checked
+     *
+     * @return {@code true} if a consumed value is found
+     */
+    static boolean containsConsumed(Object[] values) {
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(values);
+        while (!pending.isEmpty()) {
+            Object value = pending.pop();
+            if (value instanceof StreamedBinary) {
+                if (((StreamedBinary) value).isConsumed()) {
+                    return true;
+                }
+            } else if (value instanceof Object[]) {
+                for (Object element : (Object[]) value) {
+                    if (element != null) {
+                        pending.push(element);
+                    }
+                }
+            } else if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    if (element != null) {
+                        pending.push(element);
+                    }
+                }
+            } else if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (entry.getKey() != null) {
+                        pending.push(entry.getKey());
+                    }
+                    if (entry.getValue() != null) {
+                        pending.push(entry.getValue());
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the value to a channel. A file is transferred
+     * by the means of the OS if it is possible.
+     *
+     * @param target channel to be written
+     * @param chunk  buffer to copy through a non-file channel
+     *
+     * @throws IOException if the value cannot be read or written
+     */
+    public void transferTo(WritableByteChannel target, ByteBuffer chunk) throws IOException {
+        if (isRepeatable()) {
+            transferFile((FileChannel) channel, target);
+            return;
+        }
+        consumed = true;
+        long left = size;
+        while (left > 0) {
+            chunk.clear();
+            if (chunk.remaining() > left) {
+                chunk.limit((int) left);
+            }
+            int read = channel.read(chunk);
+            if (read < 0) {
+                throw new EOFException("Channel ended " + left + " bytes before the size of " + size);
+            }
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                target.write(chunk);
+            }
+            left -= read;
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Writes the value to a channel using a temporary buffer.
+     *
+     * @param target channel to be written
+     *
+     * @throws IOException if the value cannot be read or written
+     */
+    public void transferTo(WritableByteChannel target) throws IOException {
+        transferTo(target, ByteBuffer.allocate(Math.max(1, Math.min(size, COPY_CHUNK_SIZE))));
+    }
+
+    private void transferFile(FileChannel file, WritableByteChannel target) throws IOException {
+        long offset = position;
+        long end = position + size;
+        while (offset < end) {
+            long transferred = file.transferTo(offset, end - offset, target);
+            if (transferred == 0 && offset >= file.size()) {
+                throw new EOFException("File ended " + (end - offset) + " bytes before the size of " + size);
+            }
+            offset += transferred;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamedBinary{size=" + size + "}";
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.tarantool;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded cache of decoded strings keyed by their UTF-8 bytes.
+ * <p>
+ * Responses repeat the same short strings over and over: SQL column
+ * names, field names, enum-like values. The cache returns the same
+ * {@code String} instance for the same bytes instead of allocating
+ * a new one each time. It is a direct-mapped table, so a lookup is
+ * a hash over the bytes computed while they are scanned and a single
+ * comparison; a colliding string simply replaces the cached one.
+ * Strings longer than the max length are not cached.
+ * <p>
+ * The cache is safe to be shared between threads.
+ *
+ * @see TarantoolClientConfig#stringCacheSize
+ */
+public class StringCache {
+
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final Entry[] entries;
+    private final int mask;
+    private final int maxLength;
+    private final ThreadLocal<byte[]> scratch;
+
+    /**
+     * Creates a cache of strings up to {@link #DEFAULT_MAX_LENGTH} bytes.
+     *
+     * @param capacity max number of the cached strings,
+     *                 it is rounded up to a power of two
+     */
+    public StringCache(int capacity) {
+        this(capacity, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity  max number of the cached strings,
+     *                  it is rounded up to a power of two
+     * @param maxLength max length of a cached string in bytes
+     */
+    public StringCache(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be in range (0, 2^30]");
+        }
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("Max length must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+        this.scratch = ThreadLocal.withInitial(() -> new byte[maxLength]);
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Gets a string for UTF-8 bytes.
+     *
+     * @param bytes  source array
+     * @param offset offset of the string bytes
+     * @param length length of the string in bytes
+     *
+     * @return cached or decoded string
+     */
+    public String get(byte[] bytes, int offset, int length) {
+        if (length > maxLength) {
+            return decode(bytes, offset, length);
+        }
+        int hash = 0;
+        int high = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            hash = 31 * hash + b;
+            high |= b;
+        }
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Entry entry = entries[index];
+        if (entry != null && entry.hash == hash && entry.matches(bytes, offset, length)) {
+            return entry.value;
+        }
+        String value = high < 0
+            ? new String(bytes, offset, length, StandardCharsets.UTF_8)
+            : new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        byte[] key = new byte[length];
+        System.arraycopy(bytes, offset, key, 0, length);
+        entries[index] = new Entry(key, hash, value);
+        return value;
+    }
+
+    /**
+     * Reads a string of the given length.
+     *
+     * @param in     source input
+     * @param length length of the string in bytes
+     *
+     * @return cached or decoded string
+     *
+     * @throws IOException if the string cannot be read
+     */
+    public String read(DataInput in, int length) throws IOException {
+        byte[] bytes = length > maxLength ? new byte[length] : scratch.get();
+        in.readFully(bytes, 0, length);
+        return get(bytes, 0, length);
+    }
+
+    /**
+     * Decodes UTF-8 bytes taking a shortcut for pure ASCII strings.
+     *
+     * @param bytes  source array
+     * @param offset offset of the string bytes
+     * @param length length of the string in bytes
+     *
+     * @return decoded string
+     */
+    public static String decode(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Cached string. Entries are immutable, so they
+     * are safely published through the table.
+     */
+    private static final class Entry {
+
+        private final byte[] bytes;
+        private final int hash;
+        private final String value;
+
+        private Entry(byte[] bytes, int hash, String value) {
+            this.bytes = bytes;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        private boolean matches(byte[] source, int offset, int length) {
+            if (bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != source[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
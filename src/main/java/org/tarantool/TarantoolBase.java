@@ -1,5 +1,6 @@
 package org.tarantool;
 
+import org.tarantool.protocol.PacketBufferPool;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.TarantoolGreeting;
 
@@ -14,6 +15,9 @@ public abstract class TarantoolBase<Result> extends AbstractTarantoolOps<Integer
     protected MsgPackLite msgPackLite = MsgPackLite.INSTANCE;
     protected AtomicLong syncId = new AtomicLong();
     protected int initialRequestSize = 4096;
+    protected PacketBufferPool bufferPool = new PacketBufferPool(
+        initialRequestSize, TarantoolClientConfig.DEFAULT_MAX_RETAINED_REQUEST_SIZE
+    );
 
     public TarantoolBase() {
     }
@@ -54,6 +58,11 @@ public abstract class TarantoolBase<Result> extends AbstractTarantoolOps<Integer
 
     public void setInitialRequestSize(int initialRequestSize) {
         this.initialRequestSize = initialRequestSize;
+        this.bufferPool = new PacketBufferPool(
+            initialRequestSize,
+            Math.max(initialRequestSize, bufferPool.getMaxRetainedSize()),
+            bufferPool.getReferenceThreshold()
+        );
     }
 
     public String getServerVersion() {
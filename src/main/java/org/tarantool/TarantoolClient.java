@@ -1,10 +1,12 @@
 package org.tarantool;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public interface TarantoolClient {
     TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps();
@@ -15,6 +17,68 @@ public interface TarantoolClient {
 
     TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps();
 
+    /**
+     * Gets operations which pass each element of a response data
+     * (a tuple or a value returned by a function) to the consumer
+     * as soon as it is decoded. Large responses are decoded as they
+     * arrive, so they are never materialized as a whole.
+     * <p>
+     * The consumer is called by the client's reader thread, so it
+     * should not block. The operations result in a number of the
+     * consumed elements.
+     *
+     * @param consumer consumer of the response elements
+     *
+     * @return streaming operations
+     */
+    TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(Consumer<Object> consumer);
+
+    /**
+     * Gets operations which results are decoded by the reader
+     * directly from the response bytes, so no intermediate
+     * collections are built.
+     *
+     * @param reader reader of the response data
+     * @param <T>    result type
+     *
+     * @return operations using the reader
+     */
+    <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<T>> readingOps(ResultReader<T> reader);
+
+    /**
+     * Gets operations which decode result tuples into domain
+     * objects and encode the objects being stored using the codec.
+     *
+     * @param codec tuple codec
+     * @param <T>   domain type
+     *
+     * @return typed operations
+     */
+    <T> TarantoolTypedOps<T> typedOps(TupleCodec<T> codec);
+
+    /**
+     * Gets operations which results are not decoded at all. The
+     * futures complete with a read-only buffer holding the encoded
+     * response data (an array of tuples) or the whole response body
+     * map. Tuples and keys may be passed as {@link RawMsgPack}, so
+     * the responses can be forwarded without transcoding.
+     *
+     * @param wholeBody whether to return the body instead of the data
+     *
+     * @return raw operations
+     */
+    TarantoolClientOps<Integer, Object, Object, CompletionStage<ByteBuffer>> rawOps(boolean wholeBody);
+
+    /**
+     * Gets operations which results are transcoded from the response
+     * bytes to UTF-8 encoded JSON arrays of tuples without decoding.
+     *
+     * @return JSON operations
+     *
+     * @see MsgPackJson
+     */
+    TarantoolClientOps<Integer, Object, Object, CompletionStage<byte[]>> jsonOps();
+
     TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps();
 
     TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps();
@@ -1,8 +1,14 @@
 package org.tarantool;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 public class TarantoolClientConfig {
 
     public static final int DEFAULT_OPERATION_EXPIRY_TIME_MILLIS = 1000;
+    public static final int DEFAULT_MAX_RETAINED_REQUEST_SIZE = 64 * 1024;
 
     /**
      * Auth-related data.
@@ -15,6 +21,15 @@ public class TarantoolClientConfig {
      */
     public int defaultRequestSize = 4096;
 
+    /**
+     * Max capacity of a request encoding buffer which is kept
+     * by a thread for the next requests. Buffers grown by larger
+     * requests are dropped after use.
+     *
+     * @see org.tarantool.protocol.PacketBufferPool
+     */
+    public int maxRetainedRequestSize = DEFAULT_MAX_RETAINED_REQUEST_SIZE;
+
     /**
      * Initial capacity for the map which holds futures of sent request.
      */
@@ -38,6 +53,15 @@ public class TarantoolClientConfig {
      */
     public double directWriteFactor = 0.5d;
 
+    /**
+     * Min size of a {@code byte[]} or {@link java.nio.ByteBuffer} argument
+     * which is not copied into the request but sent straight from the
+     * argument by a gathering write. Such request is written directly
+     * and the argument must not be changed until the request is issued.
+     * {@code 0} disables the gathering writes.
+     */
+    public int gatheringWriteThreshold = 256 * 1024;
+
     /**
      * Write operation timeout.
      */
@@ -76,4 +100,159 @@ public class TarantoolClientConfig {
      */
     public int operationExpiryTimeMillis = DEFAULT_OPERATION_EXPIRY_TIME_MILLIS;
 
+    /**
+     * Operations which take longer are captured by
+     * the client's {@link SlowOperationLog}.
+     * {@code 0} disables the detector.
+     */
+    public long slowOperationThresholdMillis = 0;
+
+    /**
+     * Only every n-th operation is checked by
+     * the slow operation detector.
+     */
+    public int slowOperationSampleInterval = 1;
+
+    /**
+     * Number of the latest slow operations to be kept.
+     */
+    public int slowOperationLogSize = 256;
+
+    /**
+     * Max length of an arguments preview of a slow operation.
+     */
+    public int slowOperationPreviewLength = 256;
+
+    /**
+     * Optional listener of slow operations.
+     */
+    public SlowOperationListener slowOperationListener;
+
+    /**
+     * Optional listener of failed fire-and-forget requests.
+     * Responses to such requests are not decoded unless
+     * this listener is set and the response is an error.
+     */
+    public FireAndForgetErrorListener fireAndForgetErrorListener;
+
+    /**
+     * Responses of this size or larger are read from the socket
+     * by chunks and decoded as the chunks arrive instead of being
+     * buffered as a whole.
+     *
+     * @see TarantoolClient#streamingOps(java.util.function.Consumer)
+     */
+    public int streamingFrameThreshold = 1024 * 1024;
+
+    /**
+     * Max size of a response which is buffered as a whole.
+     * An operation which response exceeds the limit fails
+     * while the response is skipped. Responses to streaming
+     * operations are not limited. {@code 0} means no limit.
+     */
+    public int maxFrameSize = 0;
+
+    /**
+     * Responses of this size or larger are decoded and complete their
+     * operations on the decoding executor, so the reader thread does
+     * only the framing and a large response does not delay the smaller
+     * ones behind it. Responses to streaming operations are always
+     * decoded by the reader thread. {@code 0} disables it.
+     */
+    public int decodingThreshold = 0;
+
+    /**
+     * Executor decoding the responses of {@link #decodingThreshold} size
+     * or larger. {@code null} means the common fork-join pool.
+     */
+    public Executor decodingExecutor;
+
+    /**
+     * Number of the tuples decoded by a single task when an array
+     * of a response of {@link #decodingThreshold} size or larger is split
+     * into chunks decoded in parallel. {@code 0} disables the splitting.
+     */
+    public int decodingChunkSize = 0;
+
+    /**
+     * Max nesting depth of arrays and maps in a response.
+     * A response which exceeds the limit fails its operation.
+     */
+    public int maxDecodingDepth = MsgPackLite.DEFAULT_MAX_DEPTH;
+
+    /**
+     * Max number of elements of an array or entries of a map
+     * in a response. A response which exceeds the limit fails
+     * its operation.
+     */
+    public int maxCollectionSize = MsgPackLite.DEFAULT_MAX_COLLECTION_SIZE;
+
+    /**
+     * Return tuples as {@link TupleView}s which decode their
+     * fields on demand from the response buffer instead of
+     * decoding whole responses. Does not affect SQL results.
+     */
+    public boolean useTupleViews = false;
+
+    /**
+     * Max total size of the off-heap buffers kept for reuse by the
+     * responses. If it is positive, responses are read into pooled
+     * direct buffers instead of heap arrays. It is meant for tuple
+     * views, JSON and raw results which do not build the tuples on
+     * the heap; tuple views keep their frame until they are closed.
+     * {@code 0} disables the pool.
+     *
+     * @see org.tarantool.protocol.FrameBufferPool
+     * @see TupleView#close()
+     */
+    public long frameBufferPoolSize = 0;
+
+    /**
+     * Optional listener of the pooled frames which have been garbage
+     * collected without being released, for instance tuple views which
+     * have not been closed. It receives an exception pointing to where
+     * the frame has been read. Setting it enables the leak detection
+     * which is costly, so it is meant for debugging.
+     */
+    public Consumer<Throwable> frameLeakListener;
+
+    /**
+     * Codecs which decode tuples of the spaces by their ids.
+     * Results of the space operations (select, insert, etc.)
+     * on these spaces are lists of the decoded objects.
+     *
+     * @see TarantoolClient#typedOps(TupleCodec)
+     */
+    public Map<Integer, TupleCodec<?>> tupleCodecs = new HashMap<>();
+
+    /**
+     * Max number of distinct short strings (SQL column names,
+     * enum-like values, etc.) which are decoded once and then
+     * reused. {@code 0} disables the cache.
+     *
+     * @see StringCache
+     */
+    public int stringCacheSize = 0;
+
+    /**
+     * Whether the JDBC driver sends {@link java.sql.Timestamp} and
+     * {@link java.math.BigDecimal} parameters as datetime and decimal
+     * extension values instead of epoch milliseconds and strings.
+     * It requires Tarantool 2.10 or newer. The extension values are
+     * always decoded, and the core client always encodes decimals,
+     * UUIDs and {@code java.time} instants as extensions.
+     *
+     * @see MsgPackExtensions
+     */
+    public boolean useExtensionTypes = false;
+
+    /**
+     * Factory of the MsgPack codec which encodes the requests and
+     * decodes the responses. The JDBC driver always uses the built-in
+     * codec as it encodes the SQL types on its own.
+     *
+     * @see MsgPackCodecFactory
+     */
+    public MsgPackCodecFactory msgPackCodecFactory = MsgPackCodecFactory.DEFAULT;
+
 }
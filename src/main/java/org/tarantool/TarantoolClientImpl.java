@@ -1,22 +1,37 @@
 package org.tarantool;
 
+import org.tarantool.jfr.FrameReadEvent;
+import org.tarantool.jfr.ReconnectEvent;
+import org.tarantool.jfr.TarantoolEvents;
+import org.tarantool.jfr.WriterFlushEvent;
+import org.tarantool.protocol.FrameBufferPool;
+import org.tarantool.protocol.FrameInputStream;
+import org.tarantool.protocol.PacketBuffer;
+import org.tarantool.protocol.PacketBufferPool;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.ReadableViaSelectorChannel;
 import org.tarantool.protocol.TarantoolGreeting;
 import org.tarantool.protocol.TarantoolPacket;
 
 import java.io.IOException;
+import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +40,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements TarantoolClient {
 
@@ -57,6 +73,12 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected ByteBuffer writerBuffer;
     protected ReentrantLock writeLock = new ReentrantLock(true);
 
+    /**
+     * Requests with streamed values which are sent by the writer
+     * thread between the flushes of the shared buffer.
+     */
+    protected Queue<PacketBuffer> streamedPackets = new ArrayDeque<>();
+
     /**
      * Interfaces.
      */
@@ -68,6 +90,9 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
      * Inner.
      */
     protected TarantoolClientStats stats;
+    protected SlowOperationLog slowOperationLog;
+    protected FrameBufferPool frameBufferPool;
+    protected ResultReader<List<Object>> tupleViewReader = reader -> TupleView.readList(reader, msgPackLite);
     protected StateHelper state = new StateHelper(StateHelper.RECONNECT);
     protected Thread reader;
     protected Thread writer;
@@ -104,9 +129,36 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         this.thumbstone = NOT_INIT_EXCEPTION;
         this.config = config;
         this.initialRequestSize = config.defaultRequestSize;
+        this.bufferPool = new PacketBufferPool(
+            config.defaultRequestSize,
+            Math.max(config.defaultRequestSize, config.maxRetainedRequestSize),
+            config.gatheringWriteThreshold
+        );
         this.operationTimeout = config.operationExpiryTimeMillis;
         this.socketProvider = socketProvider;
         this.stats = new TarantoolClientStats();
+        if (config.stringCacheSize > 0 ||
+            config.maxDecodingDepth != MsgPackLite.DEFAULT_MAX_DEPTH ||
+            config.maxCollectionSize != MsgPackLite.DEFAULT_MAX_COLLECTION_SIZE ||
+            config.msgPackCodecFactory != MsgPackCodecFactory.DEFAULT) {
+            this.msgPackLite = config.msgPackCodecFactory.create(
+                config.stringCacheSize > 0 ? new StringCache(config.stringCacheSize) : null,
+                config.maxDecodingDepth,
+                config.maxCollectionSize
+            );
+        }
+        if (config.slowOperationThresholdMillis > 0) {
+            this.slowOperationLog = new SlowOperationLog(
+                config.slowOperationThresholdMillis,
+                config.slowOperationSampleInterval,
+                config.slowOperationLogSize,
+                config.slowOperationPreviewLength,
+                config.slowOperationListener
+            );
+        }
+        if (config.frameBufferPoolSize > 0) {
+            this.frameBufferPool = new FrameBufferPool(config.frameBufferPoolSize, config.frameLeakListener);
+        }
         this.futures = new ConcurrentHashMap<>(config.predictedFutures);
         this.sharedBuffer = ByteBuffer.allocateDirect(config.sharedBufferSize);
         this.writerBuffer = ByteBuffer.allocateDirect(sharedBuffer.capacity());
@@ -143,31 +195,38 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     }
 
     protected void reconnect(Throwable lastError) {
+        ReconnectEvent reconnectEvent = TarantoolEvents.beginReconnect(lastError);
+        SocketAddress connectedAddress = null;
         SocketChannel channel = null;
         int retryNumber = 0;
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                channel = socketProvider.get(retryNumber++, lastError == NOT_INIT_EXCEPTION ? null : lastError);
-            } catch (Exception e) {
-                closeChannel(channel);
-                lastError = e;
-                if (!(e instanceof SocketProviderTransientException)) {
-                    close(e);
-                    return;
-                }
-            }
-            try {
-                if (channel != null) {
-                    connect(channel);
-                    return;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    channel = socketProvider.get(retryNumber++, lastError == NOT_INIT_EXCEPTION ? null : lastError);
+                } catch (Exception e) {
+                    closeChannel(channel);
+                    lastError = e;
+                    if (!(e instanceof SocketProviderTransientException)) {
+                        close(e);
+                        return;
+                    }
                 }
-            } catch (Exception e) {
-                closeChannel(channel);
-                lastError = e;
-                if (e instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
+                try {
+                    if (channel != null) {
+                        connect(channel);
+                        connectedAddress = channel.getRemoteAddress();
+                        return;
+                    }
+                } catch (Exception e) {
+                    closeChannel(channel);
+                    lastError = e;
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
                 }
             }
+        } finally {
+            TarantoolEvents.commitReconnect(reconnectEvent, retryNumber, connectedAddress);
         }
     }
 
@@ -187,11 +246,12 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         bufferLock.lock();
         try {
             sharedBuffer.clear();
+            streamedPackets.clear();
         } finally {
             bufferLock.unlock();
         }
         this.thumbstone = null;
-        startThreads(channel.socket().getRemoteSocketAddress().toString());
+        startThreads(String.valueOf(channel.getRemoteAddress()));
     }
 
     protected void startThreads(String threadName) throws InterruptedException {
@@ -268,12 +328,38 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return doExec(timeoutMillis, code, args);
     }
 
+    @Override
+    protected Future<?> exec(PreparedOperation operation, Object value) {
+        return doExec(operationTimeout, operation, value);
+    }
+
     protected TarantoolOp<?> doExec(long timeoutMillis, Code code, Object[] args) {
         validateArgs(args);
         long sid = syncId.incrementAndGet();
 
         TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, code, args);
+        return registerOperation(future);
+    }
 
+    protected TarantoolOp<?> doExec(long timeoutMillis, PreparedOperation operation, Object value) {
+        if (value == null) {
+            throw new NullPointerException(operation.getVariableKey().name() + " should not be null");
+        }
+        long sid = syncId.incrementAndGet();
+
+        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, operation, value);
+        return registerOperation(future);
+    }
+
+    /**
+     * Registers a new operation as pending and sends it.
+     *
+     * @param future operation to be performed
+     *
+     * @return registered operation
+     */
+    protected TarantoolOp<?> registerOperation(TarantoolOp<?> future) {
+        long sid = future.getId();
         if (isDead(future)) {
             return future;
         }
@@ -283,7 +369,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             return future;
         }
         try {
-            write(code, sid, null, args);
+            write(future);
         } catch (Exception e) {
             futures.remove(sid);
             fail(future, e);
@@ -296,6 +382,14 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
+    protected TarantoolOp<?> makeNewOperation(long timeoutMillis,
+                                              long sid,
+                                              PreparedOperation operation,
+                                              Object value) {
+        return new TarantoolOp<>(sid, operation, value)
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
     protected synchronized void die(String message, Exception cause) {
         if (thumbstone != null) {
             return;
@@ -318,6 +412,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         bufferLock.lock();
         try {
             sharedBuffer.clear();
+            streamedPackets.clear();
             bufferEmpty.signalAll();
         } finally {
             bufferLock.unlock();
@@ -329,15 +424,67 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         syncGet(exec(Code.PING));
     }
 
+    /**
+     * Sends a registered operation.
+     * Sampled operations are timed for the slow operation log.
+     *
+     * @param operation operation to be sent
+     *
+     * @throws Exception if the operation cannot be written
+     */
+    protected void write(TarantoolOp<?> operation) throws Exception {
+        boolean timed = slowOperationLog != null && slowOperationLog.isSampled(operation.getId());
+        if (timed) {
+            operation.setWriteStartTime(System.nanoTime());
+        }
+        if (operation.getPreparedOperation() != null) {
+            write(operation.getPreparedOperation(), operation.getId(), operation.getValue());
+        } else {
+            write(operation.getCode(), operation.getId(), null, operation.getArgs());
+        }
+        if (timed) {
+            operation.setWriteEndTime(System.nanoTime());
+        }
+    }
+
     protected void write(Code code, Long syncId, Long schemaId, Object... args)
         throws Exception {
-        ByteBuffer buffer = ProtoUtils.createPacket(msgPackLite, code, syncId, schemaId, args);
-
-        if (directWrite(buffer)) {
-            return;
+        PacketBuffer packet = bufferPool.acquire(code, 0);
+        try {
+            ByteBuffer buffer = ProtoUtils.createPacket(packet, msgPackLite, code, syncId, schemaId, args);
+            int size = packet.getPacketSize();
+
+            if (packet.hasStreams()) {
+                streamedWrite(packet.copy());
+            } else if (packet.hasReferences()) {
+                gatheringWrite(packet.toByteBuffers(), size);
+            } else if (!directWrite(buffer)) {
+                sharedWrite(buffer);
+            }
+            TarantoolEvents.operationIssued(syncId, code, args, size);
+        } finally {
+            bufferPool.release(code, packet);
         }
-        sharedWrite(buffer);
+    }
 
+    protected void write(PreparedOperation operation, long syncId, Object value) throws Exception {
+        int sizeHint = ProtoUtils.LENGTH_OF_SIZE_MESSAGE + operation.getEstimatedSize();
+        PacketBuffer packet = bufferPool.acquire(operation.getCode(), sizeHint);
+        try {
+            ByteBuffer buffer = ProtoUtils.createPacket(packet, msgPackLite, operation, syncId, value);
+            int size = packet.getPacketSize();
+
+            if (packet.hasStreams()) {
+                streamedWrite(packet.copy());
+            } else if (packet.hasReferences()) {
+                gatheringWrite(packet.toByteBuffers(), size);
+            } else if (!directWrite(buffer)) {
+                sharedWrite(buffer);
+            }
+            TarantoolEvents.operationIssued(syncId, operation.getCode(), operation.constantArgs(), size);
+        } finally {
+            bufferPool.release(operation.getCode(), packet);
+        }
     }
 
     protected void sharedWrite(ByteBuffer buffer) throws InterruptedException, TimeoutException {
@@ -382,46 +529,125 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    /**
+     * Queues a request with streamed values for the writer
+     * thread, so the caller does not wait for the transfer.
+     *
+     * @param packet detached packet
+     */
+    protected void streamedWrite(PacketBuffer packet) throws InterruptedException, TimeoutException {
+        if (!bufferLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            stats.sharedWriteLockTimeouts++;
+            throw new TimeoutException(
+                config.writeTimeoutMillis +
+                    "ms is exceeded while waiting for shared buffer lock. " +
+                    "You could configure write timeout in TarantoolConfig"
+            );
+        }
+        try {
+            streamedPackets.add(packet);
+            pendingResponsesCount.incrementAndGet();
+            bufferNotEmpty.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
     private boolean directWrite(ByteBuffer buffer) throws InterruptedException, IOException, TimeoutException {
         if (sharedBuffer.capacity() * config.directWriteFactor <= buffer.limit()) {
-            if (writeLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
-                try {
-                    int rem = buffer.remaining();
-                    stats.directMaxPacketSize = Math.max(stats.directMaxPacketSize, rem);
-                    if (rem > initialRequestSize) {
-                        stats.directPacketSizeGrowth++;
-                    }
-                    writeFully(channel, buffer);
-                    stats.directWrite++;
-                    pendingResponsesCount.incrementAndGet();
-                } finally {
-                    writeLock.unlock();
+            int rem = buffer.remaining();
+            acquireWriteLock();
+            try {
+                stats.directMaxPacketSize = Math.max(stats.directMaxPacketSize, rem);
+                if (rem > initialRequestSize) {
+                    stats.directPacketSizeGrowth++;
                 }
-                return true;
-            } else {
-                stats.directWriteLockTimeouts++;
-                throw new TimeoutException(
-                    config.writeTimeoutMillis +
-                        "ms is exceeded while waiting for channel lock. " +
-                        "You could configure write timeout in TarantoolConfig"
-                );
+                WriterFlushEvent flushEvent = TarantoolEvents.beginWriterFlush();
+                writeFully(channel, buffer);
+                TarantoolEvents.commitWriterFlush(flushEvent, rem, true);
+                stats.directWrite++;
+                pendingResponsesCount.incrementAndGet();
+            } finally {
+                writeLock.unlock();
             }
+            return true;
         }
         return false;
     }
 
+    /**
+     * Writes a packet which references payloads of the caller
+     * directly, so the payloads are not copied by the client.
+     *
+     * @param buffers packet segments
+     * @param size    packet size
+     */
+    private void gatheringWrite(ByteBuffer[] buffers, int size)
+        throws InterruptedException, IOException, TimeoutException {
+        acquireWriteLock();
+        try {
+            stats.directMaxPacketSize = Math.max(stats.directMaxPacketSize, size);
+            WriterFlushEvent flushEvent = TarantoolEvents.beginWriterFlush();
+            writeFully(channel, buffers);
+            TarantoolEvents.commitWriterFlush(flushEvent, size, true);
+            stats.directWrite++;
+            stats.gatheringWrite++;
+            pendingResponsesCount.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void acquireWriteLock() throws InterruptedException, TimeoutException {
+        if (!writeLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            stats.directWriteLockTimeouts++;
+            throw new TimeoutException(
+                config.writeTimeoutMillis +
+                    "ms is exceeded while waiting for channel lock. " +
+                    "You could configure write timeout in TarantoolConfig"
+            );
+        }
+    }
+
     protected void readThread() {
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                TarantoolPacket packet = ProtoUtils.readPacket(readChannel, msgPackLite);
-
-                Map<Integer, Object> headers = packet.getHeaders();
-
-                Long syncId = (Long) headers.get(Key.SYNC.getId());
-                TarantoolOp<?> future = futures.remove(syncId);
+                int size = ProtoUtils.readPacketSize(readChannel, msgPackLite);
+                final long frameStartTime = slowOperationLog != null ? System.nanoTime() : 0;
+                final FrameReadEvent frameEvent = TarantoolEvents.beginFrameRead();
+                Long syncId;
+                TarantoolPacket packet;
+                TarantoolOp<?> future;
+                if (size < config.streamingFrameThreshold && !isOversized(size)) {
+                    packet = ProtoUtils.readPacket(readChannel, size, msgPackLite, frameBufferPool);
+                    syncId = packet.getSync();
+                    future = futures.remove(syncId);
+                } else {
+                    FrameInputStream frame = new FrameInputStream(
+                        readChannel, size, FrameInputStream.DEFAULT_CHUNK_SIZE
+                    );
+                    Map<Integer, Object> headers = ProtoUtils.readHeaders(frame, msgPackLite);
+                    syncId = (Long) headers.get(Key.SYNC.getId());
+                    future = futures.remove(syncId);
+                    packet = readLargePacket(frame, headers, future);
+                }
                 stats.received++;
                 pendingResponsesCount.decrementAndGet();
-                complete(packet, future);
+                if (packet == null) {
+                    TarantoolEvents.commitFrameRead(frameEvent, syncId, size);
+                    continue;
+                }
+                if (isDecodedAsync(future, size) && completeAsync(packet, future, size, frameStartTime)) {
+                    TarantoolEvents.commitFrameRead(frameEvent, syncId, size);
+                    continue;
+                }
+                try {
+                    complete(packet, future);
+                } finally {
+                    packet.release();
+                }
+                TarantoolEvents.commitFrameRead(frameEvent, syncId, size);
+                onCompleted(packet, future, size, frameStartTime);
             } catch (Exception e) {
                 die("Cant read answer", e);
                 return;
@@ -429,31 +655,155 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    /**
+     * Checks whether a response is large enough to be completed
+     * by the decoding executor instead of the reader thread.
+     *
+     * @param future operation the response is addressed to
+     * @param size   response size
+     *
+     * @return whether the response is decoded asynchronously
+     *
+     * @see TarantoolClientConfig#decodingThreshold
+     */
+    protected boolean isDecodedAsync(TarantoolOp<?> future, int size) {
+        return future != null &&
+            future.getConsumer() == null &&
+            config.decodingThreshold > 0 &&
+            size >= config.decodingThreshold;
+    }
+
+    /**
+     * Passes a response to the decoding executor, so the reader
+     * thread proceeds to the next response. A failure to decode
+     * the response fails its operation only as the response has
+     * been already read as a whole.
+     *
+     * @param packet         response
+     * @param future         operation to be completed
+     * @param size           response size
+     * @param frameStartTime time the response has started to be read
+     *
+     * @return {@code false} if the executor has rejected the task
+     */
+    protected boolean completeAsync(TarantoolPacket packet, TarantoolOp<?> future, int size, long frameStartTime) {
+        Executor executor = config.decodingExecutor != null ? config.decodingExecutor : ForkJoinPool.commonPool();
+        try {
+            executor.execute(() -> {
+                try {
+                    try {
+                        complete(packet, future);
+                    } finally {
+                        packet.release();
+                    }
+                    onCompleted(packet, future, size, frameStartTime);
+                } catch (RuntimeException e) {
+                    fail(future, e);
+                }
+            });
+            stats.decodedAsync++;
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void onCompleted(TarantoolPacket packet, TarantoolOp<?> future, int size, long frameStartTime) {
+        if (future != null && slowOperationLog != null) {
+            slowOperationLog.check(future, frameStartTime, packet.getCode());
+        }
+        if (future != null) {
+            TarantoolEvents.operationCompleted(
+                future.getId(), future.getCode(), future.getUnboundArgs(),
+                size, future.getStartTime(), packet.getCode()
+            );
+        }
+    }
+
+    /**
+     * Reads a packet which is too large to be read at once.
+     * Responses to streaming operations are decoded as they arrive,
+     * oversized responses are skipped and fail their operations.
+     *
+     * @param frame   packet stream
+     * @param headers already read headers
+     * @param future  operation the packet is addressed to
+     *
+     * @return read packet or {@code null} if the packet is skipped
+     *
+     * @throws IOException if the packet cannot be read
+     */
+    protected TarantoolPacket readLargePacket(FrameInputStream frame,
+                                              Map<Integer, Object> headers,
+                                              TarantoolOp<?> future) throws IOException {
+        if (future != null && future.getConsumer() != null) {
+            stats.streamed++;
+            Map<Integer, Object> body = ProtoUtils.readBody(frame, msgPackLite, future::consume);
+            return new TarantoolPacket(headers, body);
+        }
+        if (isOversized(frame.getFrameSize())) {
+            frame.skipRemaining();
+            stats.oversized++;
+            if (future != null) {
+                future.completeExceptionally(new CommunicationException(
+                    "Response size " + frame.getFrameSize() +
+                        " exceeds the max frame size " + config.maxFrameSize
+                ));
+            }
+            return null;
+        }
+        Object code = headers.get(Key.CODE.getId());
+        if (future == null && Long.valueOf(0).equals(code)) {
+            frame.skipRemaining();
+            return new TarantoolPacket(headers);
+        }
+        return ProtoUtils.readPacket(frame, headers, msgPackLite, frameBufferPool);
+    }
+
+    private boolean isOversized(int size) {
+        return config.maxFrameSize > 0 && size > config.maxFrameSize;
+    }
+
     protected void writeThread() {
         writerBuffer.clear();
         while (!Thread.currentThread().isInterrupted()) {
             try {
+                PacketBuffer streamed;
                 bufferLock.lock();
                 try {
-                    while (sharedBuffer.position() == 0) {
+                    while (sharedBuffer.position() == 0 && streamedPackets.isEmpty()) {
                         bufferNotEmpty.await();
                     }
                     sharedBuffer.flip();
                     writerBuffer.put(sharedBuffer);
                     sharedBuffer.clear();
                     bufferEmpty.signalAll();
+                    streamed = streamedPackets.poll();
                 } finally {
                     bufferLock.unlock();
                 }
                 writerBuffer.flip();
+                int bytes = writerBuffer.remaining();
                 writeLock.lock();
                 try {
-                    writeFully(channel, writerBuffer);
+                    if (bytes > 0) {
+                        WriterFlushEvent flushEvent = TarantoolEvents.beginWriterFlush();
+                        writeFully(channel, writerBuffer);
+                        TarantoolEvents.commitWriterFlush(flushEvent, bytes, false);
+                        stats.sharedWrites++;
+                    }
+                    writerBuffer.clear();
+                    if (streamed != null) {
+                        WriterFlushEvent flushEvent = TarantoolEvents.beginWriterFlush();
+                        // the writer buffer is free, so it is the chunk the streams are copied by
+                        streamed.writeTo(channel, writerBuffer);
+                        TarantoolEvents.commitWriterFlush(flushEvent, streamed.getPacketSize(), true);
+                        stats.streamedWrites++;
+                    }
                 } finally {
                     writeLock.unlock();
                 }
                 writerBuffer.clear();
-                stats.sharedWrites++;
             } catch (Exception e) {
                 die("Cant write bytes", e);
                 return;
@@ -468,17 +818,177 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected void complete(TarantoolPacket packet, TarantoolOp<?> future) {
         if (future != null) {
             long code = packet.getCode();
-            if (code == 0) {
-                if (future.getCode() == Code.EXECUTE) {
-                    completeSql(future, packet);
+            try {
+                if (code == 0) {
+                    if (future.getConsumer() != null) {
+                        completeStreaming(future, packet);
+                    } else {
+                        ResultReader<?> resultReader = getResultReader(future);
+                        if (resultReader != null) {
+                            completeReading(future, packet, resultReader);
+                        } else if (future.getCode() == Code.EXECUTE) {
+                            completeSql(future, packet);
+                        } else {
+                            ((TarantoolOp) future).complete(readData(packet));
+                        }
+                    }
                 } else {
-                    ((TarantoolOp) future).complete(packet.getBody().get(Key.DATA.getId()));
+                    Object error = packet.getBodyValue(Key.ERROR);
+                    fail(future, serverError(code, error));
                 }
-            } else {
-                Object error = packet.getBody().get(Key.ERROR.getId());
-                fail(future, serverError(code, error));
+            } catch (CommunicationException e) {
+                // the packet has been read as a whole, so a malformed
+                // body fails its operation only
+                fail(future, e);
+            }
+        } else {
+            discard(packet);
+        }
+    }
+
+    /**
+     * Decodes the response data. An array of a response which is large
+     * enough to be decoded asynchronously is split into chunks decoded
+     * in parallel if it is enabled.
+     *
+     * @param packet response
+     *
+     * @return decoded data
+     *
+     * @see TarantoolClientConfig#decodingChunkSize
+     */
+    protected Object readData(TarantoolPacket packet) {
+        ByteBuffer body = packet.getRawBody();
+        if (config.decodingChunkSize <= 0 ||
+            config.decodingThreshold <= 0 ||
+            body == null ||
+            body.remaining() < config.decodingThreshold) {
+            return packet.getBodyValue(Key.DATA);
+        }
+        MsgPackReader reader = packet.getBodyReader(Key.DATA);
+        if (reader == null || reader.nextToken() != MsgPackType.ARRAY) {
+            return packet.getBodyValue(Key.DATA);
+        }
+        try {
+            return ParallelArrayDecoder.decode(reader, msgPackLite, config.decodingChunkSize);
+        } catch (IllegalArgumentException e) {
+            throw new CommunicationException("Error while unpacking body of tarantool response", e);
+        }
+    }
+
+    /**
+     * Gets a reader which decodes the operation result
+     * instead of the default decoding.
+     *
+     * @param future operation
+     *
+     * @return result reader or {@code null}
+     */
+    protected ResultReader<?> getResultReader(TarantoolOp<?> future) {
+        if (future.getResultReader() != null) {
+            return future.getResultReader();
+        }
+        if (future.getCode() == Code.EXECUTE) {
+            return null;
+        }
+        TupleCodec<?> codec = findTupleCodec(future);
+        if (codec != null) {
+            return codec::decodeList;
+        }
+        return config.useTupleViews ? tupleViewReader : null;
+    }
+
+    /**
+     * Finds a codec registered for the space of the operation.
+     *
+     * @param future operation
+     *
+     * @return codec or {@code null}
+     *
+     * @see TarantoolClientConfig#tupleCodecs
+     */
+    protected TupleCodec<?> findTupleCodec(TarantoolOp<?> future) {
+        Map<Integer, TupleCodec<?>> codecs = config.tupleCodecs;
+        if (codecs == null || codecs.isEmpty()) {
+            return null;
+        }
+        switch (future.getCode()) {
+        case SELECT:
+        case INSERT:
+        case REPLACE:
+        case UPDATE:
+        case UPSERT:
+        case DELETE:
+            Object space = future.getArg(Key.SPACE);
+            return space == null ? null : codecs.get(space);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Handles a response which has no pending operation (a response to
+     * a fire-and-forget request). The response body is left undecoded
+     * unless it is an error and there is a listener to be notified.
+     *
+     * @param packet response to be discarded
+     *
+     * @see TarantoolClientConfig#fireAndForgetErrorListener
+     */
+    protected void discard(TarantoolPacket packet) {
+        stats.discarded++;
+        FireAndForgetErrorListener listener = config.fireAndForgetErrorListener;
+        long code = packet.getCode();
+        if (listener != null && code != 0) {
+            Object error = packet.getBodyValue(Key.ERROR);
+            try {
+                listener.onError(packet.getSync(), serverError(code, error));
+            } catch (RuntimeException ignored) {
+                // no-op
+            }
+        }
+    }
+
+    /**
+     * Completes a streaming operation passing to its consumer
+     * the data elements which have not been consumed yet.
+     *
+     * @param future streaming operation
+     * @param packet response
+     */
+    protected void completeStreaming(TarantoolOp<?> future, TarantoolPacket packet) {
+        Object data = packet.getBodyValue(Key.DATA);
+        if (data instanceof List) {
+            for (Object element : (List<?>) data) {
+                future.consume(element);
             }
         }
+        RuntimeException consumerError = future.getConsumerError();
+        if (consumerError != null) {
+            future.completeExceptionally(consumerError);
+        } else {
+            ((TarantoolOp) future).complete(future.getConsumedCount());
+        }
+    }
+
+    /**
+     * Completes an operation reading the response data
+     * or the whole body if the operation requests so.
+     *
+     * @param future       operation to be completed
+     * @param packet       response
+     * @param resultReader reader of the data
+     */
+    protected void completeReading(TarantoolOp<?> future, TarantoolPacket packet, ResultReader<?> resultReader) {
+        Object result;
+        try {
+            MsgPackReader reader = future.isReadingBody() ? packet.getBodyReader() : packet.getBodyReader(Key.DATA);
+            result = reader == null ? null : resultReader.read(reader);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        ((TarantoolOp) future).complete(result);
     }
 
     protected void completeSql(TarantoolOp<?> future, TarantoolPacket pack) {
@@ -511,6 +1021,10 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         ProtoUtils.writeFully(channel, buffer);
     }
 
+    protected void writeFully(SocketChannel channel, ByteBuffer[] buffers) throws IOException {
+        ProtoUtils.writeFully(channel, buffers);
+    }
+
     @Override
     public void close() {
         close(new Exception("Connection is closed."));
@@ -603,6 +1117,31 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return fireAndForgetOps;
     }
 
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<Long>> streamingOps(Consumer<Object> consumer) {
+        return new DecodingOps<>(Objects.requireNonNull(consumer, "Consumer should not be null"), null);
+    }
+
+    @Override
+    public <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<T>> readingOps(ResultReader<T> reader) {
+        return new DecodingOps<>(null, Objects.requireNonNull(reader, "Result reader should not be null"));
+    }
+
+    @Override
+    public <T> TarantoolTypedOps<T> typedOps(TupleCodec<T> codec) {
+        return new TypedOps<>(Objects.requireNonNull(codec, "Tuple codec should not be null"));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, Object, Object, CompletionStage<ByteBuffer>> rawOps(boolean wholeBody) {
+        return new RawOps<>(TarantoolClientImpl::readRawValue, wholeBody);
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, Object, Object, CompletionStage<byte[]>> jsonOps() {
+        return new RawOps<>(MsgPackJson::toJson, false);
+    }
+
     @Override
     public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
         return new TarantoolSQLOps<Object, Long, List<Map<String, Object>>>() {
@@ -640,6 +1179,11 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             return (List) syncGet(TarantoolClientImpl.this.exec(code, args));
         }
 
+        @Override
+        protected List<?> exec(PreparedOperation operation, Object value) {
+            return (List) syncGet(TarantoolClientImpl.this.exec(operation, value));
+        }
+
         @Override
         public void close() {
             throw new IllegalStateException("You should close TarantoolClient instead.");
@@ -664,6 +1208,133 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             }
         }
 
+        @Override
+        protected Long exec(PreparedOperation operation, Object value) {
+            if (thumbstone == null) {
+                try {
+                    long syncId = TarantoolClientImpl.this.syncId.incrementAndGet();
+                    write(operation, syncId, value);
+                    return syncId;
+                } catch (Exception e) {
+                    throw new CommunicationException("Execute failed", e);
+                }
+            } else {
+                throw new CommunicationException("Connection is not alive", thumbstone);
+            }
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    /**
+     * Operations which results are decoded in a custom way:
+     * either passed to a consumer element by element or read
+     * by a result reader.
+     *
+     * @param <R> result type
+     */
+    protected class DecodingOps<R> extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<R>> {
+
+        private final Consumer<Object> consumer;
+        private final ResultReader<R> resultReader;
+
+        protected DecodingOps(Consumer<Object> consumer, ResultReader<R> resultReader) {
+            this.consumer = consumer;
+            this.resultReader = resultReader;
+            if (!config.useNewCall) {
+                setCallCode(Code.OLD_CALL);
+            }
+        }
+
+        @Override
+        public CompletionStage<R> exec(Code code, Object... args) {
+            validateArgs(args);
+            TarantoolOp<?> future = makeNewOperation(operationTimeout, syncId.incrementAndGet(), code, args);
+            return register(future);
+        }
+
+        @Override
+        protected CompletionStage<R> exec(PreparedOperation operation, Object value) {
+            if (value == null) {
+                throw new NullPointerException(operation.getVariableKey().name() + " should not be null");
+            }
+            TarantoolOp<?> future = makeNewOperation(operationTimeout, syncId.incrementAndGet(), operation, value);
+            return register(future);
+        }
+
+        private CompletionStage<R> register(TarantoolOp<?> future) {
+            future.setConsumer(consumer);
+            future.setResultReader(resultReader);
+            return (CompletionStage<R>) registerOperation(future);
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    /**
+     * Reads an encoded value copying it out of a pooled frame
+     * as a buffer cannot be released by its user.
+     */
+    private static ByteBuffer readRawValue(MsgPackReader reader) {
+        ByteBuffer value = reader.readRawValue();
+        if (reader.getFrame() == null) {
+            return value;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(value.remaining());
+        copy.put(value).flip();
+        return copy.asReadOnlyBuffer();
+    }
+
+    /**
+     * Operations which results are not decoded to Java objects but
+     * passed as encoded bytes or transcoded by the result reader.
+     * Tuples and keys can be either regular values or {@link RawMsgPack}.
+     *
+     * @param <R> result type
+     */
+    protected class RawOps<R> extends AbstractTarantoolOps<Integer, Object, Object, CompletionStage<R>> {
+
+        private final ResultReader<R> resultReader;
+        private final boolean wholeBody;
+
+        protected RawOps(ResultReader<R> resultReader, boolean wholeBody) {
+            this.resultReader = resultReader;
+            this.wholeBody = wholeBody;
+            if (!config.useNewCall) {
+                setCallCode(Code.OLD_CALL);
+            }
+        }
+
+        @Override
+        public CompletionStage<R> exec(Code code, Object... args) {
+            validateArgs(args);
+            TarantoolOp<?> future = makeNewOperation(operationTimeout, syncId.incrementAndGet(), code, args);
+            return register(future);
+        }
+
+        @Override
+        protected CompletionStage<R> exec(PreparedOperation operation, Object value) {
+            if (value == null) {
+                throw new NullPointerException(operation.getVariableKey().name() + " should not be null");
+            }
+            TarantoolOp<?> future = makeNewOperation(operationTimeout, syncId.incrementAndGet(), operation, value);
+            return register(future);
+        }
+
+        private CompletionStage<R> register(TarantoolOp<?> future) {
+            future.setResultReader(resultReader);
+            future.setReadingBody(wholeBody);
+            return (CompletionStage<R>) registerOperation(future);
+        }
+
         @Override
         public void close() {
             throw new IllegalStateException("You should close TarantoolClient instead.");
@@ -671,6 +1342,36 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     }
 
+    /**
+     * Operations which results are decoded by a tuple codec.
+     *
+     * @param <T> domain type
+     */
+    protected class TypedOps<T> extends DecodingOps<List<T>> implements TarantoolTypedOps<T> {
+
+        private final TupleCodec<T> codec;
+
+        protected TypedOps(TupleCodec<T> codec) {
+            super(null, codec::decodeList);
+            this.codec = codec;
+        }
+
+        @Override
+        public CompletionStage<List<T>> insertValue(Integer space, T value) {
+            return exec(Code.INSERT, Key.SPACE, space, Key.TUPLE, bind(value));
+        }
+
+        @Override
+        public CompletionStage<List<T>> replaceValue(Integer space, T value) {
+            return exec(Code.REPLACE, Key.SPACE, space, Key.TUPLE, bind(value));
+        }
+
+        private MsgPackWritable bind(T value) {
+            return codec.bind(Objects.requireNonNull(value, "TUPLE should not be null"));
+        }
+
+    }
+
     protected boolean isDead(TarantoolOp<?> future) {
         if (this.thumbstone != null) {
             fail(future, new CommunicationException("Connection is dead", thumbstone));
@@ -692,14 +1393,61 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         private final Code code;
 
         /**
-         * Arguments of operation.
+         * Arguments of operation. They are bound lazily
+         * if the operation is created using a template.
+         */
+        private Object[] args;
+
+        /**
+         * Request template and its variable argument.
+         */
+        private final PreparedOperation preparedOperation;
+        private final Object value;
+
+        /**
+         * Creation time in terms of {@link System#nanoTime()}.
+         */
+        private final long startTime;
+
+        /**
+         * Time bounds of the last write attempt which are
+         * set only if the operation is timed.
+         *
+         * @see SlowOperationLog
+         */
+        private volatile long writeStartTime;
+        private volatile long writeEndTime;
+
+        /**
+         * Consumer of the response data elements which
+         * is set only for streaming operations.
          */
-        private final Object[] args;
+        private Consumer<Object> consumer;
+        private long consumedCount;
+        private RuntimeException consumerError;
+
+        /**
+         * Custom decoder of the response data or
+         * the whole body if {@code readingBody} is set.
+         */
+        private ResultReader<?> resultReader;
+        private boolean readingBody;
 
         public TarantoolOp(long id, Code code, Object[] args) {
             this.id = id;
             this.code = code;
             this.args = args;
+            this.preparedOperation = null;
+            this.value = null;
+            this.startTime = System.nanoTime();
+        }
+
+        public TarantoolOp(long id, PreparedOperation preparedOperation, Object value) {
+            this.id = id;
+            this.code = preparedOperation.getCode();
+            this.preparedOperation = preparedOperation;
+            this.value = value;
+            this.startTime = System.nanoTime();
         }
 
         public long getId() {
@@ -711,9 +1459,136 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
 
         public Object[] getArgs() {
+            if (args == null && preparedOperation != null) {
+                args = preparedOperation.bind(value);
+            }
             return args;
         }
 
+        /**
+         * Gets the arguments without binding a prepared operation.
+         * They are the constant arguments of an unbound operation.
+         *
+         * @return arguments as key-value pairs
+         */
+        public Object[] getUnboundArgs() {
+            return args == null && preparedOperation != null ? preparedOperation.constantArgs() : args;
+        }
+
+        /**
+         * Gets an argument without binding a prepared operation.
+         *
+         * @param key argument key
+         *
+         * @return argument value or {@code null}
+         */
+        public Object getArg(Key key) {
+            if (args == null && preparedOperation != null && preparedOperation.getVariableKey() == key) {
+                return value;
+            }
+            Object[] known = getUnboundArgs();
+            if (known != null) {
+                for (int i = 0; i + 1 < known.length; i += 2) {
+                    if (known[i] == key) {
+                        return known[i + 1];
+                    }
+                }
+            }
+            return null;
+        }
+
+        public PreparedOperation getPreparedOperation() {
+            return preparedOperation;
+        }
+
+        /**
+         * Checks whether the operation cannot be sent again
+         * as a streamed binary of its arguments has been read.
+         *
+         * @return {@code true} if a streamed argument is consumed
+         *
+         * @see StreamedBinary#isConsumed()
+         */
+        public boolean hasConsumedStreams() {
+            Object[] args = getArgs();
+            return args != null && StreamedBinary.containsConsumed(args);
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getWriteStartTime() {
+            return writeStartTime;
+        }
+
+        public void setWriteStartTime(long writeStartTime) {
+            this.writeStartTime = writeStartTime;
+            this.writeEndTime = 0;
+        }
+
+        public long getWriteEndTime() {
+            return writeEndTime;
+        }
+
+        public void setWriteEndTime(long writeEndTime) {
+            this.writeEndTime = writeEndTime;
+        }
+
+        public Consumer<Object> getConsumer() {
+            return consumer;
+        }
+
+        public void setConsumer(Consumer<Object> consumer) {
+            this.consumer = consumer;
+        }
+
+        /**
+         * Passes a response data element to the consumer unless
+         * the operation is already done or the consumer has failed.
+         *
+         * @param element data element
+         */
+        public void consume(Object element) {
+            if (consumerError != null || isDone()) {
+                return;
+            }
+            try {
+                consumer.accept(element);
+                consumedCount++;
+            } catch (RuntimeException e) {
+                consumerError = e;
+            }
+        }
+
+        public ResultReader<?> getResultReader() {
+            return resultReader;
+        }
+
+        public void setResultReader(ResultReader<?> resultReader) {
+            this.resultReader = resultReader;
+        }
+
+        public boolean isReadingBody() {
+            return readingBody;
+        }
+
+        public void setReadingBody(boolean readingBody) {
+            this.readingBody = readingBody;
+        }
+
+        public long getConsumedCount() {
+            return consumedCount;
+        }
+
+        public RuntimeException getConsumerError() {
+            return consumerError;
+        }
+
         /**
          * Missed in jdk8 CompletableFuture operator to limit execution
          * by time.
@@ -778,6 +1653,17 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return stats;
     }
 
+    /**
+     * Gets the slow operations detector.
+     *
+     * @return slow operation log or {@code null} if it is disabled
+     *
+     * @see TarantoolClientConfig#slowOperationThresholdMillis
+     */
+    public SlowOperationLog getSlowOperationLog() {
+        return slowOperationLog;
+    }
+
     /**
      * Manages state changes.
      */
@@ -969,6 +1855,11 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
             return (CompletionStage<List<?>>) TarantoolClientImpl.this.exec(code, args);
         }
 
+        @Override
+        protected CompletionStage<List<?>> exec(PreparedOperation operation, Object value) {
+            return (CompletionStage<List<?>>) TarantoolClientImpl.this.exec(operation, value);
+        }
+
         @Override
         public void close() {
             TarantoolClientImpl.this.close();
@@ -20,6 +20,16 @@ public interface TarantoolClientOps<T,O,P,R> {
 
     R eval(String expression, Object... args);
 
+    /**
+     * Executes a request template.
+     *
+     * @param operation request template
+     * @param value     variable argument such as a key, a tuple or a list of function arguments
+     *
+     * @return operation result
+     */
+    R execute(PreparedOperation operation, O value);
+
     void ping();
 
     void close();
@@ -4,8 +4,14 @@ public class TarantoolClientStats {
     final long start = System.currentTimeMillis();
     public long buffered;
     public long received;
+    public long discarded;
+    public long streamed;
+    public long oversized;
+    public long decodedAsync;
     public long sharedWrites;
     public long directWrite;
+    public long gatheringWrite;
+    public long streamedWrites;
     public long directMaxPacketSize;
     public long sharedMaxPacketSize;
     public long directPacketSizeGrowth;
@@ -21,6 +27,10 @@ public class TarantoolClientStats {
                 "\nrunning = " + (System.currentTimeMillis() - start) + "ms" +
                 "\nbuffered = " + buffered +
                 "\nreceived = " + received +
+                "\ndiscarded = " + discarded +
+                "\nstreamed = " + streamed +
+                "\noversized = " + oversized +
+                "\ndecodedAsync = " + decodedAsync +
                 "\ndirectMaxPacketSize = " + directMaxPacketSize +
                 "\nsharedMaxPacketSize = " + sharedMaxPacketSize +
                 "\nsharedEmptyAwait = " + sharedEmptyAwait +
@@ -30,6 +40,8 @@ public class TarantoolClientStats {
                 "\ndirectWriteLockTimeouts = " + directWriteLockTimeouts +
                 "\nsharedWriteLockTimeouts = " + sharedWriteLockTimeouts +
                 "\ndirectWrite = " + directWrite +
+                "\ngatheringWrite = " + gatheringWrite +
+                "\nstreamedWrites = " + streamedWrites +
                 "\nsharedWrites = " + sharedWrites + "\n";
     }
 }
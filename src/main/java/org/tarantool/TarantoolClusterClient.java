@@ -2,6 +2,8 @@ package org.tarantool;
 
 import org.tarantool.cluster.TarantoolClusterDiscoverer;
 import org.tarantool.cluster.TarantoolClusterStoredFunctionDiscoverer;
+import org.tarantool.jfr.DiscoveryRefreshEvent;
+import org.tarantool.jfr.TarantoolEvents;
 import org.tarantool.protocol.TarantoolPacket;
 import org.tarantool.util.StringUtils;
 
@@ -99,14 +101,6 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
         return false;
     }
 
-    @Override
-    protected TarantoolOp<?> doExec(long timeoutMillis, Code code, Object[] args) {
-        validateArgs(args);
-        long sid = syncId.incrementAndGet();
-        TarantoolOp<?> future = makeNewOperation(timeoutMillis, sid, code, args);
-        return registerOperation(future);
-    }
-
     /**
      * Registers a new async operation which will be resolved later.
      * Registration is discovery-aware in term of synchronization and
@@ -116,7 +110,8 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
      *
      * @return registered operation
      */
-    private TarantoolOp<?> registerOperation(TarantoolOp<?> future) {
+    @Override
+    protected TarantoolOp<?> registerOperation(TarantoolOp<?> future) {
         long stamp = discoveryLock.readLock();
         try {
             if (isDead(future)) {
@@ -129,7 +124,7 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
             }
 
             try {
-                write(future.getCode(), future.getId(), null, future.getArgs());
+                write(future);
             } catch (Exception e) {
                 futures.remove(future.getId());
                 fail(future, e);
@@ -150,6 +145,9 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
         if (!isTransientError(e)) {
             future.completeExceptionally(e);
             return true;
+        } else if (future.hasConsumedStreams()) {
+            future.completeExceptionally(makeNotRetriableError(e));
+            return true;
         } else {
             assert retries != null;
             retries.put(future.getId(), future);
@@ -197,12 +195,24 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
         Collection<TarantoolOp<?>> futuresToRetry = new ArrayList<>(retries.values());
         retries.clear();
         for (final TarantoolOp<?> future : futuresToRetry) {
-            if (!future.isDone()) {
+            if (future.isDone()) {
+                continue;
+            }
+            // a streamed value could be read by a write racing with the failure
+            if (future.hasConsumedStreams()) {
+                future.completeExceptionally(makeNotRetriableError(null));
+            } else {
                 executor.execute(() -> registerOperation(future));
             }
         }
     }
 
+    private CommunicationException makeNotRetriableError(Exception cause) {
+        return new CommunicationException(
+            "Operation cannot be retried because its streamed binary has already been read", cause
+        );
+    }
+
     @Override
     protected void complete(TarantoolPacket packet, TarantoolOp<?> future) {
         super.complete(packet, future);
@@ -271,14 +281,17 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
 
             @Override
             public synchronized void run() {
+                DiscoveryRefreshEvent refreshEvent = TarantoolEvents.beginDiscoveryRefresh();
                 try {
                     Set<String> freshInstances = serviceDiscoverer.getInstances();
-                    if (!(freshInstances.isEmpty() || Objects.equals(lastInstances, freshInstances))) {
+                    boolean changed = !(freshInstances.isEmpty() || Objects.equals(lastInstances, freshInstances));
+                    if (changed) {
                         lastInstances = freshInstances;
                         onInstancesRefreshed(lastInstances);
                     }
+                    TarantoolEvents.commitDiscoveryRefresh(refreshEvent, freshInstances.size(), changed, null);
                 } catch (Exception ignored) {
-                    ignored.getCause();
+                    TarantoolEvents.commitDiscoveryRefresh(refreshEvent, -1, false, ignored);
                     // no-op
                 }
             }
@@ -1,57 +1,357 @@
 package org.tarantool;
 
+import org.tarantool.protocol.PacketBuffer;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.TarantoolPacket;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Simple blocking connection which is not thread-safe.
+ * <p>
+ * Requests are written into and responses are read from
+ * buffered streams, so a response costs a couple of bulk reads.
+ * The regular operations send a request and wait for its response.
+ * Requests can also be pipelined: several of them are {@link #send(Code, Object...) sent}
+ * first and their responses are {@link #receive(long) received} after that,
+ * which takes a single network round trip for all of them:
+ * <pre>
+ * long first = connection.pipelineOps().insert(space, tuple1);
+ * long second = connection.pipelineOps().insert(space, tuple2);
+ * connection.receive(first);
+ * connection.receive(second);
+ * </pre>
+ * Every sent request has to be received: a response read while
+ * waiting for another one is kept until its request is received
+ * or the connection is closed. A response to a request which is
+ * not pending is dropped.
+ */
 public class TarantoolConnection extends TarantoolBase<List<?>>
     implements TarantoolSQLOps<Object,Long,List<Map<String,Object>>> {
 
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Min number of bytes the read frame grows by.
+     */
+    private static final int FRAME_CHUNK_SIZE = 8 * 1024;
+
     protected InputStream in;
     protected OutputStream out;
     protected Socket socket;
 
+    private final DataInputStream input;
+    private final PipelineOps pipelineOps = new PipelineOps();
+
+    /**
+     * Sync ids of the requests which responses are not received yet.
+     */
+    private final Set<Long> pending = new HashSet<>();
+
+    /**
+     * Responses which have been read while waiting for other ones.
+     * They hold copies of their bodies as the frame is reused.
+     */
+    private final Map<Long, TarantoolPacket> received = new HashMap<>();
+    private boolean flushed = true;
+
+    /**
+     * Buffer the responses are read into. It grows as the bytes
+     * of a large response arrive and is reused by the next reads
+     * unless it has grown larger than the retained size.
+     */
+    private byte[] frame = new byte[0];
+    private final int maxRetainedFrameSize;
+    private int maxFrameSize;
+
     public TarantoolConnection(String username, String password, Socket socket) throws IOException {
+        this(username, password, socket, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a connection.
+     *
+     * @param username   user name or {@code null} to be a guest
+     * @param password   user password
+     * @param socket     connected socket
+     * @param bufferSize size of the read and the write buffers,
+     *                   a larger response frame is not kept between
+     *                   the reads
+     *
+     * @throws IOException if the socket streams cannot be obtained
+     */
+    public TarantoolConnection(String username, String password, Socket socket, int bufferSize) throws IOException {
         super(username, password, socket);
         this.socket = socket;
-        this.out = socket.getOutputStream();
-        this.in = socket.getInputStream();
+        this.out = new BufferedOutputStream(socket.getOutputStream(), bufferSize);
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), bufferSize));
+        this.in = input;
+        this.maxRetainedFrameSize = Math.max(FRAME_CHUNK_SIZE, bufferSize);
     }
 
     @Override
     protected List<?> exec(Code code, Object... args) {
         TarantoolPacket responsePacket = writeAndRead(code, args);
-        return (List) responsePacket.getBody().get(Key.DATA.getId());
+        return (List) responsePacket.getBodyValue(Key.DATA);
     }
 
-    protected TarantoolPacket writeAndRead(Code code, Object... args) {
-        try {
-            ByteBuffer packet = ProtoUtils.createPacket(initialRequestSize, msgPackLite,
-                code, syncId.incrementAndGet(), null, args);
+    @Override
+    protected List<?> exec(PreparedOperation operation, Object value) {
+        TarantoolPacket responsePacket = writeAndRead(operation, value);
+        return (List) responsePacket.getBodyValue(Key.DATA);
+    }
 
-            out.write(packet.array(), 0, packet.remaining());
-            out.flush();
+    /**
+     * Gets operations which send requests without waiting for
+     * the responses. The operations result in the sync ids to
+     * be passed to {@link #receive(long)}.
+     *
+     * @return pipelining operations
+     */
+    public TarantoolClientOps<Integer, List<?>, Object, Long> pipelineOps() {
+        return pipelineOps;
+    }
 
-            TarantoolPacket responsePacket = ProtoUtils.readPacket(in, msgPackLite);
+    /**
+     * Writes a request into the write buffer. The buffer is flushed
+     * when it is full, on {@link #flush()} or when a response is awaited.
+     *
+     * @param code request code
+     * @param args request arguments
+     *
+     * @return sync id of the request
+     */
+    public long send(Code code, Object... args) {
+        long sync = syncId.incrementAndGet();
+        PacketBuffer buffer = bufferPool.acquire(code, 0);
+        try {
+            write(ProtoUtils.createPacket(buffer, msgPackLite, code, sync, null, args), sync);
+        } catch (IOException e) {
+            close();
+            throw new CommunicationException("Couldn't send query", e);
+        } finally {
+            bufferPool.release(code, buffer);
+        }
+        return sync;
+    }
 
-            Long c = responsePacket.getCode();
-            if (c != 0) {
-                throw serverError(c, responsePacket.getBody().get(Key.ERROR.getId()));
-            }
+    /**
+     * Writes a request of a template into the write buffer.
+     *
+     * @param operation request template
+     * @param value     variable argument value
+     *
+     * @return sync id of the request
+     *
+     * @see #send(Code, Object...)
+     */
+    public long send(PreparedOperation operation, Object value) {
+        long sync = syncId.incrementAndGet();
+        int sizeHint = ProtoUtils.LENGTH_OF_SIZE_MESSAGE + operation.getEstimatedSize();
+        PacketBuffer buffer = bufferPool.acquire(operation.getCode(), sizeHint);
+        try {
+            write(ProtoUtils.createPacket(buffer, msgPackLite, operation, sync, value), sync);
+        } catch (IOException e) {
+            close();
+            throw new CommunicationException("Couldn't send query", e);
+        } finally {
+            bufferPool.release(operation.getCode(), buffer);
+        }
+        return sync;
+    }
 
-            return responsePacket;
+    /**
+     * Sends the buffered requests.
+     */
+    public void flush() {
+        try {
+            flushRequests();
         } catch (IOException e) {
+            close();
+            throw new CommunicationException("Couldn't send queries", e);
+        }
+    }
+
+    /**
+     * Waits for a response of a sent request. The responses
+     * can be received in any order.
+     *
+     * @param sync sync id of the request
+     *
+     * @return response data
+     *
+     * @throws TarantoolException if the request has failed
+     */
+    public List<?> receive(long sync) {
+        return (List) receivePacket(sync).getBodyValue(Key.DATA);
+    }
+
+    /**
+     * Gets the number of the sent requests
+     * which responses are not received yet.
+     *
+     * @return number of the requests
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Sets max size of a response. A larger response breaks
+     * the connection as it is not read. {@code 0} means no limit.
+     *
+     * @param maxFrameSize max response size in bytes
+     */
+    public void setMaxFrameSize(int maxFrameSize) {
+        if (maxFrameSize < 0) {
+            throw new IllegalArgumentException("Max frame size must not be negative");
+        }
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    protected TarantoolPacket writeAndRead(Code code, Object... args) {
+        return receivePacket(send(code, args));
+    }
+
+    protected TarantoolPacket writeAndRead(PreparedOperation operation, Object value) {
+        return receivePacket(send(operation, value));
+    }
+
+    /**
+     * Waits for a response of a sent request reading
+     * and keeping the responses which arrive before it.
+     * The response body is valid until the next read.
+     *
+     * @param sync sync id of the request
+     *
+     * @return successful response
+     *
+     * @throws TarantoolException     if the request has failed
+     * @throws CommunicationException if a response cannot be read,
+     *                                the connection is closed then
+     */
+    protected TarantoolPacket receivePacket(long sync) {
+        if (!pending.remove(sync)) {
+            throw new IllegalArgumentException("Request " + sync + " is not pending");
+        }
+        TarantoolPacket responsePacket = received.remove(sync);
+        try {
+            flushRequests();
+            while (responsePacket == null) {
+                TarantoolPacket packet = readPacket();
+                Long packetSync = packet.getSync();
+                if (packetSync != null && packetSync == sync) {
+                    responsePacket = packet;
+                } else if (pending.contains(packetSync)) {
+                    received.put(packetSync, detach(packet));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the stream position is unknown, so the next response cannot be found
             close();
             throw new CommunicationException("Couldn't execute query", e);
         }
+
+        Long c = responsePacket.getCode();
+        if (c != 0) {
+            throw serverError(c, responsePacket.getBodyValue(Key.ERROR));
+        }
+
+        return responsePacket;
+    }
+
+    /**
+     * Reads a whole response with bulk reads of the buffered stream
+     * into the reused frame. The frame grows by the bytes which have
+     * arrived, so a malformed size does not allocate it at once, and
+     * is dropped after a response larger than the retained size.
+     *
+     * @return response which body is decoded on demand
+     *         until the next read
+     *
+     * @throws IOException            if the response cannot be read
+     * @throws CommunicationException if the response size is invalid
+     */
+    protected TarantoolPacket readPacket() throws IOException {
+        Object prefix = msgPackLite.unpack(input);
+        if (!(prefix instanceof Number)) {
+            throw new CommunicationException("Invalid response size " + prefix);
+        }
+        long size = ((Number) prefix).longValue();
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new CommunicationException("Invalid response size " + size);
+        }
+        if (maxFrameSize > 0 && size > maxFrameSize) {
+            throw new CommunicationException("Response size " + size + " exceeds the max frame size " + maxFrameSize);
+        }
+        int read = 0;
+        while (read < size) {
+            if (read == frame.length) {
+                long grown = Math.max(FRAME_CHUNK_SIZE, 2L * frame.length);
+                frame = Arrays.copyOf(frame, (int) Math.min(size, grown));
+            }
+            int chunk = (int) Math.min(size, frame.length) - read;
+            input.readFully(frame, read, chunk);
+            read += chunk;
+        }
+        ByteBuffer packet = ByteBuffer.wrap(frame, 0, read);
+        if (frame.length > maxRetainedFrameSize) {
+            // the returned packet keeps the large frame until it is dropped
+            frame = new byte[0];
+        }
+        return ProtoUtils.readPacket(packet, msgPackLite);
+    }
+
+    int getRetainedFrameSize() {
+        return frame.length;
+    }
+
+    /**
+     * Copies a response body out of the reused frame.
+     *
+     * @param packet response read into the frame
+     *
+     * @return response which owns its body
+     */
+    private TarantoolPacket detach(TarantoolPacket packet) {
+        ByteBuffer body = packet.getRawBody();
+        if (body == null) {
+            return packet;
+        }
+        ByteBuffer copy = ByteBuffer.allocate(body.remaining());
+        copy.put(body).flip();
+        return new TarantoolPacket(packet.getHeaders(), copy, msgPackLite);
+    }
+
+    private void write(ByteBuffer packet, long sync) throws IOException {
+        out.write(packet.array(), 0, packet.remaining());
+        pending.add(sync);
+        flushed = false;
+    }
+
+    private void flushRequests() throws IOException {
+        if (!flushed) {
+            out.flush();
+            flushed = true;
+        }
     }
 
     public void begin() {
@@ -70,6 +370,8 @@ public class TarantoolConnection extends TarantoolBase<List<?>>
      * Closes current connection.
      */
     public void close() {
+        pending.clear();
+        received.clear();
         try {
             socket.close();
         } catch (IOException ignored) {
@@ -116,4 +418,27 @@ public class TarantoolConnection extends TarantoolBase<List<?>>
     public int getSocketTimeout() throws SocketException {
         return socket.getSoTimeout();
     }
+
+    /**
+     * Operations which send the requests without waiting for the responses.
+     */
+    protected class PipelineOps extends AbstractTarantoolOps<Integer, List<?>, Object, Long> {
+
+        @Override
+        protected Long exec(Code code, Object... args) {
+            return send(code, args);
+        }
+
+        @Override
+        protected Long exec(PreparedOperation operation, Object value) {
+            return send(operation, value);
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolConnection instead.");
+        }
+
+    }
+
 }
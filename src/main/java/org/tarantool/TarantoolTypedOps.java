@@ -0,0 +1,36 @@
+package org.tarantool;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Operations which results are decoded into domain objects
+ * by a {@link TupleCodec}.
+ *
+ * @param <T> domain type
+ *
+ * @see TarantoolClient#typedOps(TupleCodec)
+ */
+public interface TarantoolTypedOps<T> extends TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<T>>> {
+
+    /**
+     * Inserts an object encoded by the codec.
+     *
+     * @param space space id
+     * @param value object to be inserted
+     *
+     * @return inserted objects
+     */
+    CompletionStage<List<T>> insertValue(Integer space, T value);
+
+    /**
+     * Replaces an object encoded by the codec.
+     *
+     * @param space space id
+     * @param value object to be stored
+     *
+     * @return stored objects
+     */
+    CompletionStage<List<T>> replaceValue(Integer space, T value);
+
+}
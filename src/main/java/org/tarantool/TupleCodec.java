@@ -0,0 +1,66 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps tuples directly from and to their MsgPack form,
+ * so no intermediate {@code List} is built for a tuple.
+ * <p>
+ * A codec can be used for a single call by means of
+ * {@link TarantoolClient#typedOps(TupleCodec)} or registered
+ * for a space using {@link TarantoolClientConfig#tupleCodecs}.
+ *
+ * @param <T> domain type
+ */
+public interface TupleCodec<T> {
+
+    /**
+     * Reads a domain object.
+     *
+     * @param reader reader positioned at a tuple
+     *
+     * @return decoded object
+     */
+    T decode(MsgPackReader reader);
+
+    /**
+     * Writes a domain object as a tuple.
+     *
+     * @param value  object to be written
+     * @param writer target writer
+     *
+     * @throws IOException if the object cannot be written
+     */
+    void encode(T value, MsgPackWriter writer) throws IOException;
+
+    /**
+     * Binds an object to this codec, so the object can be passed
+     * to any operation as a tuple and encoded by the codec.
+     *
+     * @param value object to be bound
+     *
+     * @return encodable tuple
+     */
+    default MsgPackWritable bind(T value) {
+        return writer -> encode(value, writer);
+    }
+
+    /**
+     * Reads an array of tuples as a list of domain objects.
+     *
+     * @param reader reader positioned at the array
+     *
+     * @return decoded objects
+     */
+    default List<T> decodeList(MsgPackReader reader) {
+        int size = reader.readArrayHeader();
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(decode(reader));
+        }
+        return values;
+    }
+
+}
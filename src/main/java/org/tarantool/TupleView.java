@@ -0,0 +1,300 @@
+package org.tarantool;
+
+import org.tarantool.protocol.FrameBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only tuple backed by the encoded response bytes.
+ * <p>
+ * Field offsets are computed on the first access to the tuple and
+ * a field is decoded only when it is requested, so reading a couple
+ * of fields of a wide tuple does not pay for the others. Numeric and
+ * string fields as well as homogeneous numeric arrays can be read
+ * by the typed getters into primitives without boxing or caching.
+ * <p>
+ * A view shares the buffer of the whole response. A view which is
+ * kept for long should be {@link #detach() detached} to copy its own
+ * bytes and release the response buffer.
+ * <p>
+ * If the response is read into a pooled off-heap frame, each view holds
+ * a reference to the frame and has to be either {@link #close() closed} or
+ * detached, otherwise the frame is not reused.
+ * <p>
+ * Views are not thread-safe.
+ *
+ * @see TarantoolClientConfig#useTupleViews
+ * @see TarantoolClientConfig#frameBufferPoolSize
+ */
+public class TupleView extends AbstractList<Object> implements AutoCloseable {
+
+    private final MsgPackLite msgPackLite;
+
+    private FrameBuffer frame;
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Absolute offsets of the fields followed by the tuple end.
+     */
+    private int[] offsets;
+    private Object[] values;
+    private MsgPackReader cursor;
+
+    /**
+     * Creates a view.
+     *
+     * @param buffer      buffer containing the tuple
+     * @param start       absolute offset of the tuple array header
+     * @param end         absolute offset of the tuple end
+     * @param msgPackLite decoder of the fields
+     */
+    public TupleView(ByteBuffer buffer, int start, int end, MsgPackLite msgPackLite) {
+        if (start < 0 || end < start || end > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Tuple bounds are out of the buffer");
+        }
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.msgPackLite = msgPackLite;
+    }
+
+    /**
+     * Creates a view of a tuple within a pooled frame.
+     * The view retains the frame until it is closed.
+     *
+     * @param frame       frame containing the tuple
+     * @param buffer      buffer containing the tuple
+     * @param start       absolute offset of the tuple array header
+     * @param end         absolute offset of the tuple end
+     * @param msgPackLite decoder of the fields
+     */
+    public TupleView(FrameBuffer frame, ByteBuffer buffer, int start, int end, MsgPackLite msgPackLite) {
+        this(buffer, start, end, msgPackLite);
+        this.frame = frame.retain();
+    }
+
+    /**
+     * Reads an array of tuples making a view for each of them.
+     * Elements which are not arrays are decoded as usual.
+     *
+     * @param reader      reader positioned at the array
+     * @param msgPackLite decoder of the fields
+     *
+     * @return list of the views
+     */
+    public static List<Object> readList(MsgPackReader reader, MsgPackLite msgPackLite) {
+        ByteBuffer buffer = reader.getBuffer();
+        FrameBuffer frame = reader.getFrame();
+        int size = reader.readArrayHeader();
+        List<Object> tuples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (reader.nextToken() == MsgPackType.ARRAY) {
+                int start = reader.position();
+                reader.skipValue();
+                tuples.add(frame == null
+                    ? new TupleView(buffer, start, reader.position(), msgPackLite)
+                    : new TupleView(frame, buffer, start, reader.position(), msgPackLite));
+            } else {
+                tuples.add(reader.readValue(msgPackLite));
+            }
+        }
+        return tuples;
+    }
+
+    /**
+     * Closes the views among the elements of a list.
+     *
+     * @param tuples result of {@link #readList(MsgPackReader, MsgPackLite)}
+     */
+    public static void closeAll(List<?> tuples) {
+        for (Object tuple : tuples) {
+            if (tuple instanceof TupleView) {
+                ((TupleView) tuple).close();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return offsets().length - 1;
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        if (values == null) {
+            values = new Object[size()];
+        }
+        Object value = values[index];
+        if (value == null && !isNull(index)) {
+            value = field(index).readValue(msgPackLite);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    public MsgPackType getType(int index) {
+        return field(index).nextToken();
+    }
+
+    public boolean isNull(int index) {
+        return getType(index) == MsgPackType.NIL;
+    }
+
+    public boolean getBoolean(int index) {
+        return field(index).readBoolean();
+    }
+
+    public int getInt(int index) {
+        return field(index).readInt();
+    }
+
+    public long getLong(int index) {
+        return field(index).readLong();
+    }
+
+    public double getDouble(int index) {
+        return field(index).readDouble();
+    }
+
+    public String getString(int index) {
+        return isNull(index) ? null : field(index).readString();
+    }
+
+    public long[] getLongArray(int index) {
+        return field(index).readLongArray();
+    }
+
+    public int[] getIntArray(int index) {
+        return field(index).readIntArray();
+    }
+
+    public double[] getDoubleArray(int index) {
+        return field(index).readDoubleArray();
+    }
+
+    /**
+     * Gets a reader positioned at the field. The reader
+     * is shared by all the getters of this view.
+     *
+     * @param index field index
+     *
+     * @return field reader
+     */
+    public MsgPackReader getFieldReader(int index) {
+        return field(index);
+    }
+
+    /**
+     * Copies the tuple bytes, so the view no longer refers
+     * to the response buffer. Decoded fields are kept.
+     *
+     * @return this view
+     */
+    public TupleView detach() {
+        if (isDetached()) {
+            return this;
+        }
+        int length = end - start;
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.limit(end).position(start);
+        source.get(bytes);
+        if (offsets != null) {
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] -= start;
+            }
+        }
+        buffer = ByteBuffer.wrap(bytes);
+        start = 0;
+        end = length;
+        cursor = null;
+        releaseFrame();
+        return this;
+    }
+
+    public boolean isDetached() {
+        checkOpen();
+        return frame == null && start == 0 && end == buffer.capacity();
+    }
+
+    /**
+     * Releases the pooled frame the view refers to. The view
+     * cannot be accessed after that unless it is detached.
+     */
+    @Override
+    public void close() {
+        if (frame != null) {
+            releaseFrame();
+            buffer = null;
+            cursor = null;
+        }
+    }
+
+    private void releaseFrame() {
+        if (frame != null) {
+            frame.release();
+            frame = null;
+        }
+    }
+
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("Tuple view is closed");
+        }
+    }
+
+    /**
+     * Gets a size of the tuple in the encoded form.
+     *
+     * @return size in bytes
+     */
+    public int getEncodedSize() {
+        return end - start;
+    }
+
+    private MsgPackReader field(int index) {
+        checkIndex(index);
+        MsgPackReader reader = cursor();
+        reader.getBuffer().position(offsets[index]);
+        return reader;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+    }
+
+    private int[] offsets() {
+        checkOpen();
+        if (offsets == null) {
+            MsgPackReader reader = cursor();
+            reader.getBuffer().position(start);
+            int size = reader.readArrayHeader();
+            int[] fieldOffsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                fieldOffsets[i] = reader.position();
+                reader.skipValue();
+            }
+            fieldOffsets[size] = reader.position();
+            offsets = fieldOffsets;
+        }
+        return offsets;
+    }
+
+    private MsgPackReader cursor() {
+        if (cursor == null) {
+            ByteBuffer view = buffer.duplicate();
+            view.limit(end);
+            cursor = new MsgPackReader(view).setStringCache(msgPackLite.getStringCache());
+        }
+        return cursor;
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.tarantool;
+
+import java.net.SocketAddress;
+
+/**
+ * Factory of Unix domain socket addresses.
+ * <p>
+ * The sockets are supported by {@link java.nio.channels.SocketChannel}
+ * since Java 16, which version of this class is packaged to the
+ * {@code META-INF/versions/16} directory of the multi-release jar.
+ * This version rejects the addresses.
+ */
+final class UnixSockets {
+
+    private UnixSockets() {
+    }
+
+    /**
+     * Checks whether Unix domain sockets are supported.
+     *
+     * @return {@code false}
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates a Unix domain socket address.
+     *
+     * @param path socket file path
+     *
+     * @return socket address
+     *
+     * @throws IllegalArgumentException as the sockets are not supported
+     */
+    static SocketAddress toAddress(String path) {
+        throw new IllegalArgumentException(
+            "Unix domain socket " + path + " cannot be used, it requires Java 16 or newer"
+        );
+    }
+
+}
@@ -1,12 +1,18 @@
 package org.tarantool.jdbc;
 
+import org.tarantool.BaseSocketChannelProvider;
 import org.tarantool.Code;
 import org.tarantool.CommunicationException;
 import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.SlowOperationLog;
 import org.tarantool.SocketChannelProvider;
 import org.tarantool.SqlProtoUtils;
+import org.tarantool.StringCache;
 import org.tarantool.TarantoolClientConfig;
 import org.tarantool.TarantoolClientImpl;
+import org.tarantool.jfr.SqlExecuteEvent;
+import org.tarantool.jfr.TarantoolEvents;
 import org.tarantool.protocol.TarantoolPacket;
 import org.tarantool.util.JdbcConstants;
 import org.tarantool.util.SQLStates;
@@ -75,6 +81,9 @@ public class SQLConnection implements Connection {
 
     private String makeAddress(Properties properties) throws SQLException {
         String host = SQLProperty.HOST.getString(properties);
+        if (host.startsWith(BaseSocketChannelProvider.UNIX_SOCKET_PREFIX)) {
+            return host;
+        }
         int port = SQLProperty.PORT.getInt(properties);
         return host + ":" + port;
     }
@@ -86,6 +95,9 @@ public class SQLConnection implements Connection {
 
         clientConfig.operationExpiryTimeMillis = SQLProperty.QUERY_TIMEOUT.getInt(properties);
         clientConfig.initTimeoutMillis = SQLProperty.LOGIN_TIMEOUT.getInt(properties);
+        clientConfig.slowOperationThresholdMillis = SQLProperty.SLOW_QUERY_THRESHOLD.getInt(properties);
+        clientConfig.stringCacheSize = SQLProperty.STRING_CACHE_SIZE.getInt(properties);
+        clientConfig.useExtensionTypes = SQLProperty.USE_EXTENSION_TYPES.getBoolean(properties);
 
         return clientConfig;
     }
@@ -527,10 +539,26 @@ public class SQLConnection implements Connection {
 
     protected SQLResultHolder execute(long timeout, String sql, Object... args) throws SQLException {
         checkNotClosed();
-        int networkTimeout = getNetworkTimeout();
-        return (timeout == 0 || (networkTimeout > 0 && networkTimeout < timeout))
-            ? executeWithNetworkTimeout(sql, args)
-            : executeWithStatementTimeout(timeout, sql, args);
+        SqlExecuteEvent executeEvent = TarantoolEvents.beginSqlExecute();
+        SQLResultHolder result = null;
+        try {
+            int networkTimeout = getNetworkTimeout();
+            result = (timeout == 0 || (networkTimeout > 0 && networkTimeout < timeout))
+                ? executeWithNetworkTimeout(sql, args)
+                : executeWithStatementTimeout(timeout, sql, args);
+            return result;
+        } finally {
+            if (executeEvent != null) {
+                TarantoolEvents.commitSqlExecute(
+                    executeEvent,
+                    sql,
+                    args == null ? 0 : args.length,
+                    result != null && result.isQueryResult() ? result.getRows().size() : -1,
+                    result != null ? result.getUpdateCount() : -1,
+                    result == null
+                );
+            }
+        }
     }
 
     private SQLResultHolder executeWithNetworkTimeout(String sql, Object... args) throws SQLException {
@@ -596,6 +624,17 @@ public class SQLConnection implements Connection {
         return client.getServerVersion();
     }
 
+    /**
+     * Gets queries which took longer than the configured threshold.
+     *
+     * @return slow operation log or {@code null} if it is disabled
+     *
+     * @see SQLProperty#SLOW_QUERY_THRESHOLD
+     */
+    public SlowOperationLog getSlowOperationLog() {
+        return client.getSlowOperationLog();
+    }
+
     /**
      * Inspects passed exception and closes the connection if appropriate.
      *
@@ -735,12 +774,27 @@ public class SQLConnection implements Connection {
 
         SQLTarantoolClientImpl(String address, TarantoolClientConfig config) {
             super(address, config);
-            msgPackLite = SQLMsgPackLite.INSTANCE;
+            msgPackLite = makeMsgPackLite(config);
         }
 
         SQLTarantoolClientImpl(SocketChannelProvider socketProvider, TarantoolClientConfig config) {
             super(socketProvider, config);
-            msgPackLite = SQLMsgPackLite.INSTANCE;
+            msgPackLite = makeMsgPackLite(config);
+        }
+
+        private SQLMsgPackLite makeMsgPackLite(TarantoolClientConfig config) {
+            if (config.stringCacheSize <= 0 &&
+                config.maxDecodingDepth == MsgPackLite.DEFAULT_MAX_DEPTH &&
+                config.maxCollectionSize == MsgPackLite.DEFAULT_MAX_COLLECTION_SIZE &&
+                !config.useExtensionTypes) {
+                return SQLMsgPackLite.INSTANCE;
+            }
+            return new SQLMsgPackLite(
+                config.stringCacheSize > 0 ? new StringCache(config.stringCacheSize) : null,
+                config.maxDecodingDepth,
+                config.maxCollectionSize,
+                config.useExtensionTypes
+            );
         }
 
         SQLRawOps sqlRawOps() {
@@ -3,6 +3,7 @@ package org.tarantool.jdbc;
 import org.tarantool.SocketChannelProvider;
 import org.tarantool.TarantoolClientConfig;
 import org.tarantool.util.SQLStates;
+import org.tarantool.util.StringUtils;
 
 import java.net.URI;
 import java.sql.Connection;
@@ -25,6 +26,12 @@ public class SQLDriver implements Driver {
         }
     }
 
+    /**
+     * Host name which denotes a Unix domain socket address
+     * when it is followed by an empty port and a path.
+     */
+    private static final String UNIX_SOCKET_HOST = "unix";
+
     private final Map<String, SocketChannelProvider> providerCache = new ConcurrentHashMap<>();
 
     @Override
@@ -82,7 +89,10 @@ public class SQLDriver implements Driver {
                 }
             }
         }
-        if (uri.getHost() != null) {
+        if (isUnixSocketUri(uri)) {
+            // jdbc:tarantool://unix:/path/to/socket addresses a Unix domain socket.
+            urlProperties.setProperty(SQLProperty.HOST.getName(), UNIX_SOCKET_HOST + ":" + uri.getPath());
+        } else if (uri.getHost() != null) {
             // Default values are pre-put above.
             urlProperties.setProperty(SQLProperty.HOST.getName(), uri.getHost());
         }
@@ -100,15 +110,21 @@ public class SQLDriver implements Driver {
             throw new SQLException("Port is out of range: " + port, SQLStates.INVALID_PARAMETER_VALUE.getSqlState());
         }
 
-        checkTimeout(SQLProperty.LOGIN_TIMEOUT, urlProperties);
-        checkTimeout(SQLProperty.QUERY_TIMEOUT, urlProperties);
+        checkNonNegative(SQLProperty.LOGIN_TIMEOUT, urlProperties);
+        checkNonNegative(SQLProperty.QUERY_TIMEOUT, urlProperties);
+        checkNonNegative(SQLProperty.SLOW_QUERY_THRESHOLD, urlProperties);
+        checkNonNegative(SQLProperty.STRING_CACHE_SIZE, urlProperties);
 
         return urlProperties;
     }
 
-    private void checkTimeout(SQLProperty sqlProperty, Properties properties) throws SQLException {
-        int timeout = sqlProperty.getInt(properties);
-        if (timeout < 0) {
+    private boolean isUnixSocketUri(URI uri) {
+        return UNIX_SOCKET_HOST.equals(uri.getHost()) && uri.getPort() < 0 && StringUtils.isNotEmpty(uri.getPath());
+    }
+
+    private void checkNonNegative(SQLProperty sqlProperty, Properties properties) throws SQLException {
+        int value = sqlProperty.getInt(properties);
+        if (value < 0) {
             throw new SQLException(
                 "Property " + sqlProperty.getName() + " must not be negative.",
                 SQLStates.INVALID_PARAMETER_VALUE.getSqlState()
@@ -1,6 +1,7 @@
 package org.tarantool.jdbc;
 
 import org.tarantool.MsgPackLite;
+import org.tarantool.StringCache;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -13,6 +14,44 @@ public class SQLMsgPackLite extends MsgPackLite {
 
     public static final SQLMsgPackLite INSTANCE = new SQLMsgPackLite();
 
+    private final boolean useExtensionTypes;
+
+    public SQLMsgPackLite() {
+        this(null);
+    }
+
+    public SQLMsgPackLite(StringCache stringCache) {
+        super(stringCache);
+        this.useExtensionTypes = false;
+    }
+
+    public SQLMsgPackLite(StringCache stringCache, int maxDepth, int maxCollectionSize) {
+        this(stringCache, maxDepth, maxCollectionSize, false);
+    }
+
+    /**
+     * Creates an instance which can encode SQL parameters using
+     * the Tarantool extension types.
+     *
+     * @param stringCache       cache of decoded strings or {@code null}
+     * @param maxDepth          max nesting depth of arrays and maps
+     * @param maxCollectionSize max number of elements of an array or entries of a map
+     * @param useExtensionTypes whether timestamps and decimals are encoded as
+     *                          datetime and decimal extensions instead of epoch
+     *                          milliseconds and plain strings
+     */
+    public SQLMsgPackLite(StringCache stringCache,
+                          int maxDepth,
+                          int maxCollectionSize,
+                          boolean useExtensionTypes) {
+        super(stringCache, maxDepth, maxCollectionSize);
+        this.useExtensionTypes = useExtensionTypes;
+    }
+
+    public boolean isUseExtensionTypes() {
+        return useExtensionTypes;
+    }
+
     @Override
     public void pack(Object item, OutputStream os) throws IOException {
         if (item instanceof Date) {
@@ -20,8 +59,12 @@ public class SQLMsgPackLite extends MsgPackLite {
         } else if (item instanceof Time) {
             super.pack(((Time) item).getTime(), os);
         } else if (item instanceof Timestamp) {
-            super.pack(((Timestamp) item).getTime(), os);
-        } else if (item instanceof BigDecimal) {
+            if (useExtensionTypes) {
+                super.pack(((Timestamp) item).toInstant(), os);
+            } else {
+                super.pack(((Timestamp) item).getTime(), os);
+            }
+        } else if (item instanceof BigDecimal && !useExtensionTypes) {
             super.pack(((BigDecimal) item).toPlainString(), os);
         } else {
             super.pack(item, os);
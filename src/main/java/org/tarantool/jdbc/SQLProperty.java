@@ -8,7 +8,7 @@ import java.util.Properties;
 public enum SQLProperty {
     HOST(
         "host",
-        "Tarantool server host",
+        "Tarantool server host or unix:/path/to/socket",
         "localhost",
         null,
         true
@@ -56,6 +56,31 @@ public enum SQLProperty {
         "0",
         null,
         false
+    ),
+    SLOW_QUERY_THRESHOLD(
+        "slowQueryThreshold",
+        "The number of milliseconds a query should take to be captured by the slow operation log. " +
+            "The default value is 0 (disabled).",
+        "0",
+        null,
+        false
+    ),
+    STRING_CACHE_SIZE(
+        "stringCacheSize",
+        "The number of distinct short strings such as column names which are decoded once and reused. " +
+            "The default value is 0 (disabled).",
+        "0",
+        null,
+        false
+    ),
+    USE_EXTENSION_TYPES(
+        "useExtensionTypes",
+        "Whether timestamp and decimal parameters are sent as Tarantool datetime and decimal values " +
+            "instead of epoch milliseconds and strings. Requires Tarantool 2.10 or newer. " +
+            "The default value is false.",
+        "false",
+        null,
+        false
     );
 
     private final String name;
@@ -121,6 +146,10 @@ public enum SQLProperty {
         }
     }
 
+    public boolean getBoolean(Properties properties) {
+        return Boolean.parseBoolean(getString(properties));
+    }
+
     public void setInt(Properties properties, int value) {
         setString(properties, Integer.toString(value));
     }
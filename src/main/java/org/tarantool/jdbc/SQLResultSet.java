@@ -30,6 +30,8 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.Calendar;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -105,6 +107,25 @@ public class SQLResultSet implements ResultSet {
         return (Number) getRaw(columnIndex);
     }
 
+    /**
+     * Gets a point in time which is either a datetime
+     * value or a number of milliseconds since the epoch.
+     *
+     * @param columnIndex column index
+     *
+     * @return instant or {@code null}
+     *
+     * @throws SQLException if the value cannot be read
+     */
+    protected Instant getNullableInstant(int columnIndex) throws SQLException {
+        Object raw = getRaw(columnIndex);
+        if (raw instanceof OffsetDateTime) {
+            return ((OffsetDateTime) raw).toInstant();
+        }
+        Number time = (Number) raw;
+        return time == null ? null : Instant.ofEpochMilli(time.longValue());
+    }
+
     @Override
     public void close() throws SQLException {
         if (isClosed.compareAndSet(false, true)) {
@@ -127,6 +148,9 @@ public class SQLResultSet implements ResultSet {
     @Override
     public String getString(int columnIndex) throws SQLException {
         Object raw = getRaw(columnIndex);
+        if (raw instanceof BigDecimal) {
+            return ((BigDecimal) raw).toPlainString();
+        }
         return raw == null ? null : String.valueOf(raw);
     }
 
@@ -207,11 +231,11 @@ public class SQLResultSet implements ResultSet {
 
     @Override
     public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
-        String raw = getString(columnIndex);
+        Object raw = getRaw(columnIndex);
         if (raw == null) {
             return null;
         }
-        BigDecimal bigDecimal = new BigDecimal(raw);
+        BigDecimal bigDecimal = raw instanceof BigDecimal ? (BigDecimal) raw : new BigDecimal(String.valueOf(raw));
         return scale > -1 ? bigDecimal.setScale(scale) : bigDecimal;
     }
 
@@ -242,8 +266,8 @@ public class SQLResultSet implements ResultSet {
 
     @Override
     public Date getDate(int columnIndex) throws SQLException {
-        Number time = getNullableNumber(columnIndex);
-        return time == null ? null : new java.sql.Date(time.longValue());
+        Instant time = getNullableInstant(columnIndex);
+        return time == null ? null : new java.sql.Date(time.toEpochMilli());
     }
 
     @Override
@@ -263,8 +287,8 @@ public class SQLResultSet implements ResultSet {
 
     @Override
     public Time getTime(int columnIndex) throws SQLException {
-        Number time = getNullableNumber(columnIndex);
-        return time == null ? null : new java.sql.Time(time.longValue());
+        Instant time = getNullableInstant(columnIndex);
+        return time == null ? null : new java.sql.Time(time.toEpochMilli());
     }
 
     @Override
@@ -284,8 +308,8 @@ public class SQLResultSet implements ResultSet {
 
     @Override
     public Timestamp getTimestamp(int columnIndex) throws SQLException {
-        Number time = getNullableNumber(columnIndex);
-        return time == null ? null : new java.sql.Timestamp(time.longValue());
+        Instant time = getNullableInstant(columnIndex);
+        return time == null ? null : java.sql.Timestamp.from(time);
     }
 
     @Override
@@ -151,6 +151,16 @@ public class SQLDataSource implements TarantoolDataSource, DataSource {
         SQLProperty.QUERY_TIMEOUT.setInt(properties, (int) TimeUnit.SECONDS.toMillis(seconds));
     }
 
+    @Override
+    public int getSlowQueryThreshold() throws SQLException {
+        return SQLProperty.SLOW_QUERY_THRESHOLD.getInt(properties);
+    }
+
+    @Override
+    public void setSlowQueryThreshold(int millis) {
+        SQLProperty.SLOW_QUERY_THRESHOLD.setInt(properties, millis);
+    }
+
     private String makeUrl() {
         return "jdbc:tarantool://" +
             SQLProperty.HOST.getString(properties) + ":" + SQLProperty.PORT.getString(properties);
@@ -37,4 +37,8 @@ public interface TarantoolDataSource {
 
     void setQueryTimeout(int seconds) throws SQLException;
 
+    int getSlowQueryThreshold() throws SQLException;
+
+    void setSlowQueryThreshold(int millis) throws SQLException;
+
 }
@@ -0,0 +1,32 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when the cluster client has polled
+ * the discovery function for a list of instances.
+ */
+@Name("org.tarantool.DiscoveryRefresh")
+@Label("Tarantool Discovery Refresh")
+@Description("The cluster client has polled a list of instances")
+@Category({ "Tarantool", "Cluster" })
+@StackTrace(false)
+public final class DiscoveryRefreshEvent extends Event {
+
+    @Label("Instances")
+    @Description("Number of discovered instances or -1 if the discovery failed")
+    int instances;
+
+    @Label("Changed")
+    @Description("Whether the list of instances has changed since the last refresh")
+    boolean changed;
+
+    @Label("Error")
+    String error;
+
+}
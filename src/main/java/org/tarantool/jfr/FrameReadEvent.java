@@ -0,0 +1,32 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted when the reader has received, decoded and dispatched
+ * a response frame. The duration excludes idle time
+ * spent waiting for the frame to start arriving.
+ */
+@Name("org.tarantool.FrameRead")
+@Label("Tarantool Frame Read")
+@Description("A response frame has been received, decoded and dispatched")
+@Category({ "Tarantool", "I/O" })
+@StackTrace(false)
+@Threshold("20 ms")
+public final class FrameReadEvent extends Event {
+
+    @Label("Sync Id")
+    long syncId;
+
+    @Label("Frame Size")
+    @DataAmount
+    int bytes;
+
+}
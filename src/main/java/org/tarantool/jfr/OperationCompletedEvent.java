@@ -0,0 +1,54 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted when a response has been received and the pending
+ * operation has been completed.
+ * <p>
+ * Disabled by default because it is recorded once per response.
+ */
+@Name("org.tarantool.OperationCompleted")
+@Label("Tarantool Operation Completed")
+@Description("A response has been received and dispatched to the pending operation")
+@Category({ "Tarantool", "Client" })
+@StackTrace(false)
+@Enabled(false)
+public final class OperationCompletedEvent extends Event {
+
+    @Label("Sync Id")
+    long syncId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Space")
+    @Description("Target space id or -1 if the operation is not space-related")
+    int space;
+
+    @Label("Function")
+    @Description("Called function or evaluated expression")
+    String function;
+
+    @Label("Response Size")
+    @DataAmount
+    int bytes;
+
+    @Label("Latency")
+    @Description("Time elapsed since the operation was created")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+
+    @Label("Error Code")
+    @Description("Server error code or 0 if the operation succeeded")
+    long errorCode;
+
+}
@@ -0,0 +1,44 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when a request has been handed over to the
+ * writer (the shared buffer or the socket directly).
+ * <p>
+ * Disabled by default because it is recorded once per request.
+ */
+@Name("org.tarantool.OperationIssued")
+@Label("Tarantool Operation Issued")
+@Description("A request has been written to the shared buffer or directly to the socket")
+@Category({ "Tarantool", "Client" })
+@StackTrace(false)
+@Enabled(false)
+public final class OperationIssuedEvent extends Event {
+
+    @Label("Sync Id")
+    long syncId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Space")
+    @Description("Target space id or -1 if the operation is not space-related")
+    int space;
+
+    @Label("Function")
+    @Description("Called function or evaluated expression")
+    String function;
+
+    @Label("Request Size")
+    @DataAmount
+    int bytes;
+
+}
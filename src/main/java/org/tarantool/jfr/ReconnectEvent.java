@@ -0,0 +1,32 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted when the client has finished (re)connecting
+ * to an instance, whether successfully or not.
+ */
+@Name("org.tarantool.Reconnect")
+@Label("Tarantool Reconnect")
+@Description("The client has (re)established a connection")
+@Category({ "Tarantool", "Client" })
+@StackTrace(false)
+public final class ReconnectEvent extends Event {
+
+    @Label("Cause")
+    @Description("Error that caused the reconnection")
+    String cause;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Address")
+    @Description("Connected instance address or null if the attempt failed")
+    String address;
+
+}
@@ -0,0 +1,39 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted when a JDBC connection has executed an SQL statement.
+ */
+@Name("org.tarantool.SqlExecute")
+@Label("Tarantool SQL Execute")
+@Description("An SQL statement has been executed via JDBC")
+@Category({ "Tarantool", "JDBC" })
+@StackTrace(false)
+@Threshold("20 ms")
+public final class SqlExecuteEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Parameters")
+    int parameters;
+
+    @Label("Rows")
+    @Description("Number of returned rows or -1 if it is not a query")
+    int rows;
+
+    @Label("Update Count")
+    @Description("Number of affected rows or -1 if it is not an update")
+    int updateCount;
+
+    @Label("Failed")
+    boolean failed;
+
+}
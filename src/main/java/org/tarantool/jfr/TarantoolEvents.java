@@ -0,0 +1,267 @@
+package org.tarantool.jfr;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.protocol.ProtoUtils;
+
+import java.net.SocketAddress;
+
+/**
+ * Entry point to emit the connector's Java Flight Recorder events.
+ * <p>
+ * All methods are no-ops when the JVM does not provide the
+ * {@code jdk.jfr} API or when the corresponding event type is not
+ * enabled in any running recording. Durational events are started by
+ * {@code begin*} methods which return {@code null} in such cases, so
+ * the callers pay for a single check while recording is off.
+ * <p>
+ * The events which are recorded once per request or response are
+ * disabled by default and can be turned on using a custom recording
+ * settings file, for instance:
+ * <pre>
+ * &lt;event name="org.tarantool.OperationCompleted"&gt;
+ *   &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ * &lt;/event&gt;
+ * </pre>
+ */
+public final class TarantoolEvents {
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    private TarantoolEvents() {
+    }
+
+    /**
+     * Records a request that has been passed to the writer.
+     *
+     * @param syncId request id
+     * @param code   operation code
+     * @param args   operation arguments
+     * @param bytes  request size
+     */
+    public static void operationIssued(long syncId, Code code, Object[] args, int bytes) {
+        if (!AVAILABLE) {
+            return;
+        }
+        OperationIssuedEvent event = new OperationIssuedEvent();
+        if (event.isEnabled()) {
+            event.syncId = syncId;
+            event.operation = code.name();
+            event.space = findSpace(args);
+            event.function = findFunction(args);
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a response that completed a pending operation.
+     *
+     * @param syncId     request id
+     * @param code       operation code
+     * @param args       operation arguments
+     * @param bytes      response size
+     * @param startNanos time the operation was created at, in terms of {@link System#nanoTime()}
+     * @param errorCode  server error code or {@code 0}
+     */
+    public static void operationCompleted(long syncId,
+                                          Code code,
+                                          Object[] args,
+                                          int bytes,
+                                          long startNanos,
+                                          long errorCode) {
+        if (!AVAILABLE) {
+            return;
+        }
+        OperationCompletedEvent event = new OperationCompletedEvent();
+        if (event.isEnabled()) {
+            event.latency = System.nanoTime() - startNanos;
+            event.syncId = syncId;
+            event.operation = code.name();
+            event.space = findSpace(args);
+            event.function = findFunction(args);
+            event.bytes = bytes;
+            event.errorCode = errorCode;
+            event.commit();
+        }
+    }
+
+    public static WriterFlushEvent beginWriterFlush() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        WriterFlushEvent event = new WriterFlushEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void commitWriterFlush(WriterFlushEvent event, int bytes, boolean direct) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bytes = bytes;
+                event.direct = direct;
+                event.commit();
+            }
+        }
+    }
+
+    public static FrameReadEvent beginFrameRead() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        FrameReadEvent event = new FrameReadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void commitFrameRead(FrameReadEvent event, long syncId, int bytes) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.syncId = syncId;
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    public static ReconnectEvent beginReconnect(Throwable cause) {
+        if (!AVAILABLE) {
+            return null;
+        }
+        ReconnectEvent event = new ReconnectEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.cause = cause == null ? null : String.valueOf(cause.getMessage());
+        return event;
+    }
+
+    /**
+     * Finishes a reconnection event.
+     *
+     * @param event    event to be committed
+     * @param attempts number of attempts made
+     * @param address  connected address or {@code null} if the client failed to connect
+     */
+    public static void commitReconnect(ReconnectEvent event, int attempts, SocketAddress address) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.attempts = attempts;
+                event.address = address == null ? null : address.toString();
+                event.commit();
+            }
+        }
+    }
+
+    public static DiscoveryRefreshEvent beginDiscoveryRefresh() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        DiscoveryRefreshEvent event = new DiscoveryRefreshEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes a discovery event.
+     *
+     * @param event     event to be committed
+     * @param instances number of discovered instances or {@code -1}
+     * @param changed   whether the instances list differs from the previous one
+     * @param error     discovery error or {@code null}
+     */
+    public static void commitDiscoveryRefresh(DiscoveryRefreshEvent event,
+                                              int instances,
+                                              boolean changed,
+                                              Exception error) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.instances = instances;
+                event.changed = changed;
+                event.error = error == null ? null : String.valueOf(error.getMessage());
+                event.commit();
+            }
+        }
+    }
+
+    public static SqlExecuteEvent beginSqlExecute() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        SqlExecuteEvent event = new SqlExecuteEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes an SQL execution event.
+     *
+     * @param event       event to be committed
+     * @param sql         SQL text
+     * @param parameters  number of bound parameters
+     * @param rows        number of returned rows or {@code -1}
+     * @param updateCount number of affected rows or {@code -1}
+     * @param failed      whether the execution has failed
+     */
+    public static void commitSqlExecute(SqlExecuteEvent event,
+                                        String sql,
+                                        int parameters,
+                                        int rows,
+                                        int updateCount,
+                                        boolean failed) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sql = sql;
+                event.parameters = parameters;
+                event.rows = rows;
+                event.updateCount = updateCount;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static int findSpace(Object[] args) {
+        Object space = ProtoUtils.findArgument(args, Key.SPACE);
+        return space instanceof Number ? ((Number) space).intValue() : -1;
+    }
+
+    private static String findFunction(Object[] args) {
+        Object function = ProtoUtils.findArgument(args, Key.FUNCTION);
+        if (function == null) {
+            function = ProtoUtils.findArgument(args, Key.EXPRESSION);
+        }
+        if (function == null) {
+            function = ProtoUtils.findArgument(args, Key.SQL_TEXT);
+        }
+        return function == null ? null : function.toString();
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, TarantoolEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.tarantool.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Emitted when a batch of requests (or a single large one)
+ * has been written to the socket.
+ */
+@Name("org.tarantool.WriterFlush")
+@Label("Tarantool Writer Flush")
+@Description("Requests have been written to the socket")
+@Category({ "Tarantool", "I/O" })
+@StackTrace(false)
+@Threshold("20 ms")
+public final class WriterFlushEvent extends Event {
+
+    @Label("Bytes Written")
+    @DataAmount
+    int bytes;
+
+    @Label("Direct")
+    @Description("Whether the request bypassed the shared buffer")
+    boolean direct;
+
+}
@@ -1,12 +1,14 @@
 package org.tarantool.protocol;
 
+import org.tarantool.BoundedInput;
+
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 /**
  * Input stream based on ByteBuffer.
  */
-class ByteBufferBackedInputStream extends InputStream {
+public class ByteBufferBackedInputStream extends InputStream implements BoundedInput {
 
     private final ByteBuffer buf;
 
@@ -41,6 +43,21 @@ class ByteBufferBackedInputStream extends InputStream {
         return buf.remaining();
     }
 
+    @Override
+    public int remaining() {
+        return buf.remaining();
+    }
+
+    /**
+     * Gets the underlying buffer, so a decoder can read it
+     * directly. Its position is the position of the stream.
+     *
+     * @return backing buffer
+     */
+    public ByteBuffer getBuffer() {
+        return buf;
+    }
+
     public boolean hasAvailable() {
         return available() > 0;
     }
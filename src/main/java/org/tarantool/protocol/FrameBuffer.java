@@ -0,0 +1,102 @@
+package org.tarantool.protocol;
+
+import java.lang.ref.PhantomReference;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference-counted handle of an off-heap buffer a response
+ * frame is read into.
+ * <p>
+ * A handle is created with a single reference owned by the client,
+ * which releases it once the operation is completed. A result which
+ * keeps referring to the frame bytes, for instance a {@link org.tarantool.TupleView},
+ * has to {@link #retain()} the handle and {@link #release()} it when
+ * it is no longer used. The buffer returns to its pool when the last
+ * reference is released, so the bytes must not be accessed after that.
+ *
+ * @see FrameBufferPool
+ */
+public final class FrameBuffer {
+
+    private final FrameBufferPool pool;
+    private final ByteBuffer buffer;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    /**
+     * Allocation site tracker which is set if the leak detection is enabled.
+     */
+    private PhantomReference<FrameBuffer> tracker;
+
+    FrameBuffer(FrameBufferPool pool, ByteBuffer buffer) {
+        this.pool = pool;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Gets the frame bytes.
+     *
+     * @return new view of the buffer ready to be read
+     *
+     * @throws IllegalStateException if the frame is released
+     */
+    public ByteBuffer getBuffer() {
+        if (refCount.get() <= 0) {
+            throw new IllegalStateException("Frame buffer is released");
+        }
+        return buffer.duplicate();
+    }
+
+    /**
+     * Adds a reference to the frame.
+     *
+     * @return this handle
+     *
+     * @throws IllegalStateException if the frame is already released
+     */
+    public FrameBuffer retain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Frame buffer is released");
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Removes a reference to the frame returning
+     * the buffer to its pool if it is the last one.
+     *
+     * @return whether the frame has been released
+     *
+     * @throws IllegalStateException if the frame is already released
+     */
+    public boolean release() {
+        int count = refCount.decrementAndGet();
+        if (count < 0) {
+            refCount.incrementAndGet();
+            throw new IllegalStateException("Frame buffer is released");
+        }
+        if (count > 0) {
+            return false;
+        }
+        pool.recycle(buffer, tracker);
+        tracker = null;
+        return true;
+    }
+
+    public int refCount() {
+        return Math.max(0, refCount.get());
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    void setTracker(PhantomReference<FrameBuffer> tracker) {
+        this.tracker = tracker;
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.tarantool.protocol;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pool of off-heap buffers response frames are read into.
+ * <p>
+ * Buffers are allocated by power of two size classes starting from
+ * {@value #MIN_BUFFER_SIZE} bytes and are reused by the frames of the
+ * same class, so large responses neither occupy the Java heap nor
+ * allocate direct memory in steady state. Released buffers are kept
+ * while the total size of the free ones does not exceed the pool size,
+ * the others as well as the frames larger than the pool size are left
+ * to the garbage collector.
+ * <p>
+ * If a leak listener is set, the pool records where each frame is
+ * allocated and reports the frames which have become unreachable
+ * without being released. It is costly and is meant for debugging.
+ * <p>
+ * The pool is thread-safe: frames are allocated by the reader
+ * thread and can be released by any thread.
+ *
+ * @see FrameBuffer
+ */
+public class FrameBufferPool {
+
+    static final int MIN_BUFFER_SIZE = 4 * 1024;
+    private static final int MIN_SIZE_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+
+    private final long maxFreeSize;
+    private final List<Queue<ByteBuffer>> freeBuffers;
+    private final AtomicLong freeSize = new AtomicLong();
+
+    private final Consumer<Throwable> leakListener;
+    private final ReferenceQueue<FrameBuffer> collected = new ReferenceQueue<>();
+    private final Set<Reference<FrameBuffer>> trackers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    /**
+     * Creates a pool.
+     *
+     * @param maxFreeSize  max total size of the buffers kept for reuse
+     * @param leakListener optional listener of the leaked frames which
+     *                     receives an exception showing where a frame
+     *                     has been allocated
+     */
+    public FrameBufferPool(long maxFreeSize, Consumer<Throwable> leakListener) {
+        if (maxFreeSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.maxFreeSize = maxFreeSize;
+        this.leakListener = leakListener;
+        int classes = sizeClass((int) Math.min(maxFreeSize, 1 << 30)) + 1;
+        this.freeBuffers = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            freeBuffers.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Gets a frame buffer.
+     *
+     * @param size frame size
+     *
+     * @return new handle which buffer has exactly {@code size}
+     *     bytes remaining
+     */
+    public FrameBuffer allocate(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Frame size must not be negative");
+        }
+        reportLeaks();
+        int sizeClass = sizeClass(size);
+        ByteBuffer buffer;
+        if (sizeClass < freeBuffers.size()) {
+            buffer = freeBuffers.get(sizeClass).poll();
+            if (buffer != null) {
+                freeSize.addAndGet(-buffer.capacity());
+            } else {
+                buffer = ByteBuffer.allocateDirect(MIN_BUFFER_SIZE << sizeClass);
+            }
+        } else {
+            buffer = ByteBuffer.allocateDirect(size);
+        }
+        buffer.clear().limit(size);
+        FrameBuffer frame = new FrameBuffer(this, buffer);
+        if (leakListener != null) {
+            Tracker tracker = new Tracker(frame, collected, size);
+            trackers.add(tracker);
+            frame.setTracker(tracker);
+        }
+        return frame;
+    }
+
+    /**
+     * Gets the number of frames reported as leaked.
+     *
+     * @return number of frames
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    /**
+     * Gets the total size of the buffers kept for reuse.
+     *
+     * @return size in bytes
+     */
+    public long getFreeSize() {
+        return freeSize.get();
+    }
+
+    public long getMaxFreeSize() {
+        return maxFreeSize;
+    }
+
+    /**
+     * Checks the frames collected since the last check
+     * and reports those which have not been released.
+     */
+    public void reportLeaks() {
+        if (leakListener == null) {
+            return;
+        }
+        Reference<? extends FrameBuffer> reference;
+        while ((reference = collected.poll()) != null) {
+            if (trackers.remove(reference)) {
+                leakCount.incrementAndGet();
+                try {
+                    leakListener.accept(((Tracker) reference).site);
+                } catch (RuntimeException ignored) {
+                    // no-op
+                }
+            }
+        }
+    }
+
+    void recycle(ByteBuffer buffer, Reference<FrameBuffer> tracker) {
+        if (tracker != null) {
+            trackers.remove(tracker);
+            tracker.clear();
+        }
+        int sizeClass = sizeClass(buffer.capacity());
+        if (sizeClass >= freeBuffers.size() || (MIN_BUFFER_SIZE << sizeClass) != buffer.capacity()) {
+            return;
+        }
+        if (freeSize.addAndGet(buffer.capacity()) > maxFreeSize) {
+            freeSize.addAndGet(-buffer.capacity());
+            return;
+        }
+        freeBuffers.get(sizeClass).offer(buffer);
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_SHIFT;
+    }
+
+    private static final class Tracker extends PhantomReference<FrameBuffer> {
+
+        private final Throwable site;
+
+        Tracker(FrameBuffer frame, ReferenceQueue<FrameBuffer> queue, int size) {
+            super(frame, queue);
+            this.site = new Throwable("Frame buffer of " + size + " bytes is not released. It was allocated at");
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.tarantool.protocol;
+
+import org.tarantool.BoundedInput;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Input stream over a single tarantool's binary protocol packet which
+ * is read from a channel by fixed size chunks as it is consumed.
+ * <p>
+ * The stream never reads beyond the packet bounds, so the channel
+ * is positioned at the next packet once this stream is exhausted.
+ */
+public class FrameInputStream extends InputStream implements BoundedInput {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final int frameSize;
+    private final ByteBuffer chunk;
+
+    /**
+     * Number of the packet bytes which are not read from the channel yet.
+     */
+    private int unread;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param channel   readable channel that have to be in blocking mode
+     *                  or instance of {@link ReadableViaSelectorChannel}
+     * @param frameSize packet size excluding the size prefix
+     * @param chunkSize max number of bytes to be read at once
+     */
+    public FrameInputStream(ReadableByteChannel channel, int frameSize, int chunkSize) {
+        if (frameSize < 0) {
+            throw new IllegalArgumentException("Frame size cannot be negative");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size should be positive");
+        }
+        this.channel = channel;
+        this.frameSize = frameSize;
+        this.unread = frameSize;
+        this.chunk = ByteBuffer.allocate(Math.min(frameSize, chunkSize));
+        this.chunk.limit(0);
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!chunk.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chunk.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!chunk.hasRemaining() && !fill()) {
+            return -1;
+        }
+        int count = Math.min(len, chunk.remaining());
+        chunk.get(bytes, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chunk.remaining();
+    }
+
+    /**
+     * Gets a number of the packet bytes which are not consumed yet.
+     *
+     * @return number of bytes
+     */
+    @Override
+    public int remaining() {
+        return chunk.remaining() + unread;
+    }
+
+    /**
+     * Reads the rest of the packet into a new buffer.
+     *
+     * @return buffer ready to be read
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    public ByteBuffer readRemaining() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(remaining());
+        readRemaining(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads the rest of the packet into a buffer.
+     *
+     * @param buffer buffer which has at least {@link #remaining()} bytes remaining
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    public void readRemaining(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < remaining()) {
+            throw new IllegalArgumentException("Buffer is smaller than the rest of the packet");
+        }
+        int end = buffer.position() + remaining();
+        buffer.put(chunk);
+        int limit = buffer.limit();
+        buffer.limit(end);
+        readFully(buffer);
+        buffer.limit(limit);
+        unread = 0;
+    }
+
+    /**
+     * Consumes the rest of the packet without keeping it.
+     *
+     * @throws IOException if the channel cannot be read
+     */
+    public void skipRemaining() throws IOException {
+        chunk.position(chunk.limit());
+        while (fill()) {
+            chunk.position(chunk.limit());
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (unread == 0) {
+            return false;
+        }
+        chunk.clear();
+        chunk.limit(Math.min(chunk.capacity(), unread));
+        readFully(chunk);
+        unread -= chunk.position();
+        chunk.flip();
+        return true;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Channel is closed while reading a packet");
+            }
+        }
+    }
+
+}
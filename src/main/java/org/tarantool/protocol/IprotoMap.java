@@ -0,0 +1,241 @@
+package org.tarantool.protocol;
+
+import org.tarantool.Key;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact map of IPROTO packet headers or body entries.
+ * <p>
+ * Values of the keys known by {@link Key} are kept in a small array
+ * of slots indexed by the key id, so a packet map is a single object
+ * with an array instead of a hash table with a node per entry, and
+ * {@link #get(int)} does not box the key. Unknown keys are kept in
+ * an overflow map which is created only when such a key appears.
+ */
+public class IprotoMap extends AbstractMap<Integer, Object> {
+
+    private static final int[] SLOTS;
+    private static final int[] IDS;
+
+    static {
+        int maxId = 0;
+        for (Key key : Key.values()) {
+            maxId = Math.max(maxId, key.getId());
+        }
+        SLOTS = new int[maxId + 1];
+        Arrays.fill(SLOTS, -1);
+        int[] ids = new int[SLOTS.length];
+        int count = 0;
+        for (Key key : Key.values()) {
+            if (SLOTS[key.getId()] < 0) {
+                SLOTS[key.getId()] = count;
+                ids[count++] = key.getId();
+            }
+        }
+        if (count > Long.SIZE) {
+            throw new IllegalStateException("Too many IPROTO keys for a slot bitmask");
+        }
+        IDS = Arrays.copyOf(ids, count);
+    }
+
+    private final Object[] values = new Object[IDS.length];
+    private long present;
+    private Map<Integer, Object> overflow;
+
+    /**
+     * Gets a value by a key id without boxing the key.
+     *
+     * @param id key id
+     *
+     * @return value or {@code null}
+     */
+    public Object get(int id) {
+        int slot = slot(id);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        return overflow == null ? null : overflow.get(id);
+    }
+
+    public Object get(Key key) {
+        return get(key.getId());
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    /**
+     * Sets a value by a key id without boxing the key
+     * if the key is known.
+     *
+     * @param id    key id
+     * @param value value
+     *
+     * @return previous value or {@code null}
+     */
+    public Object set(int id, Object value) {
+        int slot = slot(id);
+        if (slot < 0) {
+            if (overflow == null) {
+                overflow = new HashMap<>();
+            }
+            return overflow.put(id, value);
+        }
+        Object previous = values[slot];
+        values[slot] = value;
+        present |= 1L << slot;
+        return previous;
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return set(key, value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Integer)) {
+            return false;
+        }
+        int slot = slot((Integer) key);
+        if (slot >= 0) {
+            return (present & (1L << slot)) != 0;
+        }
+        return overflow != null && overflow.containsKey(key);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int slot = slot((Integer) key);
+        if (slot < 0) {
+            return overflow == null ? null : overflow.remove(key);
+        }
+        Object previous = values[slot];
+        values[slot] = null;
+        present &= ~(1L << slot);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(present) + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        present = 0;
+        overflow = null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Object>> entrySet() {
+        return new AbstractSet<Entry<Integer, Object>>() {
+            @Override
+            public Iterator<Entry<Integer, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return IprotoMap.this.size();
+            }
+        };
+    }
+
+    private static int slot(int id) {
+        return id >= 0 && id < SLOTS.length ? SLOTS[id] : -1;
+    }
+
+    /**
+     * Iterates over the known keys in the slot order
+     * and then over the overflow entries.
+     */
+    private class EntryIterator implements Iterator<Entry<Integer, Object>> {
+
+        private long remaining = present;
+        private int lastSlot = -1;
+        private Iterator<Entry<Integer, Object>> overflowIterator;
+
+        @Override
+        public boolean hasNext() {
+            return remaining != 0 || overflowIterator().hasNext();
+        }
+
+        @Override
+        public Entry<Integer, Object> next() {
+            if (remaining != 0) {
+                int slot = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                lastSlot = slot;
+                return new SlotEntry(slot);
+            }
+            lastSlot = -1;
+            if (!overflowIterator().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return overflowIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                values[lastSlot] = null;
+                present &= ~(1L << lastSlot);
+                lastSlot = -1;
+            } else {
+                overflowIterator().remove();
+            }
+        }
+
+        private Iterator<Entry<Integer, Object>> overflowIterator() {
+            if (overflowIterator == null) {
+                overflowIterator = overflow == null
+                    ? Collections.<Entry<Integer, Object>>emptyIterator()
+                    : overflow.entrySet().iterator();
+            }
+            return overflowIterator;
+        }
+
+    }
+
+    /**
+     * Entry of a known key which writes a new value through to its slot
+     * while the key is present.
+     */
+    private final class SlotEntry extends SimpleEntry<Integer, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int slot;
+
+        SlotEntry(int slot) {
+            super(IDS[slot], values[slot]);
+            this.slot = slot;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if ((present & (1L << slot)) != 0) {
+                values[slot] = value;
+            }
+            return super.setValue(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,277 @@
+package org.tarantool.protocol;
+
+import org.tarantool.GatheringOutput;
+import org.tarantool.StreamedBinary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+/**
+ * Growable byte array output stream a request is encoded into.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream} it is not synchronized,
+ * can be reserved up-front and is reused between requests by
+ * {@link PacketBufferPool}. The capacity is at least doubled on each
+ * growth, so the number of copies is logarithmic in the packet size.
+ * <p>
+ * Binary payloads of the reference threshold size or larger are not
+ * copied but referenced, so the packet consists of several segments
+ * which are obtained by {@link #toByteBuffers()} and sent with a single
+ * gathering write. {@link StreamedBinary} values are referenced as well
+ * and read while the packet is written by {@link #writeTo(GatheringByteChannel, ByteBuffer)}.
+ */
+public class PacketBuffer extends OutputStream implements GatheringOutput {
+
+    private byte[] buf;
+    private int count;
+    private boolean acquired;
+
+    private int referenceThreshold;
+    private Object[] references = new Object[0];
+    private int[] referenceOffsets = new int[0];
+    private int referenceCount;
+    private int referencedSize;
+    private int streamCount;
+
+    public PacketBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.buf = new byte[capacity];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * References a payload instead of copying it
+     * if it is not less than the reference threshold.
+     *
+     * @param payload bytes to be appended
+     *
+     * @return whether the payload has been referenced
+     */
+    @Override
+    public boolean writeReference(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (referenceThreshold <= 0 || length < referenceThreshold) {
+            return false;
+        }
+        addReference(payload.slice(), length);
+        return true;
+    }
+
+    /**
+     * References a streamed value unless the references
+     * are disabled by the zero threshold.
+     *
+     * @param value value to be read when the packet is written
+     *
+     * @return whether the value has been referenced
+     */
+    @Override
+    public boolean writeStream(StreamedBinary value) {
+        if (referenceThreshold <= 0) {
+            return false;
+        }
+        addReference(value, value.getSize());
+        streamCount++;
+        return true;
+    }
+
+    private void addReference(Object reference, int length) {
+        if (length > Integer.MAX_VALUE - count - referencedSize) {
+            throw new OutOfMemoryError("Packet is too large");
+        }
+        if (referenceCount == references.length) {
+            int newLength = Math.max(4, referenceCount * 2);
+            references = Arrays.copyOf(references, newLength);
+            referenceOffsets = Arrays.copyOf(referenceOffsets, newLength);
+        }
+        references[referenceCount] = reference;
+        referenceOffsets[referenceCount] = count;
+        referenceCount++;
+        referencedSize += length;
+    }
+
+    /**
+     * Makes sure the buffer can hold at least {@code capacity}
+     * bytes without growing.
+     *
+     * @param capacity required capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new OutOfMemoryError("Packet is too large");
+        }
+        if (capacity > buf.length) {
+            int newCapacity = Math.max(buf.length << 1, capacity);
+            buf = Arrays.copyOf(buf, newCapacity < 0 ? Integer.MAX_VALUE - 8 : newCapacity);
+        }
+    }
+
+    /**
+     * Gets the number of bytes written into the buffer
+     * itself, not including the referenced payloads.
+     *
+     * @return size in bytes
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the number of bytes of the whole packet
+     * including the referenced payloads.
+     *
+     * @return size in bytes
+     */
+    public int getPacketSize() {
+        return count + referencedSize;
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+
+    public boolean hasReferences() {
+        return referenceCount > 0;
+    }
+
+    public boolean hasStreams() {
+        return streamCount > 0;
+    }
+
+    public int getReferenceThreshold() {
+        return referenceThreshold;
+    }
+
+    /**
+     * Sets the min size of a payload to be referenced.
+     *
+     * @param referenceThreshold size in bytes or {@code 0}
+     *                           to copy all the payloads
+     */
+    public void setReferenceThreshold(int referenceThreshold) {
+        this.referenceThreshold = referenceThreshold;
+    }
+
+    public void reset() {
+        count = 0;
+        Arrays.fill(references, 0, referenceCount, null);
+        referenceCount = 0;
+        referencedSize = 0;
+        streamCount = 0;
+    }
+
+    /**
+     * Copies the packet, so it can be written after this buffer is
+     * reused. The referenced payloads and streams are not copied.
+     *
+     * @return new buffer holding the same packet
+     */
+    public PacketBuffer copy() {
+        PacketBuffer copy = new PacketBuffer(count);
+        copy.write(buf, 0, count);
+        copy.referenceThreshold = referenceThreshold;
+        copy.references = Arrays.copyOf(references, referenceCount);
+        copy.referenceOffsets = Arrays.copyOf(referenceOffsets, referenceCount);
+        copy.referenceCount = referenceCount;
+        copy.referencedSize = referencedSize;
+        copy.streamCount = streamCount;
+        return copy;
+    }
+
+    /**
+     * Wraps the bytes written into the buffer without copying.
+     * The returned buffer is valid until the next write to this
+     * stream. If there are referenced payloads, it does not
+     * contain them and the packet is {@link #toByteBuffers()}.
+     *
+     * @return buffer containing the written bytes
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    /**
+     * Gets the packet segments in order: the bytes written
+     * into the buffer interleaved with the referenced payloads.
+     *
+     * @return buffers to be written by a gathering write
+     *
+     * @throws IllegalStateException if there are streamed values
+     */
+    public ByteBuffer[] toByteBuffers() {
+        if (hasStreams()) {
+            throw new IllegalStateException("Packet with streamed values cannot be wrapped");
+        }
+        return segments(0, referenceCount);
+    }
+
+    /**
+     * Writes the packet out. The segments between the streamed values
+     * are sent by gathering writes, the streamed values are transferred
+     * from their channels.
+     *
+     * @param channel target channel
+     * @param chunk   buffer to copy streamed values which are not files
+     *
+     * @throws IOException if the packet cannot be written
+     */
+    public void writeTo(GatheringByteChannel channel, ByteBuffer chunk) throws IOException {
+        int first = 0;
+        for (int i = 0; i < referenceCount; i++) {
+            if (references[i] instanceof StreamedBinary) {
+                ProtoUtils.writeFully(channel, segments(first, i));
+                ((StreamedBinary) references[i]).transferTo(channel, chunk);
+                first = i + 1;
+            }
+        }
+        ProtoUtils.writeFully(channel, segments(first, referenceCount));
+    }
+
+    /**
+     * Gets the segments starting after the reference {@code from - 1}
+     * and ending by the bytes written after the reference {@code to - 1}
+     * up to the next reference or the end.
+     */
+    private ByteBuffer[] segments(int from, int to) {
+        ByteBuffer[] buffers = new ByteBuffer[(to - from) * 2 + 1];
+        int offset = from == 0 ? 0 : referenceOffsets[from - 1];
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            buffers[index++] = ByteBuffer.wrap(buf, offset, referenceOffsets[i] - offset);
+            buffers[index++] = ((ByteBuffer) references[i]).duplicate();
+            offset = referenceOffsets[i];
+        }
+        int end = to < referenceCount ? referenceOffsets[to] : count;
+        buffers[index] = ByteBuffer.wrap(buf, offset, end - offset);
+        return buffers;
+    }
+
+    boolean isAcquired() {
+        return acquired;
+    }
+
+    void setAcquired(boolean acquired) {
+        this.acquired = acquired;
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.tarantool.protocol;
+
+import org.tarantool.Code;
+
+/**
+ * Per-thread pool of request encoding buffers.
+ * <p>
+ * Each thread keeps a single {@link PacketBuffer} which is reused
+ * by the requests it issues, so no buffer is allocated per request
+ * in steady state. A buffer is reserved up-front to the estimated
+ * size of the request code. The estimate is a decaying peak of the
+ * recent request sizes: it follows a larger request immediately and
+ * slowly goes down to the smaller ones, so a buffer rarely grows while
+ * a request is encoded. Buffers which have grown beyond the max retained
+ * size are replaced by smaller ones after use not to hold large tuples.
+ * <p>
+ * The pool is safe to be shared between threads. The estimates are
+ * updated without synchronization as they are only sizing hints.
+ */
+public class PacketBufferPool {
+
+    /**
+     * Speed of the estimate decay: a smaller request
+     * takes 1/16 of the difference off the estimate.
+     */
+    private static final int DECAY_SHIFT = 4;
+
+    private final int initialSize;
+    private final int maxRetainedSize;
+    private final int referenceThreshold;
+    private final int[] estimates = new int[Code.values().length];
+    private final ThreadLocal<PacketBuffer> buffers;
+
+    /**
+     * Creates a pool.
+     *
+     * @param initialSize     initial size of a request which code
+     *                        has not been seen yet
+     * @param maxRetainedSize max capacity of a buffer kept by a thread
+     *                        between requests
+     */
+    public PacketBufferPool(int initialSize, int maxRetainedSize) {
+        this(initialSize, maxRetainedSize, 0);
+    }
+
+    /**
+     * Creates a pool of buffers which reference large binary payloads.
+     *
+     * @param initialSize        initial size of a request which code
+     *                           has not been seen yet
+     * @param maxRetainedSize    max capacity of a buffer kept by a thread
+     *                           between requests
+     * @param referenceThreshold min size of a payload to be referenced
+     *                           or {@code 0} to copy all the payloads
+     *
+     * @see PacketBuffer#setReferenceThreshold(int)
+     */
+    public PacketBufferPool(int initialSize, int maxRetainedSize, int referenceThreshold) {
+        if (initialSize <= 0 || maxRetainedSize < initialSize) {
+            throw new IllegalArgumentException(
+                "Initial size must be positive and not greater than the max retained size"
+            );
+        }
+        if (referenceThreshold < 0) {
+            throw new IllegalArgumentException("Reference threshold must not be negative");
+        }
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+        this.referenceThreshold = referenceThreshold;
+        this.buffers = ThreadLocal.withInitial(() -> new PacketBuffer(initialSize));
+    }
+
+    /**
+     * Gets an empty buffer of the current thread reserved for
+     * a request of the given code. If the buffer is still in use
+     * by the thread, a new one is allocated.
+     *
+     * @param code     request code
+     * @param sizeHint expected request size if it is known
+     *                 beforehand or {@code 0}
+     *
+     * @return empty buffer to be passed back to {@link #release(Code, PacketBuffer)}
+     */
+    public PacketBuffer acquire(Code code, int sizeHint) {
+        int size = Math.max(getEstimatedSize(code), sizeHint);
+        PacketBuffer buffer = buffers.get();
+        if (buffer.isAcquired()) {
+            buffer = new PacketBuffer(size);
+        } else {
+            buffer.reset();
+            buffer.ensureCapacity(size);
+        }
+        buffer.setReferenceThreshold(referenceThreshold);
+        buffer.setAcquired(true);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer after the encoded request has been
+     * written out and updates the size estimate of the code.
+     *
+     * @param code   request code
+     * @param buffer buffer obtained from {@link #acquire(Code, int)}
+     */
+    public void release(Code code, PacketBuffer buffer) {
+        int size = buffer.size();
+        int estimate = estimates[code.ordinal()];
+        estimate = size >= estimate ? size : estimate - ((estimate - size) >> DECAY_SHIFT);
+        estimates[code.ordinal()] = estimate;
+
+        buffer.reset();
+        buffer.setAcquired(false);
+        if (buffer.capacity() > maxRetainedSize && buffers.get() == buffer) {
+            buffers.set(new PacketBuffer(Math.min(Math.max(initialSize, estimate), maxRetainedSize)));
+        }
+    }
+
+    /**
+     * Gets the current size estimate of a request.
+     *
+     * @param code request code
+     *
+     * @return estimated size in bytes including the size prefix
+     */
+    public int getEstimatedSize(Code code) {
+        int estimate = estimates[code.ordinal()];
+        return estimate == 0 ? initialSize : estimate;
+    }
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    public int getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+
+    public int getReferenceThreshold() {
+        return referenceThreshold;
+    }
+
+}
@@ -3,12 +3,11 @@ package org.tarantool.protocol;
 import org.tarantool.Base64;
 import org.tarantool.Code;
 import org.tarantool.CommunicationException;
-import org.tarantool.CountInputStreamImpl;
 import org.tarantool.Key;
 import org.tarantool.MsgPackLite;
+import org.tarantool.PreparedOperation;
 import org.tarantool.TarantoolException;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -16,6 +15,8 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.NonReadableChannelException;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
@@ -25,12 +26,14 @@ import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public abstract class ProtoUtils {
 
     public static final int LENGTH_OF_SIZE_MESSAGE = 5;
 
     private static final int DEFAULT_INITIAL_REQUEST_SIZE = 4096;
+    private static final byte[] SIZE_PLACEHOLDER = new byte[LENGTH_OF_SIZE_MESSAGE];
     private static final String WELCOME = "Tarantool ";
 
     /**
@@ -43,16 +46,16 @@ public abstract class ProtoUtils {
      * @throws IOException in case of any io-error
      */
     public static TarantoolPacket readPacket(InputStream inputStream, MsgPackLite msgPackLite) throws IOException {
-        CountInputStreamImpl msgStream = new CountInputStreamImpl(inputStream);
-
-        int size = ((Number) msgPackLite.unpack(msgStream)).intValue();
-        long mark = msgStream.getBytesRead();
+        int size = ((Number) msgPackLite.unpack(inputStream)).intValue();
+        FrameInputStream frame = new FrameInputStream(
+            Channels.newChannel(inputStream), size, FrameInputStream.DEFAULT_CHUNK_SIZE
+        );
 
-        Map<Integer, Object> headers = (Map<Integer, Object>) msgPackLite.unpack(msgStream);
+        Map<Integer, Object> headers = readMap(frame, msgPackLite, "headers");
 
         Map<Integer, Object> body = null;
-        if (msgStream.getBytesRead() - mark < size) {
-            body = (Map<Integer, Object>) msgPackLite.unpack(msgStream);
+        if (frame.remaining() > 0) {
+            body = readMap(frame, msgPackLite, "body");
         }
 
         return new TarantoolPacket(headers, body);
@@ -72,46 +75,257 @@ public abstract class ProtoUtils {
      */
     public static TarantoolPacket readPacket(ReadableByteChannel bufferReader, MsgPackLite msgPackLite)
         throws CommunicationException, IOException {
+        int size = readPacketSize(bufferReader, msgPackLite);
+        return readPacket(bufferReader, size, msgPackLite);
+    }
 
-        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_OF_SIZE_MESSAGE);
+    /**
+     * Reads a tarantool's binary protocol packet which size prefix
+     * has been already consumed.
+     * <p>
+     * Only the headers are decoded eagerly, the body is decoded
+     * on the first access to {@link TarantoolPacket#getBody()}.
+     *
+     * @param bufferReader readable channel that have to be in blocking mode
+     *                     or instance of {@link ReadableViaSelectorChannel}
+     * @param size         packet size obtained by {@link #readPacketSize(ReadableByteChannel, MsgPackLite)}
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException            if any IO-error occurred during read from the channel
+     * @throws CommunicationException input stream bytes constitute msg pack message in wrong format
+     */
+    public static TarantoolPacket readPacket(ReadableByteChannel bufferReader, int size, MsgPackLite msgPackLite)
+        throws CommunicationException, IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
         bufferReader.read(buffer);
 
         buffer.flip();
-        int size = ((Number) msgPackLite.unpack(new ByteBufferBackedInputStream(buffer))).intValue();
+        return readPacket(buffer, msgPackLite);
+    }
 
-        buffer = ByteBuffer.allocate(size);
-        bufferReader.read(buffer);
+    /**
+     * Reads a packet which has been read into a buffer
+     * excluding its size prefix. The body is decoded on
+     * the first access to {@link TarantoolPacket#getBody()}.
+     *
+     * @param buffer buffer holding the packet which is consumed
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException            if the headers are incomplete
+     * @throws CommunicationException if the headers are malformed
+     */
+    public static TarantoolPacket readPacket(ByteBuffer buffer, MsgPackLite msgPackLite) throws IOException {
+        Map<Integer, Object> headers = readHeaders(new ByteBufferBackedInputStream(buffer), msgPackLite);
 
-        buffer.flip();
-        ByteBufferBackedInputStream msgBytesStream = new ByteBufferBackedInputStream(buffer);
-        Object unpackedHeaders = msgPackLite.unpack(msgBytesStream);
-        if (!(unpackedHeaders instanceof Map)) {
-            //noinspection ConstantConditions
+        ByteBuffer body = buffer.hasRemaining() ? buffer.slice() : null;
+        return new TarantoolPacket(headers, body, msgPackLite);
+    }
+
+    /**
+     * Reads a packet which size prefix has been already consumed
+     * into a pooled frame. The returned packet has to be released.
+     *
+     * @param bufferReader readable channel that have to be in blocking mode
+     *                     or instance of {@link ReadableViaSelectorChannel}
+     * @param size         packet size
+     * @param msgPackLite  decoder to be used
+     * @param pool         pool of the frames or {@code null} to read
+     *                     the packet into a heap buffer
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException            if any IO-error occurred during read from the channel
+     * @throws CommunicationException input stream bytes constitute msg pack message in wrong format
+     *
+     * @see TarantoolPacket#release()
+     */
+    public static TarantoolPacket readPacket(ReadableByteChannel bufferReader,
+                                             int size,
+                                             MsgPackLite msgPackLite,
+                                             FrameBufferPool pool) throws CommunicationException, IOException {
+        if (pool == null) {
+            return readPacket(bufferReader, size, msgPackLite);
+        }
+        FrameBuffer frame = pool.allocate(size);
+        try {
+            ByteBuffer buffer = frame.getBuffer();
+            bufferReader.read(buffer);
+
+            buffer.flip();
+            Map<Integer, Object> headers = readHeaders(new ByteBufferBackedInputStream(buffer), msgPackLite);
+            if (!buffer.hasRemaining()) {
+                frame.release();
+                return new TarantoolPacket(headers, null, msgPackLite);
+            }
+            return new TarantoolPacket(headers, buffer.slice(), msgPackLite, frame);
+        } catch (IOException | RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the rest of a packet which headers have been already
+     * consumed from {@code frame}. The body is decoded on the
+     * first access to {@link TarantoolPacket#getBody()}.
+     *
+     * @param frame   packet stream
+     * @param headers packet headers
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException if any IO-error occurred during read from the channel
+     */
+    public static TarantoolPacket readPacket(FrameInputStream frame, Map<Integer, Object> headers,
+                                             MsgPackLite msgPackLite) throws IOException {
+        ByteBuffer body = frame.remaining() > 0 ? frame.readRemaining() : null;
+        return new TarantoolPacket(headers, body, msgPackLite);
+    }
+
+    /**
+     * Reads the rest of a packet which headers have been already
+     * consumed from {@code frame} into a pooled frame buffer.
+     * The returned packet has to be released.
+     *
+     * @param frame   packet stream
+     * @param headers packet headers
+     * @param pool    pool of the frames or {@code null} to read
+     *                the body into a heap buffer
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException if any IO-error occurred during read from the channel
+     *
+     * @see TarantoolPacket#release()
+     */
+    public static TarantoolPacket readPacket(FrameInputStream frame,
+                                             Map<Integer, Object> headers,
+                                             MsgPackLite msgPackLite,
+                                             FrameBufferPool pool) throws IOException {
+        if (pool == null || frame.remaining() == 0) {
+            return readPacket(frame, headers, msgPackLite);
+        }
+        FrameBuffer body = pool.allocate(frame.remaining());
+        try {
+            ByteBuffer buffer = body.getBuffer();
+            frame.readRemaining(buffer);
+            buffer.flip();
+            return new TarantoolPacket(headers, buffer, msgPackLite, body);
+        } catch (IOException | RuntimeException e) {
+            body.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads packet headers.
+     *
+     * @param inputStream packet stream positioned at the headers
+     *
+     * @return decoded headers
+     *
+     * @throws IOException            if any IO-error occurred during read
+     * @throws CommunicationException input stream bytes constitute msg pack message in wrong format
+     */
+    public static Map<Integer, Object> readHeaders(InputStream inputStream, MsgPackLite msgPackLite)
+        throws IOException {
+        return readMap(inputStream, msgPackLite, "headers");
+    }
+
+    /**
+     * Reads a packet body passing each element of its {@link Key#DATA}
+     * array to {@code dataConsumer} as soon as the element is decoded.
+     *
+     * @param inputStream  packet stream positioned at the body
+     * @param dataConsumer consumer of the data elements
+     *
+     * @return decoded body entries except for the data
+     *
+     * @throws IOException            if any IO-error occurred during read
+     * @throws CommunicationException if the body keys are malformed
+     */
+    public static Map<Integer, Object> readBody(InputStream inputStream,
+                                                MsgPackLite msgPackLite,
+                                                Consumer<Object> dataConsumer) throws IOException {
+        IprotoMap body = new IprotoMap();
+        int entries = readMapHeader(inputStream, msgPackLite, "body");
+        for (int i = 0; i < entries; i++) {
+            int key = readKey(inputStream, msgPackLite, "body");
+            if (key == Key.DATA.getId()) {
+                int size = msgPackLite.unpackArrayHeader(inputStream);
+                for (int j = 0; j < size; j++) {
+                    dataConsumer.accept(msgPackLite.unpack(inputStream));
+                }
+            } else {
+                body.set(key, msgPackLite.unpack(inputStream));
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Reads an IPROTO map of headers or body entries
+     * into a compact {@link IprotoMap}.
+     *
+     * @param inputStream packet stream positioned at the map
+     * @param part        name of the packet part used in error messages
+     *
+     * @return decoded map
+     *
+     * @throws IOException            if any IO-error occurred during read
+     * @throws CommunicationException if the map is malformed
+     */
+    static IprotoMap readMap(InputStream inputStream, MsgPackLite msgPackLite, String part) throws IOException {
+        IprotoMap map = new IprotoMap();
+        int entries = readMapHeader(inputStream, msgPackLite, part);
+        for (int i = 0; i < entries; i++) {
+            int key = readKey(inputStream, msgPackLite, part);
+            map.set(key, msgPackLite.unpack(inputStream));
+        }
+        return map;
+    }
+
+    private static int readMapHeader(InputStream inputStream, MsgPackLite msgPackLite, String part)
+        throws IOException {
+        try {
+            return msgPackLite.unpackMapHeader(inputStream);
+        } catch (IllegalArgumentException e) {
             throw new CommunicationException(
-                "Error while unpacking headers of tarantool response: " +
-                    "expected type Map but was " +
-                    unpackedHeaders != null ? unpackedHeaders.getClass().toString() : "null"
+                "Error while unpacking " + part + " of tarantool response: expected type Map", e
             );
         }
-        //noinspection unchecked (checked above)
-        Map<Integer, Object> headers = (Map<Integer, Object>) unpackedHeaders;
+    }
 
-        Map<Integer, Object> body = null;
-        if (msgBytesStream.hasAvailable()) {
-            Object unpackedBody = msgPackLite.unpack(msgBytesStream);
-            if (!(unpackedBody instanceof Map)) {
-                //noinspection ConstantConditions
-                throw new CommunicationException(
-                    "Error while unpacking body of tarantool response: " +
-                        "expected type Map but was " +
-                        unpackedBody != null ? unpackedBody.getClass().toString() : "null"
-                );
-            }
-            //noinspection unchecked (checked above)
-            body = (Map<Integer, Object>) unpackedBody;
+    private static int readKey(InputStream inputStream, MsgPackLite msgPackLite, String part) throws IOException {
+        Object key = msgPackLite.unpack(inputStream);
+        if (!(key instanceof Integer)) {
+            throw new CommunicationException(
+                "Error while unpacking " + part + " of tarantool response: unexpected key " + key
+            );
         }
+        return (Integer) key;
+    }
 
-        return new TarantoolPacket(headers, body);
+    /**
+     * Reads a size prefix of the next tarantool's binary protocol packet.
+     * This call blocks until the next packet starts arriving.
+     *
+     * @param bufferReader readable channel that have to be in blocking mode
+     *                     or instance of {@link ReadableViaSelectorChannel}
+     *
+     * @return size of the packet in bytes excluding the prefix
+     *
+     * @throws IOException if any IO-error occurred during read from the channel
+     */
+    public static int readPacketSize(ReadableByteChannel bufferReader, MsgPackLite msgPackLite)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_OF_SIZE_MESSAGE);
+        bufferReader.read(buffer);
+
+        buffer.flip();
+        return ((Number) msgPackLite.unpack(new ByteBufferBackedInputStream(buffer))).intValue();
     }
 
     /**
@@ -206,9 +420,9 @@ public abstract class ProtoUtils {
     }
 
     private static void assertNoErrCode(TarantoolPacket authResponse) {
-        Long code = (Long) authResponse.getHeaders().get(Key.CODE.getId());
+        Long code = (Long) authResponse.getHeader(Key.CODE);
         if (code != 0) {
-            Object error = authResponse.getBody().get(Key.ERROR.getId());
+            Object error = authResponse.getBodyValue(Key.ERROR);
             String errorMsg = error instanceof String ? (String) error : new String((byte[]) error);
             throw new TarantoolException(code, errorMsg);
         }
@@ -228,6 +442,28 @@ public abstract class ProtoUtils {
         }
     }
 
+    /**
+     * Writes buffers by gathering writes until all of them are written.
+     *
+     * @param channel target channel
+     * @param buffers buffers to be written
+     *
+     * @throws IOException if the buffers cannot be written
+     */
+    public static void writeFully(GatheringByteChannel channel, ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            long written = channel.write(buffers);
+            if (written < 0) {
+                throw new SocketException("write failed code: " + written);
+            }
+            remaining -= written;
+        }
+    }
+
     public static ByteBuffer createAuthPacket(String username,
                                               final String password,
                                               String salt,
@@ -275,9 +511,31 @@ public abstract class ProtoUtils {
                                           Long syncId,
                                           Long schemaId,
                                           Object... args) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(initialRequestSize);
-        bos.write(new byte[5]);
-        final DataOutputStream ds = new DataOutputStream(bos);
+        return createPacket(new PacketBuffer(initialRequestSize), msgPackLite, code, syncId, schemaId, args);
+    }
+
+    /**
+     * Encodes a packet into a buffer.
+     *
+     * @param bos         empty buffer, usually obtained from {@link PacketBufferPool}
+     * @param msgPackLite encoder
+     * @param code        request code
+     * @param syncId      request id
+     * @param schemaId    schema id or {@code null}
+     * @param args        request body as key-value pairs
+     *
+     * @return packet including the size prefix which is backed
+     *     by {@code bos} and valid until the buffer is reused
+     *
+     * @throws IOException if the request cannot be encoded
+     */
+    public static ByteBuffer createPacket(PacketBuffer bos,
+                                          MsgPackLite msgPackLite,
+                                          Code code,
+                                          Long syncId,
+                                          Long schemaId,
+                                          Object... args) throws IOException {
+        bos.write(SIZE_PLACEHOLDER);
         Map<Key, Object> header = new EnumMap<>(Key.class);
         Map<Key, Object> body = new EnumMap<>(Key.class);
         header.put(Key.CODE, code);
@@ -291,23 +549,79 @@ public abstract class ProtoUtils {
                 body.put((Key) args[i], value);
             }
         }
-        msgPackLite.pack(header, ds);
-        msgPackLite.pack(body, ds);
-        ds.flush();
+        msgPackLite.pack(header, bos);
+        msgPackLite.pack(body, bos);
+        return finishPacket(bos);
+    }
+
+    /**
+     * Creates a packet using a request template.
+     *
+     * @param msgPackLite encoder of the variable argument
+     * @param operation   request template
+     * @param syncId      request id
+     * @param value       variable argument value
+     *
+     * @return packet including the size prefix
+     *
+     * @throws IOException if the value cannot be encoded
+     */
+    public static ByteBuffer createPacket(MsgPackLite msgPackLite,
+                                          PreparedOperation operation,
+                                          long syncId,
+                                          Object value) throws IOException {
+        PacketBuffer bos = new PacketBuffer(LENGTH_OF_SIZE_MESSAGE + operation.getEstimatedSize());
+        return createPacket(bos, msgPackLite, operation, syncId, value);
+    }
+
+    /**
+     * Encodes a packet into a buffer using a request template.
+     *
+     * @param bos         empty buffer, usually obtained from {@link PacketBufferPool}
+     * @param msgPackLite encoder of the variable argument
+     * @param operation   request template
+     * @param syncId      request id
+     * @param value       variable argument value
+     *
+     * @return packet including the size prefix which is backed
+     *     by {@code bos} and valid until the buffer is reused
+     *
+     * @throws IOException if the value cannot be encoded
+     */
+    public static ByteBuffer createPacket(PacketBuffer bos,
+                                          MsgPackLite msgPackLite,
+                                          PreparedOperation operation,
+                                          long syncId,
+                                          Object value) throws IOException {
+        bos.write(SIZE_PLACEHOLDER);
+        operation.writeTo(msgPackLite, syncId, value, bos);
+        return finishPacket(bos);
+    }
+
+    private static ByteBuffer finishPacket(PacketBuffer bos) {
         ByteBuffer buffer = bos.toByteBuffer();
         buffer.put(0, (byte) 0xce);
-        buffer.putInt(1, bos.size() - 5);
+        buffer.putInt(1, bos.getPacketSize() - LENGTH_OF_SIZE_MESSAGE);
         return buffer;
     }
 
-    private static class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
-        public ByteArrayOutputStream(int size) {
-            super(size);
-        }
-
-        ByteBuffer toByteBuffer() {
-            return ByteBuffer.wrap(buf, 0, count);
+    /**
+     * Looks up a request argument by its key.
+     *
+     * @param args request arguments as key-value pairs
+     * @param key  argument key
+     *
+     * @return argument value or {@code null} if it is not present
+     */
+    public static Object findArgument(Object[] args, Key key) {
+        if (args != null) {
+            for (int i = 0; i < args.length - 1; i += 2) {
+                if (args[i] == key) {
+                    return args[i + 1];
+                }
+            }
         }
+        return null;
     }
 
 }
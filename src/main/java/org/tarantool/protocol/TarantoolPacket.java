@@ -1,25 +1,79 @@
 package org.tarantool.protocol;
 
+import org.tarantool.CommunicationException;
 import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackReader;
+import org.tarantool.MsgPackType;
 
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 public class TarantoolPacket {
     private final Map<Integer, Object> headers;
-    private final Map<Integer, Object> body;
+    private Map<Integer, Object> body;
+
+    /**
+     * Encoded body if the packet is read from the wire.
+     */
+    private final ByteBuffer rawBody;
+    private MsgPackLite msgPackLite;
+
+    /**
+     * Pooled frame the body is read into.
+     */
+    private FrameBuffer frame;
 
     public TarantoolPacket(Map<Integer, Object> headers, Map<Integer, Object> body) {
         this.headers = headers;
         this.body = body;
+        this.rawBody = null;
     }
 
     public TarantoolPacket(Map<Integer, Object> headers) {
         this.headers = headers;
         body = null;
+        rawBody = null;
+    }
+
+    /**
+     * Creates a packet which body will be decoded on demand.
+     * It allows to skip decoding of the responses nobody waits for.
+     * <p>
+     * The lazy decoding is not thread-safe, so the packet should not
+     * be shared between threads before its body is decoded.
+     *
+     * @param headers     decoded headers
+     * @param rawBody     encoded body or {@code null} if the packet has no body
+     * @param msgPackLite decoder to be used
+     */
+    public TarantoolPacket(Map<Integer, Object> headers, ByteBuffer rawBody, MsgPackLite msgPackLite) {
+        this(headers, rawBody, msgPackLite, null);
+    }
+
+    /**
+     * Creates a packet which body is read into a pooled frame.
+     * The packet owns a reference to the frame until it is {@link #release() released}.
+     *
+     * @param headers     decoded headers
+     * @param rawBody     encoded body within the frame or {@code null}
+     * @param msgPackLite decoder to be used
+     * @param frame       frame holding the body or {@code null}
+     */
+    public TarantoolPacket(Map<Integer, Object> headers,
+                           ByteBuffer rawBody,
+                           MsgPackLite msgPackLite,
+                           FrameBuffer frame) {
+        this.headers = headers;
+        this.rawBody = rawBody;
+        this.msgPackLite = msgPackLite;
+        this.frame = frame;
     }
 
     public Long getCode() {
-        Object potenticalCode = headers.get(Key.CODE.getId());
+        Object potenticalCode = getHeader(Key.CODE);
 
         if (!(potenticalCode instanceof Long)) {
             //noinspection ConstantConditions
@@ -34,18 +88,139 @@ public class TarantoolPacket {
     }
 
     public Long getSync() {
-        return (Long) getHeaders().get(Key.SYNC.getId());
+        return (Long) getHeader(Key.SYNC);
+    }
+
+    /**
+     * Gets a header value.
+     *
+     * @param key header key
+     *
+     * @return header value or {@code null}
+     */
+    public Object getHeader(Key key) {
+        return get(headers, key);
     }
 
     public Map<Integer, Object> getHeaders() {
         return headers;
     }
 
+    /**
+     * Gets the packet body decoding it if necessary.
+     *
+     * @return decoded body
+     *
+     * @throws CommunicationException if the body is malformed
+     */
     public Map<Integer, Object> getBody() {
+        if (body == null && rawBody != null) {
+            body = unpackBody(rawBody.duplicate());
+        }
         return body;
     }
 
+    /**
+     * Gets the encoded body as it has been received.
+     *
+     * @return read-only buffer holding the body map or
+     *     {@code null} if the packet has no encoded body
+     */
+    public ByteBuffer getRawBody() {
+        return rawBody == null ? null : rawBody.asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a reader of the encoded body. This allows to decode
+     * the body without building intermediate collections.
+     *
+     * @return reader positioned at the body map or {@code null}
+     *     if the packet has no encoded body
+     */
+    public MsgPackReader getBodyReader() {
+        if (rawBody == null) {
+            return null;
+        }
+        MsgPackReader reader = new MsgPackReader(rawBody.duplicate()).setFrame(frame);
+        return msgPackLite == null ? reader : reader.setStringCache(msgPackLite.getStringCache());
+    }
+
+    /**
+     * Gets a reader of a body value.
+     *
+     * @param key body key
+     *
+     * @return reader positioned at the value or {@code null}
+     *     if the packet has no encoded body or the value
+     *
+     * @see #getBodyReader()
+     */
+    public MsgPackReader getBodyReader(Key key) {
+        MsgPackReader reader = getBodyReader();
+        if (reader == null) {
+            return null;
+        }
+        try {
+            int entries = reader.readMapHeader();
+            for (int i = 0; i < entries; i++) {
+                if (reader.nextToken() != MsgPackType.INTEGER) {
+                    reader.skipValue();
+                } else if (reader.readLong() == key.getId()) {
+                    return reader;
+                }
+                reader.skipValue();
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new CommunicationException("Error while reading body of tarantool response", e);
+        }
+        return null;
+    }
+
+    /**
+     * Gets a body value decoding the body if necessary.
+     *
+     * @param key body key
+     *
+     * @return body value or {@code null} if the packet
+     *     has no body or the value
+     */
+    public Object getBodyValue(Key key) {
+        return get(getBody(), key);
+    }
+
+    public FrameBuffer getFrame() {
+        return frame;
+    }
+
+    /**
+     * Releases the reference to the pooled frame if the body
+     * is read into one. The body is not accessible after that
+     * unless it has been decoded.
+     */
+    public void release() {
+        if (frame != null) {
+            frame.release();
+            frame = null;
+        }
+    }
+
     public boolean hasBody() {
+        Map<Integer, Object> body = getBody();
         return body != null && body.size() > 0;
     }
+
+    private static Object get(Map<Integer, Object> map, Key key) {
+        if (map instanceof IprotoMap) {
+            return ((IprotoMap) map).get(key);
+        }
+        return map == null ? null : map.get(key.getId());
+    }
+
+    private Map<Integer, Object> unpackBody(ByteBuffer buffer) {
+        try {
+            return ProtoUtils.readMap(new ByteBufferBackedInputStream(buffer), msgPackLite, "body");
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CommunicationException("Error while unpacking body of tarantool response", e);
+        }
+    }
 }
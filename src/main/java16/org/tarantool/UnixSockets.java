@@ -0,0 +1,40 @@
+package org.tarantool;
+
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/**
+ * Factory of Unix domain socket addresses.
+ * <p>
+ * This version is loaded from the multi-release jar on Java 16
+ * and newer, where {@link java.nio.channels.SocketChannel} can
+ * be opened for a {@link UnixDomainSocketAddress}.
+ */
+final class UnixSockets {
+
+    private UnixSockets() {
+    }
+
+    /**
+     * Checks whether Unix domain sockets are supported.
+     *
+     * @return {@code true}
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates a Unix domain socket address.
+     *
+     * @param path socket file path
+     *
+     * @return socket address
+     *
+     * @throws IllegalArgumentException if the path is invalid
+     */
+    static SocketAddress toAddress(String path) {
+        return UnixDomainSocketAddress.of(path);
+    }
+
+}
@@ -302,6 +302,11 @@ class ClientAsyncOperationsIT {
             return originOps.eval(expression, args).toCompletableFuture();
         }
 
+        @Override
+        public Future<List<?>> execute(PreparedOperation operation, List<?> value) {
+            return originOps.execute(operation, value).toCompletableFuture();
+        }
+
         @Override
         public void ping() {
             originOps.ping();
@@ -1,7 +1,9 @@
 package org.tarantool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -9,6 +11,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Tests for synchronous operations of {@link TarantoolClientImpl} class.
  *
@@ -16,6 +23,9 @@ import org.junit.jupiter.api.Test;
  */
 public class ClientOperationsIT {
 
+    private static final String MANY_TUPLES_EXPRESSION =
+        "local t = {} for i = 1, ... do t[i] = {i, string.rep('x', 10)} end return unpack(t)";
+
     private static TarantoolTestHelper testHelper;
 
     private TarantoolClient client;
@@ -48,4 +58,105 @@ public class ClientOperationsIT {
         assertEquals(e.getMessage(), "You should close TarantoolClient instead.");
     }
 
+    @Test
+    public void testStreamingOps() throws Exception {
+        TarantoolClientConfig config = TestUtils.makeDefaultClientConfig();
+        config.streamingFrameThreshold = 1024;
+        TarantoolClient streamingClient = TestUtils.makeTestClient(config, 2000);
+        try {
+            List<Object> elements = new ArrayList<>();
+            long count = streamingClient.streamingOps(elements::add)
+                .eval(MANY_TUPLES_EXPRESSION, 1000)
+                .toCompletableFuture()
+                .get();
+
+            assertEquals(1000, count);
+            assertEquals(1000, elements.size());
+            assertEquals(Arrays.asList(1000, "xxxxxxxxxx"), elements.get(999));
+        } finally {
+            streamingClient.close();
+        }
+    }
+
+    @Test
+    public void testReadingOps() throws Exception {
+        ResultReader<Long> sumOfIds = reader -> {
+            long sum = 0;
+            int tuples = reader.readArrayHeader();
+            for (int i = 0; i < tuples; i++) {
+                int fields = reader.readArrayHeader();
+                sum += reader.readLong();
+                reader.skipValues(fields - 1);
+            }
+            return sum;
+        };
+        long sum = client.readingOps(sumOfIds)
+            .eval(MANY_TUPLES_EXPRESSION, 100)
+            .toCompletableFuture()
+            .get();
+
+        assertEquals(5050, sum);
+    }
+
+    @Test
+    public void testMaxFrameSize() throws Exception {
+        TarantoolClientConfig config = TestUtils.makeDefaultClientConfig();
+        config.maxFrameSize = 1024;
+        TarantoolClient limitedClient = TestUtils.makeTestClient(config, 2000);
+        try {
+            CommunicationException e = assertThrows(
+                CommunicationException.class,
+                () -> limitedClient.syncOps().eval(MANY_TUPLES_EXPRESSION, 1000)
+            );
+            assertTrue(e.getMessage().contains("exceeds the max frame size"));
+
+            assertEquals(Collections.singletonList(1), limitedClient.syncOps().eval("return ...", 1));
+            long count = limitedClient.streamingOps(element -> { })
+                .eval(MANY_TUPLES_EXPRESSION, 1000)
+                .toCompletableFuture()
+                .get();
+            assertEquals(1000, count);
+        } finally {
+            limitedClient.close();
+        }
+    }
+
+    @Test
+    public void testTupleViews() {
+        TarantoolClientConfig config = TestUtils.makeDefaultClientConfig();
+        config.useTupleViews = true;
+        TarantoolClient viewClient = TestUtils.makeTestClient(config, 2000);
+        try {
+            List<?> result = viewClient.syncOps().eval(MANY_TUPLES_EXPRESSION, 3);
+            assertEquals(3, result.size());
+
+            TupleView tuple = (TupleView) result.get(2);
+            assertEquals(3, tuple.getLong(0));
+            assertEquals("xxxxxxxxxx", tuple.getString(1));
+            assertEquals(Arrays.asList(3, "xxxxxxxxxx"), tuple.detach());
+        } finally {
+            viewClient.close();
+        }
+    }
+
+    @Test
+    public void testFieldProjection() throws Exception {
+        List<List<Object>> rows = client.readingOps(FieldProjection.of(1, 0))
+            .eval(MANY_TUPLES_EXPRESSION, 2)
+            .toCompletableFuture()
+            .get();
+
+        assertEquals(Arrays.asList(Arrays.asList("xxxxxxxxxx", 1), Arrays.asList("xxxxxxxxxx", 2)), rows);
+    }
+
+    @Test
+    public void testLongColumn() throws Exception {
+        long[] ids = client.readingOps(ResultReaders.longColumn(0))
+            .eval(MANY_TUPLES_EXPRESSION, 3)
+            .toCompletableFuture()
+            .get();
+
+        assertArrayEquals(new long[] { 1, 2, 3 }, ids);
+    }
+
 }
@@ -0,0 +1,162 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("A cluster client")
+class ClusterClientStreamRetryTest {
+
+    private static final byte[] DATA = new byte[1000];
+
+    private FakeServer server;
+    private TarantoolClusterClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeServer();
+        server.start();
+        TarantoolClusterClientConfig config = new TarantoolClusterClientConfig();
+        config.initTimeoutMillis = 5000;
+        config.operationExpiryTimeMillis = 5000;
+        client = new TarantoolClusterClient(config, "localhost:" + server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("failed an operation which stream had been read instead of retrying it")
+    void testStreamNotRetried() throws Exception {
+        StreamedBinary value = StreamedBinary.of(new ByteArrayInputStream(DATA), DATA.length);
+        Future<List<?>> result = client.asyncOps().insert(512, Arrays.asList(1, value));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof CommunicationException);
+        assertTrue(error.getCause().getMessage().contains("cannot be retried"));
+        assertTrue(value.isConsumed());
+
+        client.syncOps().ping();
+        assertEquals(1, server.getRequests(Code.INSERT));
+    }
+
+    @Test
+    @DisplayName("retried an operation which sends a file")
+    void testFileRetried(@TempDir Path dir) throws Exception {
+        Path source = Files.write(dir.resolve("source"), DATA);
+        try (FileChannel file = FileChannel.open(source)) {
+            StreamedBinary value = StreamedBinary.of(file);
+            Future<List<?>> result = client.asyncOps().insert(512, Arrays.asList(1, value));
+
+            assertEquals(Collections.emptyList(), result.get(5, TimeUnit.SECONDS));
+            assertTrue(value.isRepeatable());
+            assertEquals(2, server.getRequests(Code.INSERT));
+        }
+    }
+
+    /**
+     * Server which breaks the first connection after reading
+     * a request and replies with empty results to the rest.
+     */
+    private static class FakeServer extends Thread {
+
+        private final ServerSocket socket;
+        private final Queue<Integer> requests = new ConcurrentLinkedQueue<>();
+
+        FakeServer() throws IOException {
+            socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            setDaemon(true);
+        }
+
+        int getPort() {
+            return socket.getLocalPort();
+        }
+
+        long getRequests(Code code) {
+            return requests.stream().filter(id -> id == code.getId()).count();
+        }
+
+        void close() throws IOException {
+            socket.close();
+        }
+
+        @Override
+        public void run() {
+            boolean broken = false;
+            while (!socket.isClosed()) {
+                try (Socket connection = socket.accept()) {
+                    DataInputStream in = new DataInputStream(connection.getInputStream());
+                    DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                    out.write(Arrays.copyOf("Tarantool 2.2.0 (Binary)".getBytes(StandardCharsets.US_ASCII), 128));
+                    out.flush();
+                    while (true) {
+                        Map<?, ?> header = readRequest(in);
+                        requests.add(((Number) header.get(Key.CODE.getId())).intValue());
+                        if (!broken) {
+                            broken = true;
+                            break;
+                        }
+                        writeResponse(out, ((Number) header.get(Key.SYNC.getId())).longValue());
+                    }
+                } catch (IOException ignored) {
+                    // the connection or the server is closed
+                }
+            }
+        }
+
+        private Map<?, ?> readRequest(DataInputStream in) throws IOException {
+            if (in.readUnsignedByte() != 0xce) {
+                throw new IOException("Unexpected size prefix");
+            }
+            byte[] frame = new byte[in.readInt()];
+            in.readFully(frame);
+            return (Map<?, ?>) MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(frame));
+        }
+
+        private void writeResponse(DataOutputStream out, long sync) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(frame);
+            // the server encodes a code as uint32 and a sync as uint64 regardless of their values
+            header.write(new byte[] {(byte) 0x82, (byte) Key.CODE.getId(), (byte) 0xce});
+            header.writeInt(0);
+            header.write(new byte[] {(byte) Key.SYNC.getId(), (byte) 0xcf});
+            header.writeLong(sync);
+            MsgPackLite.INSTANCE.pack(Collections.singletonMap(Key.DATA.getId(), Collections.emptyList()), frame);
+            out.writeByte(0xce);
+            out.writeInt(frame.size());
+            frame.writeTo(out);
+            out.flush();
+        }
+    }
+}
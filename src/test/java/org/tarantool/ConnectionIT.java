@@ -1,6 +1,7 @@
 package org.tarantool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterAll;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.net.SocketException;
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
  * {@link TarantoolConnection} specific test cases.
@@ -67,4 +70,18 @@ public class ConnectionIT {
         assertEquals(2000, conn.getSocketTimeout());
     }
 
+    @Test
+    void testPipelining() {
+        final long first = conn.pipelineOps().eval("return ...", 1);
+        long failed = conn.send(Code.EVAL, Key.EXPRESSION, "error('boom')", Key.TUPLE, new Object[0]);
+        long last = conn.pipelineOps().eval("return ...", 3);
+        assertEquals(3, conn.getPendingCount());
+
+        assertEquals(Collections.singletonList(3), conn.receive(last));
+        assertThrows(TarantoolException.class, () -> conn.receive(failed));
+        assertEquals(Collections.singletonList(1), conn.receive(first));
+        assertEquals(0, conn.getPendingCount());
+        assertEquals(Arrays.asList(2, 4), conn.eval("return ...", 2, 4));
+    }
+
 }
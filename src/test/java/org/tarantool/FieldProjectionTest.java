@@ -0,0 +1,75 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A field projection")
+class FieldProjectionTest {
+
+    @Test
+    @DisplayName("decoded the requested fields only")
+    void testProjectFields() throws IOException {
+        List<?> tuples = Arrays.asList(
+            Arrays.asList(1, new byte[1024], Collections.singletonMap("k", Arrays.asList(1, 2)), "one", 1.5d),
+            Arrays.asList(2, new byte[0], null, "two"),
+            Arrays.asList(3)
+        );
+        MsgPackReader reader = makeReader(tuples);
+
+        List<List<Object>> result = FieldProjection.of(3, 0).read(reader);
+
+        assertEquals(
+            Arrays.asList(Arrays.asList("one", 1), Arrays.asList("two", 2), Arrays.asList(null, 3)),
+            result
+        );
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    @DisplayName("resolved field names by a space format")
+    void testProjectNamedFields() throws IOException {
+        Map<String, Integer> format = new HashMap<>();
+        format.put("id", 0);
+        format.put("name", 1);
+        format.put("payload", 2);
+        FieldProjection projection = FieldProjection.of(format, "name", "name");
+
+        assertEquals(Arrays.asList(1, 1), projection.getFields());
+        assertEquals(
+            Collections.singletonList(Arrays.asList("one", "one")),
+            projection.read(makeReader(Collections.singletonList(Arrays.asList(1, "one", "payload"))))
+        );
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(format, "unknown"));
+    }
+
+    @Test
+    @DisplayName("rejected invalid fields and results")
+    void testInvalidProjection() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of());
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(0, -1));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> FieldProjection.of(0).read(makeReader(Arrays.asList(1, 2)))
+        );
+    }
+
+    private MsgPackReader makeReader(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, bytes);
+        return new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+}
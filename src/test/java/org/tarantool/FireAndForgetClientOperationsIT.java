@@ -3,6 +3,7 @@ package org.tarantool;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.tarantool.TestAssertions.checkRawTupleResult;
 import static org.tarantool.TestUtils.makeDefaultClientConfig;
 import static org.tarantool.TestUtils.makeTestClient;
@@ -20,6 +21,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test "fire & forget" operations available in {@link TarantoolClientImpl} class.
@@ -122,6 +125,31 @@ public class FireAndForgetClientOperationsIT {
         assertEquals(consoleSelect(SPACE_NAME, 30), Collections.emptyList());
     }
 
+    @Test
+    public void testFireAndForgetErrors() throws Exception {
+        TarantoolClientConfig config = makeDefaultClientConfig();
+        CompletableFuture<TarantoolException> errorFuture = new CompletableFuture<>();
+        Set<Long> failedSyncIds = new HashSet<>();
+        config.fireAndForgetErrorListener = (syncId, error) -> {
+            failedSyncIds.add(syncId);
+            errorFuture.complete(error);
+        };
+        TarantoolClient errorAwareClient = makeTestClient(config, RESTART_TIMEOUT);
+        try {
+            TarantoolClientOps<Integer, List<?>, Object, Long> ffOps = errorAwareClient.fireAndForgetOps();
+            ffOps.insert(spaceId, Arrays.asList(40, "40"));
+            long failedSyncId = ffOps.insert(spaceId, Arrays.asList(40, "duplicate"));
+
+            TarantoolException error = errorFuture.get(RESTART_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertTrue(error.getMessage().contains("Duplicate key"));
+
+            errorAwareClient.syncOps().ping();
+            assertEquals(Collections.singleton(failedSyncId), failedSyncIds);
+        } finally {
+            errorAwareClient.close();
+        }
+    }
+
     private List<?> consoleSelect(String spaceName, Object key) {
         return testHelper.evaluate(toLuaSelect(spaceName, key));
     }
@@ -0,0 +1,90 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.tarantool.jdbc.SQLMsgPackLite;
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+@DisplayName("MsgPack extensions")
+class MsgPackExtensionsTest {
+
+    @Test
+    @DisplayName("encoded decimals")
+    void testDecimals() throws IOException {
+        assertArrayEquals(
+            new byte[] { (byte) 0xd6, 0x01, 0x02, 0x01, 0x23, 0x4d },
+            pack(MsgPackLite.INSTANCE, new BigDecimal("-12.34"))
+        );
+        for (String value : Arrays.asList(
+            "0", "1", "-1", "0.001", "12.5", "-9223372036854775808", "1E+5",
+            "123456789012345678", "-1234567890123456789.0123456789", "99999999999999999999999999999999999999"
+        )) {
+            BigDecimal decimal = new BigDecimal(value);
+            assertEquals(decimal, unpack(pack(MsgPackLite.INSTANCE, decimal)));
+        }
+
+        byte[] invalidDigit = { (byte) 0xd5, 0x01, 0x00, (byte) 0xac };
+        assertThrows(IllegalArgumentException.class, () -> unpack(invalidDigit));
+    }
+
+    @Test
+    @DisplayName("encoded UUIDs and datetimes")
+    void testUuidsAndDateTimes() throws IOException {
+        UUID uuid = UUID.fromString("64d22e4d-ac92-4a23-899a-e59f34af5479");
+        byte[] uuidBytes = pack(MsgPackLite.INSTANCE, uuid);
+        assertEquals(18, uuidBytes.length);
+        assertEquals(0x64, uuidBytes[2]);
+        assertEquals(uuid, unpack(uuidBytes));
+
+        OffsetDateTime utc = OffsetDateTime.of(2022, 8, 1, 12, 30, 0, 0, ZoneOffset.UTC);
+        byte[] utcBytes = pack(MsgPackLite.INSTANCE, utc.toInstant());
+        assertEquals(10, utcBytes.length);
+        assertEquals(utc, unpack(utcBytes));
+
+        OffsetDateTime local = OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 123456789, ZoneOffset.ofHours(3));
+        assertEquals(local, unpack(pack(MsgPackLite.INSTANCE, local)));
+        assertEquals(local, unpack(pack(MsgPackLite.INSTANCE, local.toZonedDateTime())));
+    }
+
+    @Test
+    @DisplayName("kept unknown extensions and were used by the JDBC encoder")
+    void testUnknownAndJdbc() throws IOException {
+        MsgPackExtension extension = new MsgPackExtension((byte) 42, new byte[] { 1, 2, 3 });
+        assertEquals(extension, unpack(pack(MsgPackLite.INSTANCE, extension)));
+
+        Timestamp timestamp = Timestamp.from(Instant.ofEpochSecond(1_000_000, 5));
+        SQLMsgPackLite extensions = new SQLMsgPackLite(null, MsgPackLite.DEFAULT_MAX_DEPTH, Integer.MAX_VALUE, true);
+        assertEquals(timestamp.toInstant(), ((OffsetDateTime) unpack(pack(extensions, timestamp))).toInstant());
+        assertEquals(new BigDecimal("1.50"), unpack(pack(extensions, new BigDecimal("1.50"))));
+
+        assertEquals(timestamp.getTime(), ((Number) unpack(pack(SQLMsgPackLite.INSTANCE, timestamp))).longValue());
+        assertEquals("1.50", unpack(pack(SQLMsgPackLite.INSTANCE, new BigDecimal("1.50"))));
+    }
+
+    private Object unpack(byte[] bytes) throws IOException {
+        return MsgPackLite.INSTANCE.unpack(new ByteBufferBackedInputStream(ByteBuffer.wrap(bytes)));
+    }
+
+    private byte[] pack(MsgPackLite msgPackLite, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        msgPackLite.pack(value, bytes);
+        return bytes.toByteArray();
+    }
+
+}
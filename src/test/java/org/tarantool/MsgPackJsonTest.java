@@ -0,0 +1,88 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@DisplayName("A MsgPack to JSON transcoder")
+class MsgPackJsonTest {
+
+    @Test
+    @DisplayName("transcoded nested values")
+    void testNested() throws IOException {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("a", Arrays.asList(1, -2, Long.MIN_VALUE, new BigInteger("18446744073709551615")));
+        map.put("b", Collections.emptyMap());
+        map.put(3, Arrays.asList(true, null, 1.5, 0.1f, Double.NaN));
+        Object value = Arrays.asList(Arrays.asList(map, Collections.emptyList()), "x");
+
+        assertEquals(
+            "[[{\"a\":[1,-2,-9223372036854775808,18446744073709551615],\"b\":{}," +
+                "\"3\":[true,null,1.5,0.1,\"NaN\"]},[]],\"x\"]",
+            json(value)
+        );
+        assertEquals("9223372036854775807", json(Long.MAX_VALUE));
+        assertEquals("10000000000000000000", json(new BigInteger("10000000000000000000")));
+    }
+
+    @Test
+    @DisplayName("escaped strings and encoded binaries")
+    void testStrings() throws IOException {
+        assertEquals("\"q\\\"b\\\\n\\n\\u0001ж\"", json("q\"b\\n\n\u0001ж"));
+        assertEquals(
+            "[\"\",\"AQ==\",\"AQI=\",\"AQID\",\"AQIDBA==\"]",
+            json(Arrays.asList(new byte[0], new byte[] {1}, new byte[] {1, 2}, new byte[] {1, 2, 3},
+                new byte[] {1, 2, 3, 4}))
+        );
+        UUID uuid = UUID.randomUUID();
+        assertEquals(
+            "[12.50,\"" + uuid + "\",{\"type\":9,\"data\":\"/w==\"}]",
+            json(Arrays.asList(new BigDecimal("12.50"), uuid, new MsgPackExtension((byte) 9, new byte[] {-1})))
+        );
+    }
+
+    @Test
+    @DisplayName("rejected malformed values")
+    void testMalformed() throws IOException {
+        byte[] packed = pack(Arrays.asList(1, 2, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> json(Arrays.copyOf(packed, 3)));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json(pack(Collections.singletonMap(Collections.emptyList(), 1)))
+        );
+        assertEquals("[1,2,3]", new String(MsgPackJson.toJson(new MsgPackReader(ByteBuffer.wrap(packed))),
+            StandardCharsets.UTF_8));
+    }
+
+    private static String json(Object value) throws IOException {
+        return json(pack(value));
+    }
+
+    private static String json(byte[] packed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgPackJson.transcode(ByteBuffer.wrap(packed), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, out);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ByteBufferBackedInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A MsgPack decoder")
+class MsgPackLiteTest {
+
+    @Test
+    @DisplayName("decoded nested values")
+    void testNestedValues() throws IOException {
+        Map<Object, Object> map = new HashMap<>();
+        map.put("list", Arrays.asList(1, Arrays.asList(), Collections.emptyMap(), "s"));
+        map.put(2, Collections.singletonMap("key", Arrays.asList(true, null, 1.5d)));
+        List<?> value = Arrays.asList(map, Arrays.asList(Arrays.asList(Arrays.asList(7))), new HashMap<>());
+
+        byte[] bytes = pack(value);
+        assertEquals(value, MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(bytes)));
+        assertEquals(value, MsgPackLite.INSTANCE.unpack(new ByteBufferBackedInputStream(ByteBuffer.wrap(bytes))));
+    }
+
+    @Test
+    @DisplayName("limited the nesting depth without recursion")
+    void testDepth() throws IOException {
+        int depth = 100_000;
+        byte[] bytes = new byte[depth + 1];
+        Arrays.fill(bytes, (byte) 0x91);
+        bytes[depth] = 0x01;
+
+        MsgPackLite deep = new MsgPackLite(null, depth, MsgPackLite.DEFAULT_MAX_COLLECTION_SIZE);
+        Object value = deep.unpack(new ByteArrayInputStream(bytes));
+        for (int i = 0; i < depth; i++) {
+            value = ((List<?>) value).get(0);
+        }
+        assertEquals(1, value);
+
+        IllegalArgumentException error = assertThrows(
+            IllegalArgumentException.class,
+            () -> MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(bytes))
+        );
+        assertTrue(error.getMessage().contains("depth"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("rejected sizes exceeding the limits or the input")
+    void testSizes() throws IOException {
+        byte[] hugeArray = { (byte) 0xdd, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x01 };
+        assertThrows(IllegalArgumentException.class, () -> unpackBounded(MsgPackLite.INSTANCE, hugeArray));
+
+        byte[] hugeMap = { (byte) 0xdf, 0x00, 0x00, 0x00, 0x02, 0x01, 0x02 };
+        assertThrows(IllegalArgumentException.class, () -> unpackBounded(MsgPackLite.INSTANCE, hugeMap));
+
+        byte[] hugeString = { (byte) 0xdb, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 'a' };
+        assertThrows(IllegalArgumentException.class, () -> unpackBounded(MsgPackLite.INSTANCE, hugeString));
+
+        byte[] array = pack(Arrays.asList(1, 2, 3));
+        MsgPackLite limited = new MsgPackLite(null, MsgPackLite.DEFAULT_MAX_DEPTH, 2);
+        assertThrows(IllegalArgumentException.class, () -> limited.unpack(new ByteArrayInputStream(array)));
+        assertEquals(Arrays.asList(1, 2), limited.unpack(new ByteArrayInputStream(pack(Arrays.asList(1, 2)))));
+
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(hugeArray));
+        assertThrows(IllegalArgumentException.class, reader::readArrayHeader);
+        assertEquals(0, reader.position());
+    }
+
+    private Object unpackBounded(MsgPackLite msgPackLite, byte[] bytes) throws IOException {
+        return msgPackLite.unpack(new ByteBufferBackedInputStream(ByteBuffer.wrap(bytes)));
+    }
+
+    private byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, bytes);
+        return bytes.toByteArray();
+    }
+
+}
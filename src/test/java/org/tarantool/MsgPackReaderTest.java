@@ -0,0 +1,171 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A MsgPack reader")
+class MsgPackReaderTest {
+
+    @Test
+    @DisplayName("read scalar values")
+    void testReadScalars() throws IOException {
+        MsgPackReader reader = makeReader(
+            null, true, 5, -3, 200, 70000, 1L << 40, -(1L << 40), 1.5f, 2.5d, "abc", new byte[] { 1, 2 }
+        );
+
+        assertEquals(MsgPackType.NIL, reader.nextToken());
+        reader.readNil();
+        assertEquals(MsgPackType.BOOLEAN, reader.nextToken());
+        assertTrue(reader.readBoolean());
+        assertEquals(5, reader.readInt());
+        assertEquals(-3, reader.readLong());
+        assertEquals(200, reader.readLong());
+        assertEquals(70000, reader.readLong());
+        assertEquals(1L << 40, reader.readLong());
+        assertEquals(-(1L << 40), reader.readLong());
+        assertEquals(MsgPackType.FLOAT, reader.nextToken());
+        assertEquals(1.5d, reader.readDouble());
+        assertEquals(2.5d, reader.readDouble());
+        assertEquals(MsgPackType.STRING, reader.nextToken());
+        assertEquals("abc", reader.readString());
+        assertEquals(MsgPackType.BINARY, reader.nextToken());
+        assertEquals(2, reader.readBinaryHeader());
+        reader.skipBytes(2);
+        assertEquals(MsgPackType.END, reader.nextToken());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    @DisplayName("read collections without materializing them")
+    void testReadCollections() throws IOException {
+        Map<Integer, Object> map = new HashMap<>();
+        map.put(1, "one");
+        MsgPackReader reader = makeReader(Arrays.asList(7, "seven", Collections.nCopies(20, 0)), map);
+
+        assertEquals(MsgPackType.ARRAY, reader.nextToken());
+        assertEquals(3, reader.readArrayHeader());
+        assertEquals(7, reader.readInt());
+
+        byte[] bytes = new byte[16];
+        int length = reader.readStringBytes(bytes);
+        assertEquals("seven", new String(bytes, 0, length, StandardCharsets.UTF_8));
+
+        assertEquals(20, reader.readArrayHeader());
+        reader.skipValues(20);
+
+        assertEquals(MsgPackType.MAP, reader.nextToken());
+        assertEquals(1, reader.readMapHeader());
+        assertEquals(1, reader.readInt());
+        assertEquals("one", reader.readString());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    @DisplayName("skipped deeply nested values")
+    void testSkipNestedValues() throws IOException {
+        int depth = 100_000;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < depth; i++) {
+            bytes.write(0x91);
+        }
+        MsgPackLite.INSTANCE.pack(Collections.singletonMap("key", Arrays.asList(1.0d, "value", null)), bytes);
+        MsgPackLite.INSTANCE.pack(42, bytes);
+
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+        reader.skipValue();
+
+        assertEquals(42, reader.readInt());
+    }
+
+    @Test
+    @DisplayName("kept its position on a type mismatch")
+    void testTypeMismatch() throws IOException {
+        MsgPackReader reader = makeReader("text", BigInteger.ONE.shiftLeft(63));
+
+        assertThrows(IllegalArgumentException.class, reader::readLong);
+        assertThrows(IllegalArgumentException.class, reader::readArrayHeader);
+        assertThrows(IllegalArgumentException.class, () -> reader.readStringBytes(new byte[2]));
+        assertEquals("text", reader.readString());
+        assertThrows(IllegalArgumentException.class, reader::readLong);
+        assertEquals(MsgPackType.INTEGER, reader.nextToken());
+    }
+
+    @Test
+    @DisplayName("read a packet body value")
+    void testPacketBodyReader() throws IOException {
+        List<?> data = Arrays.asList(Arrays.asList(1, "one"), Arrays.asList(2, "two"));
+        ByteBuffer packet = ProtoUtils.createPacket(
+            MsgPackLite.INSTANCE, Code.SELECT, 1L, null, Key.SQL_METADATA, Collections.emptyList(), Key.DATA, data
+        );
+        TarantoolPacket response = ProtoUtils.readPacket(
+            Channels.newChannel(new ByteArrayInputStream(packet.array(), 0, packet.remaining())),
+            MsgPackLite.INSTANCE
+        );
+
+        MsgPackReader reader = response.getBodyReader(Key.DATA);
+        assertEquals(2, reader.readArrayHeader());
+        reader.skipValue();
+        assertEquals(2, reader.readArrayHeader());
+        assertEquals(2, reader.readLong());
+        assertEquals("two", reader.readString());
+
+        assertNull(response.getBodyReader(Key.ERROR));
+        assertEquals(data, response.getBody().get(Key.DATA.getId()));
+    }
+
+    @Test
+    @DisplayName("rejected truncated input")
+    void testTruncatedInput() {
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(new byte[] { (byte) 0xa5, 'a', 'b' }));
+        assertThrows(IllegalArgumentException.class, reader::readStringHeader);
+        assertEquals(0, reader.position());
+
+        reader.skipBytes(1);
+        assertThrows(IllegalArgumentException.class, () -> reader.skipBytes(-1));
+        assertThrows(IllegalArgumentException.class, () -> reader.skipBytes(3));
+        assertEquals(1, reader.position());
+
+        MsgPackReader headers = new MsgPackReader(ByteBuffer.wrap(new byte[] { (byte) 0x92, 0x01, (byte) 0xdc, 0x00 }));
+        assertThrows(IllegalArgumentException.class, headers::skipValue);
+        assertEquals(0, headers.position());
+        assertThrows(IllegalArgumentException.class, headers::readRawValue);
+        assertEquals(0, headers.position());
+
+        MsgPackReader scalars = new MsgPackReader(ByteBuffer.wrap(new byte[] { (byte) 0x92, 0x01, (byte) 0xcd, 0x01 }));
+        assertThrows(IllegalArgumentException.class, () -> scalars.skipValues(1));
+        assertEquals(0, scalars.position());
+        scalars.skipValues(0);
+        assertEquals(0, scalars.position());
+    }
+
+    private MsgPackReader makeReader(Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Object value : values) {
+            MsgPackLite.INSTANCE.pack(value, bytes);
+        }
+        return new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+}
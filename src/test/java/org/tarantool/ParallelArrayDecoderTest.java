@@ -0,0 +1,79 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A parallel array decoder")
+class ParallelArrayDecoderTest {
+
+    @Test
+    @DisplayName("decoded chunks in order")
+    void testDecode() throws IOException {
+        List<Object> tuples = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tuples.add(Arrays.asList(i, "name" + i, Collections.singletonMap("k", Arrays.asList(1, 2.5))));
+        }
+        Object expected = MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(pack(tuples)));
+        MsgPackReader reader = reader(tuples);
+
+        assertEquals(expected, ParallelArrayDecoder.decode(reader, MsgPackLite.INSTANCE, 7));
+        assertEquals(false, reader.hasNext());
+        assertEquals(Collections.emptyList(), ParallelArrayDecoder.decode(
+            reader(Collections.emptyList()), MsgPackLite.INSTANCE, 7
+        ));
+    }
+
+    @Test
+    @DisplayName("failed on a malformed array")
+    void testMalformed() throws IOException {
+        byte[] packed = pack(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)));
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(Arrays.copyOf(packed, packed.length - 1)));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ParallelArrayDecoder.decode(reader, MsgPackLite.INSTANCE, 1)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ParallelArrayDecoder.decode(reader(Collections.emptyList()), MsgPackLite.INSTANCE, 0)
+        );
+    }
+
+    @Test
+    @DisplayName("applied the decoder limits")
+    void testLimits() throws IOException {
+        MsgPackLite limited = new MsgPackLite(null, 2, 3);
+        List<?> deep = Collections.singletonList(
+            Collections.singletonList(Collections.singletonList(Collections.singletonList(1)))
+        );
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ParallelArrayDecoder.decode(reader(Arrays.asList(1, 2, 3, 4)), limited, 1)
+        );
+        assertThrows(IllegalArgumentException.class, () -> ParallelArrayDecoder.decode(reader(deep), limited, 1));
+    }
+
+    private static MsgPackReader reader(Object value) throws IOException {
+        return new MsgPackReader(ByteBuffer.wrap(pack(value)));
+    }
+
+    private static byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, out);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ProtoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A prepared operation")
+class PreparedOperationTest {
+
+    @Test
+    @DisplayName("encoded the same request as a regular operation")
+    void testSameEncoding() throws IOException {
+        PreparedOperation select = PreparedOperation.select(512, 1, 5, 10, Iterator.GE);
+        List<?> key = Arrays.asList(1, "one");
+
+        ByteBuffer prepared = ProtoUtils.createPacket(MsgPackLite.INSTANCE, select, 42L, key);
+        ByteBuffer regular = ProtoUtils.createPacket(
+            MsgPackLite.INSTANCE, Code.SELECT, 42L, null,
+            Key.SPACE, 512, Key.INDEX, 1, Key.KEY, key, Key.ITERATOR, Iterator.GE.getValue(),
+            Key.LIMIT, 10, Key.OFFSET, 5
+        );
+
+        assertEquals(regular.remaining(), prepared.remaining());
+        assertArrayEquals(unpack(regular), unpack(prepared));
+    }
+
+    @Test
+    @DisplayName("bound its arguments")
+    void testBind() {
+        PreparedOperation call = PreparedOperation.call("echo");
+        List<?> args = Collections.singletonList("a");
+
+        assertEquals(Code.CALL, call.getCode());
+        assertEquals(Key.TUPLE, call.getVariableKey());
+        assertArrayEquals(new Object[] { Key.FUNCTION, "echo", Key.TUPLE, args }, call.bind(args));
+        assertEquals("PreparedOperation{CALL, FUNCTION=echo, TUPLE=?}", call.toString());
+    }
+
+    @Test
+    @DisplayName("adjusted its size estimation")
+    void testEstimatedSize() throws IOException {
+        PreparedOperation insert = PreparedOperation.insert(512);
+        int initialSize = insert.getEstimatedSize();
+
+        char[] value = new char[initialSize * 2];
+        Arrays.fill(value, 'a');
+        ByteBuffer packet = ProtoUtils.createPacket(MsgPackLite.INSTANCE, insert, 1L, Arrays.asList(new String(value)));
+
+        assertTrue(insert.getEstimatedSize() > initialSize);
+        assertEquals(packet.remaining() - ProtoUtils.LENGTH_OF_SIZE_MESSAGE, insert.getEstimatedSize());
+    }
+
+    @Test
+    @DisplayName("rejected invalid arguments")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> PreparedOperation.prepare(Code.SELECT, Key.KEY, Key.SPACE));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PreparedOperation.prepare(Code.SELECT, Key.KEY, Key.KEY, Collections.emptyList())
+        );
+        assertThrows(
+            NullPointerException.class,
+            () -> PreparedOperation.prepare(Code.SELECT, Key.KEY, Key.SPACE, null)
+        );
+    }
+
+    @Test
+    @DisplayName("looked up arguments of an operation without binding it")
+    void testUnboundArguments() {
+        PreparedOperation insert = PreparedOperation.insert(512);
+        List<?> tuple = Arrays.asList(1, "one");
+        TarantoolClientImpl.TarantoolOp<?> operation = new TarantoolClientImpl.TarantoolOp<>(1, insert, tuple);
+
+        assertEquals(512, operation.getArg(Key.SPACE));
+        assertSame(tuple, operation.getArg(Key.TUPLE));
+        assertNull(operation.getArg(Key.FUNCTION));
+        assertSame(insert.constantArgs(), operation.getUnboundArgs());
+
+        Object[] args = operation.getArgs();
+        assertArrayEquals(new Object[] {Key.SPACE, 512, Key.TUPLE, tuple}, args);
+        assertSame(args, operation.getUnboundArgs());
+        assertEquals(512, operation.getArg(Key.SPACE));
+    }
+
+    private Object[] unpack(ByteBuffer packet) throws IOException {
+        ByteArrayInputStream input = new ByteArrayInputStream(packet.array(), 0, packet.remaining());
+        return new Object[] {
+            MsgPackLite.INSTANCE.unpack(input),
+            MsgPackLite.INSTANCE.unpack(input),
+            MsgPackLite.INSTANCE.unpack(input)
+        };
+    }
+
+}
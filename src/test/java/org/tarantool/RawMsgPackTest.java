@@ -0,0 +1,88 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.PacketBuffer;
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A raw MsgPack value")
+class RawMsgPackTest {
+
+    @Test
+    @DisplayName("was written as is")
+    void testWrite() throws IOException {
+        List<?> tuple = Arrays.asList(1, "one", new byte[1000]);
+        byte[] encoded = pack(tuple);
+        byte[] expected = packet(tuple, new PacketBuffer(64));
+
+        assertArrayEquals(expected, packet(RawMsgPack.of(encoded), new PacketBuffer(64)));
+
+        PacketBuffer gathering = new PacketBuffer(64);
+        gathering.setReferenceThreshold(encoded.length);
+        ProtoUtils.createPacket(gathering, MsgPackLite.INSTANCE, Code.INSERT, 1L, null,
+            Key.TUPLE, RawMsgPack.of(ByteBuffer.wrap(encoded)));
+        assertTrue(gathering.hasReferences());
+        assertEquals(expected.length, gathering.getPacketSize());
+    }
+
+    @Test
+    @DisplayName("was rejected unless it was a single value")
+    void testValidation() throws IOException {
+        byte[] encoded = pack(Arrays.asList(1, 2, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> RawMsgPack.of(Arrays.copyOf(encoded, 3)));
+        assertThrows(IllegalArgumentException.class, () -> RawMsgPack.of(Arrays.copyOf(encoded, 5)));
+        assertThrows(IllegalArgumentException.class, () -> RawMsgPack.of(new byte[0]));
+        assertEquals(4, RawMsgPack.of(encoded).getBuffer().remaining());
+    }
+
+    @Test
+    @DisplayName("was read from a response without decoding")
+    void testRead() throws IOException {
+        List<?> data = Collections.singletonList(Arrays.asList(1L, "one"));
+        byte[] body = pack(Collections.singletonMap(Key.DATA.getId(), data));
+        TarantoolPacket packet = new TarantoolPacket(
+            Collections.emptyMap(), ByteBuffer.wrap(body), MsgPackLite.INSTANCE
+        );
+
+        ByteBuffer raw = packet.getBodyReader(Key.DATA).readRawValue();
+        assertTrue(raw.isReadOnly());
+        assertArrayEquals(pack(data), bytes(raw));
+        assertArrayEquals(body, bytes(packet.getRawBody()));
+        assertArrayEquals(pack(data), bytes(RawMsgPack.of(raw).getBuffer()));
+    }
+
+    private byte[] packet(Object tuple, PacketBuffer buffer) throws IOException {
+        ByteBuffer packet = ProtoUtils.createPacket(
+            buffer, MsgPackLite.INSTANCE, Code.INSERT, 1L, null, Key.TUPLE, tuple
+        );
+        return Arrays.copyOf(packet.array(), packet.remaining());
+    }
+
+    private static byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+@DisplayName("Primitive result readers")
+class ResultReadersTest {
+
+    @Test
+    @DisplayName("collected numeric columns")
+    void testColumns() throws IOException {
+        Object tuples = Arrays.asList(
+            Arrays.asList("a", 1, 0.5d, "tail"),
+            Arrays.asList("b", 1L << 40, 2.5f),
+            Arrays.asList("c", -7, 3)
+        );
+
+        MsgPackReader reader = makeReader(tuples);
+        assertArrayEquals(new long[] { 1, 1L << 40, -7 }, ResultReaders.longColumn(1).read(reader));
+        assertFalse(reader.hasNext());
+        assertArrayEquals(new double[] { 0.5d, 2.5d, 3d }, ResultReaders.doubleColumn(2).read(makeReader(tuples)));
+        assertThrows(IllegalArgumentException.class, () -> ResultReaders.longColumn(3).read(makeReader(tuples)));
+        assertThrows(IllegalArgumentException.class, () -> ResultReaders.longColumn(0).read(makeReader(tuples)));
+    }
+
+    @Test
+    @DisplayName("read homogeneous numeric arrays")
+    void testArrays() throws IOException {
+        MsgPackReader reader = makeReader(Arrays.asList(1, 300, 70000), Arrays.asList(1.5d, 2), Arrays.asList(1, "x"));
+
+        assertArrayEquals(new int[] { 1, 300, 70000 }, reader.readIntArray());
+        assertArrayEquals(new double[] { 1.5d, 2d }, reader.readDoubleArray());
+        int position = reader.position();
+        assertThrows(IllegalArgumentException.class, reader::readLongArray);
+        assertEquals(position, reader.position());
+    }
+
+    @Test
+    @DisplayName("read primitive array fields of tuple views")
+    void testTupleViewArrays() throws IOException {
+        MsgPackReader reader = makeReader(Collections.singletonList(
+            Arrays.asList(1, Arrays.asList(5L, 6L), Arrays.asList(0.25d, 0.75d))
+        ));
+        TupleView view = (TupleView) TupleView.readList(reader, MsgPackLite.INSTANCE).get(0);
+
+        assertArrayEquals(new long[] { 5, 6 }, view.getLongArray(1));
+        assertArrayEquals(new int[] { 5, 6 }, view.getIntArray(1));
+        assertArrayEquals(new double[] { 0.25d, 0.75d }, view.getDoubleArray(2));
+    }
+
+    private MsgPackReader makeReader(Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Object value : values) {
+            MsgPackLite.INSTANCE.pack(value, bytes);
+        }
+        return new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+}
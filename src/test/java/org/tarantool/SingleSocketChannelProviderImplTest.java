@@ -2,6 +2,7 @@ package org.tarantool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -34,6 +35,23 @@ class SingleSocketChannelProviderImplTest {
         assertThrows(IllegalArgumentException.class, () -> new SingleSocketChannelProviderImpl(null));
     }
 
+    @Test
+    @DisplayName("initialized with a Unix domain socket address if it was supported")
+    public void testUnixSocketAddress() {
+        String path = "/var/run/tarantool/app.sock";
+        if (UnixSockets.isSupported()) {
+            SingleSocketChannelProviderImpl socketProvider = new SingleSocketChannelProviderImpl("unix:" + path);
+            assertEquals(path, socketProvider.getAddress().toString());
+        } else {
+            IllegalArgumentException error = assertThrows(
+                IllegalArgumentException.class,
+                () -> new SingleSocketChannelProviderImpl("unix:" + path)
+            );
+            assertTrue(error.getMessage().contains("Java 16"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SingleSocketChannelProviderImpl("unix: "));
+    }
+
     @Test
     @DisplayName("initialized with a default timeout")
     public void testDefaultTimeout() {
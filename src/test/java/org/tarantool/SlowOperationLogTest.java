@@ -0,0 +1,102 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DisplayName("A slow operation log")
+class SlowOperationLogTest {
+
+    @Test
+    @DisplayName("captured an operation exceeding the threshold")
+    void testCaptureSlowOperation() {
+        List<SlowOperation> notified = new ArrayList<>();
+        SlowOperationLog log = new SlowOperationLog(0, 1, 4, 64, notified::add);
+
+        TarantoolClientImpl.TarantoolOp<?> op = new TarantoolClientImpl.TarantoolOp<>(
+            7, Code.SELECT,
+            new Object[] { Key.SPACE, 512, Key.INDEX, 0, Key.KEY, Arrays.asList(1, "a"), Key.LIMIT, 10 }
+        );
+        long now = System.nanoTime();
+        op.setWriteStartTime(now);
+        op.setWriteEndTime(now);
+        log.check(op, now, 0);
+
+        List<SlowOperation> captured = log.dump();
+        assertEquals(1, captured.size());
+        assertEquals(captured, notified);
+
+        SlowOperation slowOperation = captured.get(0);
+        assertEquals(7, slowOperation.getSyncId());
+        assertEquals("SELECT space=512 index=0", slowOperation.getFingerprint());
+        assertEquals("KEY=[1, a], LIMIT=10", slowOperation.getArgumentsPreview());
+        assertTrue(slowOperation.getServerNanos() >= 0);
+        assertTrue(slowOperation.getTotalNanos() >= slowOperation.getDecodeNanos());
+    }
+
+    @Test
+    @DisplayName("skipped fast and not sampled operations")
+    void testSkipOperations() {
+        SlowOperationLog log = new SlowOperationLog(60_000, 2, 4, 64, null);
+        assertFalse(log.isSampled(1));
+        assertTrue(log.isSampled(2));
+
+        long now = System.nanoTime();
+        log.check(new TarantoolClientImpl.TarantoolOp<>(1, Code.PING, null), now, 0);
+        log.check(new TarantoolClientImpl.TarantoolOp<>(2, Code.PING, null), now, 0);
+        assertEquals(0, log.getCapturedCount());
+    }
+
+    @Test
+    @DisplayName("kept only the latest operations")
+    void testRingOverflow() {
+        SlowOperationLog log = new SlowOperationLog(0, 1, 3, 64, null);
+        for (int i = 0; i < 10; i++) {
+            log.capture(makeOperation(i));
+        }
+        assertEquals(10, log.getCapturedCount());
+        List<Long> ids = log.dump().stream().map(SlowOperation::getSyncId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(6L, 7L, 8L, 9L), ids);
+    }
+
+    @Test
+    @DisplayName("truncated a long arguments preview")
+    void testPreviewTruncation() {
+        SlowOperationLog log = new SlowOperationLog(0, 1, 1, 16, null);
+        TarantoolClientImpl.TarantoolOp<?> op = new TarantoolClientImpl.TarantoolOp<>(
+            1, Code.EXECUTE,
+            new Object[] {
+                Key.SQL_TEXT, "SELECT * FROM t",
+                Key.SQL_BIND, new Object[] { new byte[100], "long-long-text" }
+            }
+        );
+        log.check(op, System.nanoTime(), 0);
+
+        SlowOperation slowOperation = log.dump().get(0);
+        assertEquals("EXECUTE SELECT * FROM t", slowOperation.getFingerprint());
+        assertEquals("SQL_BIND=[<100 b...", slowOperation.getArgumentsPreview());
+        assertEquals(-1, slowOperation.getWriteNanos());
+    }
+
+    @Test
+    @DisplayName("rejected wrong settings")
+    void testWrongSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowOperationLog(-1, 1, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> new SlowOperationLog(0, 0, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> new SlowOperationLog(0, 1, 0, 1, null));
+    }
+
+    private SlowOperation makeOperation(long syncId) {
+        return new SlowOperation(0, syncId, Code.PING, null, null, null, "", 0, 0, 0, 0, 0, 0);
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.PacketBuffer;
+import org.tarantool.protocol.ProtoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+@DisplayName("A streamed binary")
+class StreamedBinaryTest {
+
+    private static final byte[] FILE_DATA = bytes(3000, 1);
+    private static final byte[] STREAM_DATA = bytes(70000, 2);
+
+    @Test
+    @DisplayName("was sent from a file and a stream")
+    void testWriteTo(@TempDir Path dir) throws IOException {
+        Path source = Files.write(dir.resolve("source"), FILE_DATA);
+        Path target = dir.resolve("target");
+        byte[] expected = packet(Arrays.asList(1, FILE_DATA, "middle", STREAM_DATA), new PacketBuffer(64));
+
+        try (FileChannel file = FileChannel.open(source);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            PacketBuffer buffer = new PacketBuffer(64);
+            buffer.setReferenceThreshold(1024 * 1024);
+            Object tuple = Arrays.asList(
+                1, StreamedBinary.of(file), "middle", StreamedBinary.of(new ByteArrayInputStream(STREAM_DATA), 70000)
+            );
+            ProtoUtils.createPacket(buffer, MsgPackLite.INSTANCE, Code.INSERT, 1L, null, Key.TUPLE, tuple);
+            assertTrue(buffer.hasStreams());
+            assertEquals(expected.length, buffer.getPacketSize());
+            assertThrows(IllegalStateException.class, buffer::toByteBuffers);
+
+            buffer.copy().writeTo(out, ByteBuffer.allocateDirect(1000));
+            assertEquals(0, file.position());
+        }
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("was copied when it could not be referenced")
+    void testCopy() throws IOException {
+        byte[] expected = packet(Arrays.asList(STREAM_DATA), new PacketBuffer(64));
+        Object tuple = Arrays.asList(StreamedBinary.of(new ByteArrayInputStream(STREAM_DATA), STREAM_DATA.length));
+
+        assertArrayEquals(expected, packet(tuple, new PacketBuffer(64)));
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(StreamedBinary.of(new ByteArrayInputStream(new byte[] {5, 6}), 2), plain);
+        assertArrayEquals(new byte[] {(byte) 0xc4, 2, 5, 6}, plain.toByteArray());
+    }
+
+    @Test
+    @DisplayName("failed if the channel was shorter")
+    void testShortChannel() {
+        StreamedBinary value = StreamedBinary.of(new ByteArrayInputStream(new byte[10]), 11);
+
+        assertThrows(EOFException.class, () -> MsgPackLite.INSTANCE.pack(value, new ByteArrayOutputStream()));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> StreamedBinary.of(new ByteArrayInputStream(new byte[0]), -1)
+        );
+    }
+
+    private byte[] packet(Object tuple, PacketBuffer buffer) throws IOException {
+        ByteBuffer packet = ProtoUtils.createPacket(
+            buffer, MsgPackLite.INSTANCE, Code.INSERT, 1L, null, Key.TUPLE, tuple
+        );
+        return Arrays.copyOf(packet.array(), packet.remaining());
+    }
+
+    private static byte[] bytes(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+}
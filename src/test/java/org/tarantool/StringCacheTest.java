@@ -0,0 +1,86 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A string cache")
+class StringCacheTest {
+
+    @Test
+    @DisplayName("returned the same instance for the same bytes")
+    void testCacheHit() {
+        StringCache cache = new StringCache(100);
+        byte[] bytes = "xxstatusxx".getBytes(StandardCharsets.UTF_8);
+
+        String first = cache.get(bytes, 2, 6);
+        String second = cache.get("status".getBytes(StandardCharsets.UTF_8), 0, 6);
+
+        assertEquals("status", first);
+        assertSame(first, second);
+        assertEquals(128, cache.getCapacity());
+    }
+
+    @Test
+    @DisplayName("decoded non-ASCII and long strings")
+    void testDecode() {
+        StringCache cache = new StringCache(16, 8);
+        String unicode = "статус";
+        byte[] unicodeBytes = unicode.getBytes(StandardCharsets.UTF_8);
+        assertEquals(unicode, StringCache.decode(unicodeBytes, 0, unicodeBytes.length));
+
+        byte[] shortBytes = "ключ".getBytes(StandardCharsets.UTF_8);
+        assertSame(cache.get(shortBytes, 0, shortBytes.length), cache.get(shortBytes, 0, shortBytes.length));
+
+        byte[] longBytes = "a long string".getBytes(StandardCharsets.UTF_8);
+        String longString = cache.get(longBytes, 0, longBytes.length);
+        assertEquals("a long string", longString);
+        assertNotSame(longString, cache.get(longBytes, 0, longBytes.length));
+    }
+
+    @Test
+    @DisplayName("replaced colliding strings")
+    void testCollisions() {
+        StringCache cache = new StringCache(1);
+        byte[] a = { 'a' };
+        byte[] b = { 'b' };
+
+        String first = cache.get(a, 0, 1);
+        assertEquals("b", cache.get(b, 0, 1));
+        assertNotSame(first, cache.get(a, 0, 1));
+        assertEquals("a", cache.get(a, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StringCache(0));
+    }
+
+    @Test
+    @DisplayName("was used by decoders")
+    void testDecoders() throws IOException {
+        StringCache cache = new StringCache(64);
+        MsgPackLite msgPackLite = new MsgPackLite(cache);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        msgPackLite.pack(Arrays.asList("name", "name", "имя"), bytes);
+
+        List<?> values = (List<?>) msgPackLite.unpack(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(Arrays.asList("name", "name", "имя"), values);
+        assertSame(values.get(0), values.get(1));
+
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray())).setStringCache(cache);
+        reader.readArrayHeader();
+        assertSame(values.get(0), reader.readString());
+        reader.skipValue();
+        assertSame(values.get(2), reader.readString());
+    }
+
+}
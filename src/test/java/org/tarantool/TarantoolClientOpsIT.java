@@ -16,10 +16,12 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
@@ -496,6 +498,47 @@ public class TarantoolClientOpsIT {
         provider.close();
     }
 
+    @ParameterizedTest
+    @MethodSource("getClientOps")
+    public void testPreparedSelect(SyncOpsProvider provider) {
+        PreparedOperation select = PreparedOperation.select(spaceId, pkIndexId, 0, 1, Iterator.EQ);
+        TarantoolClientOps<Integer, List<?>, Object, List<?>> clientOps = provider.getClientOps();
+
+        checkRawTupleResult(clientOps.execute(select, Collections.singletonList(1)), Arrays.asList(1, "one"));
+        checkRawTupleResult(clientOps.execute(select, Collections.singletonList(3)), Arrays.asList(3, "three"));
+        assertEquals(Collections.emptyList(), clientOps.execute(select, Collections.singletonList(10)));
+
+        provider.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("getClientOps")
+    public void testPreparedInsertAndDelete(SyncOpsProvider provider) {
+        TarantoolClientOps<Integer, List<?>, Object, List<?>> clientOps = provider.getClientOps();
+        List<?> tuple = Arrays.asList(60, "sixty");
+
+        List<?> res = clientOps.execute(PreparedOperation.insert(spaceId), tuple);
+        checkRawTupleResult(res, tuple);
+        checkRawTupleResult(consoleSelect(SPACE_NAME, Collections.singletonList(60)), tuple);
+
+        res = clientOps.execute(PreparedOperation.delete(spaceId), Collections.singletonList(60));
+        checkRawTupleResult(res, tuple);
+        assertEquals(Collections.emptyList(), consoleSelect(SPACE_NAME, Collections.singletonList(60)));
+
+        provider.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("getClientOps")
+    public void testPreparedCall(SyncOpsProvider provider) {
+        assertEquals(
+            Collections.singletonList("true"),
+            provider.getClientOps().execute(PreparedOperation.call("echo"), Collections.singletonList("true"))
+        );
+
+        provider.close();
+    }
+
     @ParameterizedTest
     @MethodSource("getClientOps")
     public void testPing(SyncOpsProvider provider) {
@@ -668,6 +711,82 @@ public class TarantoolClientOpsIT {
         void close();
     }
 
+    @Test
+    public void testTypedOps() throws Exception {
+        TarantoolClient client = makeTestClient(makeDefaultClientConfig(), RESTART_TIMEOUT);
+        try {
+            TarantoolTypedOps<Entry> typedOps = client.typedOps(Entry.CODEC);
+
+            List<Entry> inserted = typedOps.insertValue(spaceId, new Entry(70, "seventy"))
+                .toCompletableFuture()
+                .get();
+            assertEquals(Collections.singletonList(new Entry(70, "seventy")), inserted);
+            checkRawTupleResult(consoleSelect(SPACE_NAME, 70), Arrays.asList(70, "seventy"));
+
+            List<Entry> selected = typedOps.select(spaceId, pkIndexId, Collections.singletonList(2), 0, 1, Iterator.EQ)
+                .toCompletableFuture()
+                .get();
+            assertEquals(Collections.singletonList(new Entry(2, "two")), selected);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testSpaceTupleCodec() {
+        TarantoolClientConfig config = makeDefaultClientConfig();
+        config.tupleCodecs.put(spaceId, Entry.CODEC);
+        TarantoolClient client = makeTestClient(config, RESTART_TIMEOUT);
+        try {
+            List<?> result = client.syncOps()
+                .select(spaceId, pkIndexId, Collections.singletonList(1), 0, 1, Iterator.EQ);
+            assertEquals(Collections.singletonList(new Entry(1, "one")), result);
+
+            result = client.syncOps()
+                .select(multiPartSpaceId, mpkIndexId, Arrays.asList(1, "one"), 0, 1, Iterator.EQ);
+            checkRawTupleResult(result, Arrays.asList(1, "one", "o n e"));
+        } finally {
+            client.close();
+        }
+    }
+
+    private static class Entry {
+
+        static final TupleCodec<Entry> CODEC = new TupleCodec<Entry>() {
+            @Override
+            public Entry decode(MsgPackReader reader) {
+                int fields = reader.readArrayHeader();
+                Entry entry = new Entry(reader.readInt(), reader.readString());
+                reader.skipValues(fields - 2);
+                return entry;
+            }
+
+            @Override
+            public void encode(Entry value, MsgPackWriter writer) throws IOException {
+                writer.writeArrayHeader(2).writeLong(value.id).writeString(value.val);
+            }
+        };
+
+        final int id;
+        final String val;
+
+        Entry(int id, String val) {
+            this.id = id;
+            this.val = val;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && ((Entry) o).id == id && ((Entry) o).val.equals(val);
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+    }
+
     private static class ClientSyncOpsProvider implements SyncOpsProvider {
 
         private TarantoolClient client = makeTestClient(makeDefaultClientConfig(), RESTART_TIMEOUT);
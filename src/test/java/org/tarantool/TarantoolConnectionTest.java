@@ -0,0 +1,165 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A connection")
+class TarantoolConnectionTest {
+
+    @Test
+    @DisplayName("received the responses which arrived out of order")
+    void testOutOfOrder() throws IOException {
+        Responses responses = new Responses()
+            .add(3, Collections.emptyList())
+            .add(2, Collections.singletonList(Arrays.asList(2, new byte[20000])))
+            .add(1, Collections.singletonList(Arrays.asList(1, "first")));
+        TarantoolConnection connection = new TarantoolConnection(null, null, responses.toSocket(), 1024);
+
+        long first = connection.pipelineOps().insert(512, Arrays.asList(1, "first"));
+        final long second = connection.pipelineOps().insert(512, Arrays.asList(2, new byte[20000]));
+        assertEquals(2, connection.getPendingCount());
+
+        assertEquals(Collections.singletonList(Arrays.asList(1, "first")), connection.receive(first));
+        assertEquals(1, connection.getPendingCount());
+        List<?> result = connection.receive(second);
+        assertEquals(20000, ((byte[]) ((List<?>) result.get(0)).get(1)).length);
+        assertEquals(0, connection.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> connection.receive(second));
+        assertFalse(connection.isClosed());
+    }
+
+    @Test
+    @DisplayName("dropped the frame grown by a response larger than the buffer size")
+    void testFrameNotRetained() throws IOException {
+        Responses responses = new Responses()
+            .add(1, Collections.singletonList(new byte[20000]))
+            .add(2, Collections.singletonList(new byte[100]));
+        TarantoolConnection connection = new TarantoolConnection(null, null, responses.toSocket(), 1024);
+
+        long first = connection.pipelineOps().insert(512, Collections.singletonList(1));
+        final long second = connection.pipelineOps().insert(512, Collections.singletonList(2));
+
+        List<?> result = connection.receive(first);
+        assertEquals(20000, ((byte[]) result.get(0)).length);
+        assertEquals(0, connection.getRetainedFrameSize());
+        assertEquals(100, ((byte[]) connection.receive(second).get(0)).length);
+        assertTrue(connection.getRetainedFrameSize() > 0);
+    }
+
+    @Test
+    @DisplayName("was closed by a response of an invalid size")
+    void testInvalidSize() throws IOException {
+        Responses responses = new Responses().raw(0xd2, 0xff, 0xff, 0xff, 0xff);
+        TarantoolConnection connection = new TarantoolConnection(null, null, responses.toSocket());
+
+        long sync = connection.pipelineOps().insert(512, Collections.singletonList(1));
+        CommunicationException error = assertThrows(CommunicationException.class, () -> connection.receive(sync));
+        assertTrue(error.getCause().getMessage().contains("Invalid response size -1"));
+        assertTrue(connection.isClosed());
+        assertEquals(0, connection.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("was closed by a response exceeding the max frame size")
+    void testOversized() throws IOException {
+        Responses responses = new Responses().add(1, Collections.singletonList(new byte[2000]));
+        TarantoolConnection connection = new TarantoolConnection(null, null, responses.toSocket());
+        connection.setMaxFrameSize(1000);
+
+        long sync = connection.pipelineOps().insert(512, Collections.singletonList(1));
+        CommunicationException error = assertThrows(CommunicationException.class, () -> connection.receive(sync));
+        assertTrue(error.getCause().getMessage().contains("exceeds the max frame size 1000"));
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    @DisplayName("was closed by a malformed response")
+    void testMalformed() throws IOException {
+        Responses responses = new Responses().raw(0x01, 0xc1);
+        TarantoolConnection connection = new TarantoolConnection(null, null, responses.toSocket());
+
+        long sync = connection.pipelineOps().insert(512, Collections.singletonList(1));
+        assertThrows(CommunicationException.class, () -> connection.receive(sync));
+        assertTrue(connection.isClosed());
+    }
+
+    /**
+     * Server greeting and responses the socket stub reads.
+     */
+    private static class Responses {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Responses() {
+            byte[] greeting = "Tarantool 2.2.0 (Binary)".getBytes(StandardCharsets.US_ASCII);
+            bytes.write(Arrays.copyOf(greeting, 128), 0, 128);
+        }
+
+        Responses add(long sync, List<?> data) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(frame);
+            // the server encodes a code as uint32 and a sync as uint64 regardless of their values
+            header.write(new byte[] {(byte) 0x82, (byte) Key.CODE.getId(), (byte) 0xce});
+            header.writeInt(0);
+            header.write(new byte[] {(byte) Key.SYNC.getId(), (byte) 0xcf});
+            header.writeLong(sync);
+            MsgPackLite.INSTANCE.pack(Collections.singletonMap(Key.DATA.getId(), data), frame);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(0xce);
+            out.writeInt(frame.size());
+            frame.writeTo(out);
+            return this;
+        }
+
+        Responses raw(int... values) {
+            for (int value : values) {
+                bytes.write(value);
+            }
+            return this;
+        }
+
+        Socket toSocket() {
+            InputStream in = new ByteArrayInputStream(bytes.toByteArray());
+            return new Socket() {
+                private boolean closed;
+
+                @Override
+                public InputStream getInputStream() {
+                    return in;
+                }
+
+                @Override
+                public OutputStream getOutputStream() {
+                    return new ByteArrayOutputStream();
+                }
+
+                @Override
+                public synchronized void close() {
+                    closed = true;
+                }
+
+                @Override
+                public boolean isClosed() {
+                    return closed;
+                }
+            };
+        }
+    }
+}
@@ -44,7 +44,11 @@ public class TarantoolTestHelper {
     }
 
     public void createInstance(String luaFile, int listenPort, int consolePort) {
-        control.createInstance(instanceName, luaFile, makeInstanceEnv(listenPort, consolePort));
+        createInstance(luaFile, Integer.toString(listenPort), consolePort);
+    }
+
+    public void createInstance(String luaFile, String listenUri, int consolePort) {
+        control.createInstance(instanceName, luaFile, makeInstanceEnv(listenUri, consolePort));
     }
 
     public void createInstance(String luaFile,
@@ -88,8 +92,12 @@ public class TarantoolTestHelper {
     }
 
     private Map<String, String> makeInstanceEnv(int port, int consolePort) {
+        return makeInstanceEnv(Integer.toString(port), consolePort);
+    }
+
+    private Map<String, String> makeInstanceEnv(String listenUri, int consolePort) {
         Map<String, String> env = new HashMap<String, String>();
-        env.put("LISTEN", Integer.toString(port));
+        env.put("LISTEN", listenUri);
         env.put("ADMIN", Integer.toString(consolePort));
         return env;
     }
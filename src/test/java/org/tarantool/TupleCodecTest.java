@@ -0,0 +1,122 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A tuple codec")
+class TupleCodecTest {
+
+    static final TupleCodec<Account> ACCOUNT_CODEC = new TupleCodec<Account>() {
+        @Override
+        public Account decode(MsgPackReader reader) {
+            int fields = reader.readArrayHeader();
+            Account account = new Account(reader.readLong(), reader.readString(), reader.readDouble());
+            reader.skipValues(fields - 3);
+            return account;
+        }
+
+        @Override
+        public void encode(Account value, MsgPackWriter writer) throws IOException {
+            writer.writeArrayHeader(3)
+                .writeLong(value.id)
+                .writeString(value.owner)
+                .writeDouble(value.balance);
+        }
+    };
+
+    @Test
+    @DisplayName("encoded objects as tuples")
+    void testEncode() throws IOException {
+        Account account = new Account(1L << 33, "owner", 10.5d);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(Arrays.asList("key", ACCOUNT_CODEC.bind(account)), bytes);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(Arrays.asList("key", Arrays.asList(1L << 33, "owner", 10.5d)), expected);
+        assertArrayEquals(expected.toByteArray(), bytes.toByteArray());
+    }
+
+    @Test
+    @DisplayName("decoded tuples into objects")
+    void testDecodeList() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(
+            Arrays.asList(Arrays.asList(1, "a", 1.5d), Arrays.asList(2, "b", 3, "extra field")),
+            bytes
+        );
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+
+        List<Account> accounts = ACCOUNT_CODEC.decodeList(reader);
+
+        assertEquals(Arrays.asList(new Account(1, "a", 1.5d), new Account(2, "b", 3d)), accounts);
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    @DisplayName("written values as MsgPackLite does")
+    void testWriterEncoding() throws IOException {
+        Object[] values = { 0L, 127L, 128L, 255L, 256L, 65535L, 65536L, 1L << 32, -1L, -32L, -33L, -128L, -129L,
+            -32768L, -32769L, Long.MIN_VALUE, "", "a string longer than thirty one bytes", new byte[300] };
+        for (Object value : values) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            MsgPackLite.INSTANCE.pack(value, expected);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            MsgPackWriter writer = new MsgPackWriter(actual, MsgPackLite.INSTANCE);
+            if (value instanceof Long) {
+                writer.writeLong((Long) value);
+            } else if (value instanceof String) {
+                writer.writeString((String) value);
+            } else {
+                writer.writeBinary((byte[]) value);
+            }
+            assertArrayEquals(expected.toByteArray(), actual.toByteArray(), String.valueOf(value));
+        }
+    }
+
+    static class Account {
+
+        final long id;
+        final String owner;
+        final double balance;
+
+        Account(long id, String owner, double balance) {
+            this.id = id;
+            this.owner = owner;
+            this.balance = balance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Account)) {
+                return false;
+            }
+            Account account = (Account) o;
+            return id == account.id && Double.compare(account.balance, balance) == 0 && owner.equals(account.owner);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+
+        @Override
+        public String toString() {
+            return "Account{" + id + ", " + owner + ", " + balance + "}";
+        }
+
+    }
+
+}
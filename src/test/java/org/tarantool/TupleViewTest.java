@@ -0,0 +1,86 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@DisplayName("A tuple view")
+class TupleViewTest {
+
+    @Test
+    @DisplayName("decoded fields on demand")
+    void testGetFields() throws IOException {
+        List<Object> tuple = Arrays.asList(1, "one", null, Arrays.asList(1, 2), 2.5d, true);
+        TupleView view = readList(Collections.singletonList(tuple)).get(0);
+
+        assertEquals(6, view.size());
+        assertEquals(tuple, view);
+        assertEquals(1, view.getInt(0));
+        assertEquals(1L, view.getLong(0));
+        assertEquals("one", view.getString(1));
+        assertTrue(view.isNull(2));
+        assertNull(view.getString(2));
+        assertEquals(MsgPackType.ARRAY, view.getType(3));
+        assertEquals(2.5d, view.getDouble(4));
+        assertTrue(view.getBoolean(5));
+        assertSame(view.get(3), view.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(6));
+        assertThrows(IllegalArgumentException.class, () -> view.getLong(1));
+    }
+
+    @Test
+    @DisplayName("released the response buffer when detached")
+    void testDetach() throws IOException {
+        List<List<?>> tuples = Arrays.asList(Arrays.asList(1, "one"), Arrays.asList(2, "two"));
+        List<TupleView> views = readList(tuples);
+        TupleView view = views.get(1);
+        assertEquals("two", view.getString(1));
+        assertFalse(view.isDetached());
+
+        int size = view.getEncodedSize();
+        assertSame(view, view.detach());
+        assertTrue(view.isDetached());
+        assertEquals(size, view.getEncodedSize());
+        assertEquals(2, view.getLong(0));
+        assertEquals(tuples.get(1), view);
+        assertEquals(tuples.get(0), views.get(0).detach());
+    }
+
+    @Test
+    @DisplayName("left non-tuple elements decoded")
+    void testNonTupleElements() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(Arrays.asList(42, Arrays.asList("a"), "text"), bytes);
+        MsgPackReader reader = new MsgPackReader(ByteBuffer.wrap(bytes.toByteArray()));
+
+        List<Object> result = TupleView.readList(reader, MsgPackLite.INSTANCE);
+
+        assertEquals(Arrays.asList(42, Arrays.asList("a"), "text"), result);
+        assertTrue(result.get(1) instanceof TupleView);
+        assertFalse(reader.hasNext());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TupleView> readList(List<?> tuples) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[] { 1, 2, 3 });
+        MsgPackLite.INSTANCE.pack(tuples, bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.position(3);
+        return (List<TupleView>) (List<?>) TupleView.readList(new MsgPackReader(buffer), MsgPackLite.INSTANCE);
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tarantool.TestAssumptions.assumeMinimalServerVersion;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Connections through a Unix domain socket the instance listens on.
+ * <p>
+ * The sockets are supported by the Java 16 version of
+ * {@link UnixSockets} which is loaded from the multi-release jar
+ * the integration tests run against, so the tests are skipped on
+ * the older JDKs.
+ */
+@DisplayName("A client connected through a Unix domain socket")
+public class UnixSocketIT {
+
+    private static final String INSTANCE_NAME = "tnt-unix-socket-it";
+    private static final String SOCKET_PATH = new File(TarantoolControl.tntCtlWorkDir, INSTANCE_NAME + ".sock")
+        .getAbsolutePath();
+
+    private static TarantoolTestHelper testHelper;
+
+    @BeforeAll
+    static void setupEnv() {
+        Assumptions.assumeTrue(UnixSockets.isSupported(), "Unix domain sockets require Java 16");
+        testHelper = new TarantoolTestHelper(INSTANCE_NAME);
+        testHelper.createInstance(TarantoolTestHelper.LUA_FILE, "unix/:" + SOCKET_PATH, TarantoolTestHelper.ADMIN_PORT);
+        testHelper.startInstance();
+    }
+
+    @AfterAll
+    static void cleanupEnv() {
+        if (testHelper != null) {
+            testHelper.stopInstance();
+        }
+    }
+
+    @Test
+    @DisplayName("executed operations")
+    void testClient() {
+        TarantoolClientConfig config = new TarantoolClientConfig();
+        config.username = TarantoolTestHelper.USERNAME;
+        config.password = TarantoolTestHelper.PASSWORD;
+        TarantoolClientImpl client = new TarantoolClientImpl(
+            BaseSocketChannelProvider.UNIX_SOCKET_PREFIX + SOCKET_PATH, config
+        );
+        try {
+            List<?> result = client.syncOps().eval("return ...", 42);
+            assertEquals(Collections.singletonList(42), result);
+            assertTrue(client.isAlive());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("executed operations by a cluster client")
+    void testClusterClient() {
+        TarantoolClusterClientConfig config = new TarantoolClusterClientConfig();
+        config.username = TarantoolTestHelper.USERNAME;
+        config.password = TarantoolTestHelper.PASSWORD;
+        TarantoolClusterClient client = new TarantoolClusterClient(
+            config, BaseSocketChannelProvider.UNIX_SOCKET_PREFIX + SOCKET_PATH
+        );
+        try {
+            assertEquals(Collections.singletonList(1), client.syncOps().eval("return 1"));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("executed SQL queries through the JDBC driver")
+    void testJdbc() throws Exception {
+        assumeMinimalServerVersion(testHelper.getInstanceVersion(), ServerVersion.V_2_1);
+        String url = "jdbc:tarantool://" + BaseSocketChannelProvider.UNIX_SOCKET_PREFIX + SOCKET_PATH;
+        try (Connection connection = DriverManager.getConnection(
+                url, TarantoolTestHelper.USERNAME, TarantoolTestHelper.PASSWORD
+             );
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+            assertTrue(resultSet.next());
+            assertEquals(1, resultSet.getInt(1));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.tarantool.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DisplayName("A flight recorder events facade")
+class TarantoolEventsTest {
+
+    @Test
+    @DisplayName("did not start durational events when they are disabled")
+    void testDisabledEvents() {
+        assertNull(TarantoolEvents.beginWriterFlush());
+        assertNull(TarantoolEvents.beginSqlExecute());
+        TarantoolEvents.operationIssued(1, Code.SELECT, new Object[] { Key.SPACE, 512 }, 10);
+    }
+
+    @Test
+    @DisplayName("recorded operation events with their targets")
+    void testOperationEvents() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("org.tarantool.OperationIssued");
+            recording.enable("org.tarantool.OperationCompleted");
+            recording.start();
+            TarantoolEvents.operationIssued(1, Code.SELECT, new Object[] { Key.SPACE, 512, Key.INDEX, 0 }, 42);
+            TarantoolEvents.operationCompleted(
+                2, Code.CALL, new Object[] { Key.FUNCTION, "box.info", Key.TUPLE, new Object[0] },
+                64, System.nanoTime(), 0
+            );
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        List<RecordedEvent> issued = filter(events, "org.tarantool.OperationIssued");
+        assertEquals(1, issued.size());
+        assertEquals(1L, issued.get(0).getLong("syncId"));
+        assertEquals("SELECT", issued.get(0).getString("operation"));
+        assertEquals(512, issued.get(0).getInt("space"));
+        assertNull(issued.get(0).getString("function"));
+        assertEquals(42, issued.get(0).getInt("bytes"));
+
+        List<RecordedEvent> completed = filter(events, "org.tarantool.OperationCompleted");
+        assertEquals(1, completed.size());
+        assertEquals(-1, completed.get(0).getInt("space"));
+        assertEquals("box.info", completed.get(0).getString("function"));
+        assertTrue(completed.get(0).getLong("latency") >= 0);
+    }
+
+    @Test
+    @DisplayName("recorded a durational sql event")
+    void testSqlEvent() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("org.tarantool.SqlExecute").withoutThreshold();
+            recording.start();
+            SqlExecuteEvent event = TarantoolEvents.beginSqlExecute();
+            TarantoolEvents.commitSqlExecute(event, "SELECT 1", 0, 1, -1, false);
+            recording.stop();
+            events = filter(readEvents(recording), "org.tarantool.SqlExecute");
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("SELECT 1", events.get(0).getString("sql"));
+        assertEquals(1, events.get(0).getInt("rows"));
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("tarantool", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.TupleView;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@DisplayName("A frame buffer pool")
+class FrameBufferPoolTest {
+
+    @Test
+    @DisplayName("reused released buffers")
+    void testReuse() {
+        FrameBufferPool pool = new FrameBufferPool(64 * 1024, null);
+        FrameBuffer frame = pool.allocate(5000);
+        assertTrue(frame.getBuffer().isDirect());
+        assertEquals(5000, frame.getBuffer().remaining());
+
+        frame.retain();
+        assertFalse(frame.release());
+        assertTrue(frame.release());
+        assertEquals(8 * 1024, pool.getFreeSize());
+        assertThrows(IllegalStateException.class, frame::release);
+        assertThrows(IllegalStateException.class, frame::retain);
+        assertThrows(IllegalStateException.class, frame::getBuffer);
+
+        assertEquals(6000, pool.allocate(6000).getBuffer().remaining());
+        assertEquals(0, pool.getFreeSize());
+        pool.allocate(100 * 1024).release();
+        assertEquals(0, pool.getFreeSize());
+    }
+
+    @Test
+    @DisplayName("kept a frame until the tuple views were closed")
+    void testTupleViews() throws IOException {
+        FrameBufferPool pool = new FrameBufferPool(64 * 1024, null);
+        List<?> data = Arrays.asList(Arrays.asList(1, "one"), Arrays.asList(2, "two"));
+        byte[] frame = frame(Collections.singletonMap(Key.DATA.getId(), data));
+
+        TarantoolPacket packet = ProtoUtils.readPacket(
+            Channels.newChannel(new ByteArrayInputStream(frame)), frame.length, MsgPackLite.INSTANCE, pool
+        );
+        List<Object> views = TupleView.readList(packet.getBodyReader(Key.DATA), MsgPackLite.INSTANCE);
+        FrameBuffer buffer = packet.getFrame();
+        packet.release();
+        assertEquals(2, buffer.refCount());
+        assertEquals(data, views);
+
+        ((TupleView) views.get(0)).detach();
+        ((TupleView) views.get(1)).close();
+        assertEquals(0, buffer.refCount());
+        assertEquals(4 * 1024, pool.getFreeSize());
+        assertEquals(data.get(0), views.get(0));
+        assertThrows(IllegalStateException.class, () -> ((TupleView) views.get(1)).getString(1));
+        TupleView.closeAll(views);
+    }
+
+    @Test
+    @DisplayName("reported frames which were not released")
+    void testLeaks() throws InterruptedException {
+        List<Throwable> leaks = new ArrayList<>();
+        FrameBufferPool pool = new FrameBufferPool(64 * 1024, leaks::add);
+        pool.allocate(100).release();
+        pool.allocate(100);
+
+        for (int i = 0; i < 100 && leaks.isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            pool.reportLeaks();
+        }
+        assertEquals(1, leaks.size());
+        assertEquals(1, pool.getLeakCount());
+        assertTrue(leaks.get(0).getMessage().contains("100 bytes"));
+    }
+
+    private static byte[] frame(Map<Integer, ?> body) throws IOException {
+        Map<Integer, Object> headers = new TreeMap<>();
+        headers.put(Key.CODE.getId(), 0);
+        headers.put(Key.SYNC.getId(), 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(headers, out);
+        MsgPackLite.INSTANCE.pack(body, out);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A frame input stream")
+class FrameInputStreamTest {
+
+    private static final byte[] TRAILER = { 1, 2, 3 };
+
+    @Test
+    @DisplayName("streamed data elements by small chunks")
+    void testReadBody() throws IOException {
+        List<List<?>> tuples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tuples.add(Arrays.asList(i, "tuple " + i));
+        }
+        ByteBuffer packet = makePacket(tuples);
+        ReadableByteChannel channel = makeChannel(packet);
+        channel.read(ByteBuffer.allocate(ProtoUtils.LENGTH_OF_SIZE_MESSAGE));
+
+        FrameInputStream frame = new FrameInputStream(channel, packet.getInt(1), 7);
+        Map<Integer, Object> headers = ProtoUtils.readHeaders(frame, MsgPackLite.INSTANCE);
+        List<Object> elements = new ArrayList<>();
+        Map<Integer, Object> body = ProtoUtils.readBody(frame, MsgPackLite.INSTANCE, elements::add);
+
+        assertEquals(42L, ((Number) headers.get(Key.SYNC.getId())).longValue());
+        assertEquals(tuples, elements);
+        assertNull(body.get(Key.DATA.getId()));
+        assertEquals(0, frame.remaining());
+        assertTrailer(channel);
+    }
+
+    @Test
+    @DisplayName("skipped the rest of a frame")
+    void testSkipRemaining() throws IOException {
+        ByteBuffer packet = makePacket(Collections.nCopies(50, Arrays.asList(1, "a")));
+        ReadableByteChannel channel = makeChannel(packet);
+        channel.read(ByteBuffer.allocate(ProtoUtils.LENGTH_OF_SIZE_MESSAGE));
+
+        FrameInputStream frame = new FrameInputStream(channel, packet.getInt(1), 16);
+        ProtoUtils.readHeaders(frame, MsgPackLite.INSTANCE);
+        frame.skipRemaining();
+
+        assertEquals(-1, frame.read());
+        assertTrailer(channel);
+    }
+
+    @Test
+    @DisplayName("read the rest of a frame as a packet")
+    void testReadRemaining() throws IOException {
+        List<List<?>> tuples = Collections.nCopies(20, Arrays.asList(1, "a"));
+        ByteBuffer packet = makePacket(tuples);
+        ReadableByteChannel channel = makeChannel(packet);
+        channel.read(ByteBuffer.allocate(ProtoUtils.LENGTH_OF_SIZE_MESSAGE));
+
+        FrameInputStream frame = new FrameInputStream(channel, packet.getInt(1), 16);
+        Map<Integer, Object> headers = ProtoUtils.readHeaders(frame, MsgPackLite.INSTANCE);
+        TarantoolPacket response = ProtoUtils.readPacket(frame, headers, MsgPackLite.INSTANCE);
+
+        assertEquals(tuples, response.getBody().get(Key.DATA.getId()));
+        assertTrailer(channel);
+    }
+
+    private ByteBuffer makePacket(List<List<?>> tuples) throws IOException {
+        return ProtoUtils.createPacket(MsgPackLite.INSTANCE, Code.SELECT, 42L, null, Key.DATA, tuples);
+    }
+
+    private ReadableByteChannel makeChannel(ByteBuffer packet) {
+        byte[] bytes = new byte[packet.remaining() + TRAILER.length];
+        packet.duplicate().get(bytes, 0, packet.remaining());
+        System.arraycopy(TRAILER, 0, bytes, packet.remaining(), TRAILER.length);
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    private void assertTrailer(ReadableByteChannel channel) throws IOException {
+        ByteBuffer rest = ByteBuffer.allocate(16);
+        channel.read(rest);
+        rest.flip();
+        byte[] bytes = new byte[rest.remaining()];
+        rest.get(bytes);
+        assertEquals(Arrays.toString(TRAILER), Arrays.toString(bytes));
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@DisplayName("An IPROTO map")
+class IprotoMapTest {
+
+    @Test
+    @DisplayName("kept known and unknown keys")
+    void testKeys() {
+        IprotoMap map = new IprotoMap();
+        map.set(Key.SYNC.getId(), 42L);
+        map.set(Key.DATA.getId(), null);
+        map.set(0x7f, "unknown");
+
+        assertEquals(42L, map.get(Key.SYNC));
+        assertEquals(42L, map.get((Object) Key.SYNC.getId()));
+        assertTrue(map.containsKey(Key.DATA.getId()));
+        assertFalse(map.containsKey(Key.CODE.getId()));
+        assertFalse(map.containsKey("key"));
+        assertEquals("unknown", map.get(0x7f));
+        assertNull(map.get(-1));
+        assertEquals(3, map.size());
+
+        Map<Integer, Object> expected = new HashMap<>();
+        expected.put(Key.SYNC.getId(), 42L);
+        expected.put(Key.DATA.getId(), null);
+        expected.put(0x7f, "unknown");
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    @DisplayName("changed and removed entries")
+    void testRemove() {
+        IprotoMap map = new IprotoMap();
+        map.set(Key.CODE.getId(), 0L);
+        map.set(Key.SYNC.getId(), 1L);
+        map.set(0x7f, "unknown");
+
+        assertEquals(0L, map.remove(Key.CODE.getId()));
+        assertFalse(map.containsKey(Key.CODE.getId()));
+
+        for (Map.Entry<Integer, Object> entry : map.entrySet()) {
+            entry.setValue(entry.getKey() == Key.SYNC.getId() ? 2L : "changed");
+        }
+        assertEquals(2L, map.get(Key.SYNC));
+        assertEquals("changed", map.get(0x7f));
+
+        Iterator<Map.Entry<Integer, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("was decoded from packets")
+    void testDecode() throws IOException {
+        // the server encodes the code as uint32 and the sync as uint64
+        byte[] headers = {
+            (byte) 0x82,
+            0x00, (byte) 0xce, 0, 0, 0, 0,
+            0x01, (byte) 0xcf, 0, 0, 0, 0, 0, 0, 0, 5,
+        };
+        Map<Integer, Object> body = Collections.singletonMap(Key.DATA.getId(), Arrays.asList(1, 2));
+
+        Map<Integer, Object> decodedHeaders = ProtoUtils.readHeaders(
+            new ByteArrayInputStream(headers), MsgPackLite.INSTANCE
+        );
+        assertTrue(decodedHeaders instanceof IprotoMap);
+        assertEquals(2, decodedHeaders.size());
+
+        TarantoolPacket packet = new TarantoolPacket(
+            decodedHeaders, ByteBuffer.wrap(pack(body)), MsgPackLite.INSTANCE
+        );
+        assertEquals(5L, (long) packet.getSync());
+        assertEquals(0L, (long) packet.getCode());
+        assertEquals(Arrays.asList(1, 2), packet.getBodyValue(Key.DATA));
+        assertNull(packet.getBodyValue(Key.ERROR));
+
+        assertThrows(
+            CommunicationException.class,
+            () -> ProtoUtils.readHeaders(input(Collections.singletonMap("sync", 1)), MsgPackLite.INSTANCE)
+        );
+        assertThrows(
+            CommunicationException.class,
+            () -> ProtoUtils.readHeaders(input(Arrays.asList(1, 2)), MsgPackLite.INSTANCE)
+        );
+    }
+
+    private ByteArrayInputStream input(Object value) throws IOException {
+        return new ByteArrayInputStream(pack(value));
+    }
+
+    private byte[] pack(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(value, bytes);
+        return bytes.toByteArray();
+    }
+
+}
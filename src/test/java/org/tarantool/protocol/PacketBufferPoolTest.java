@@ -0,0 +1,89 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@DisplayName("A packet buffer pool")
+class PacketBufferPoolTest {
+
+    @Test
+    @DisplayName("reused a buffer of the thread")
+    void testReuse() throws IOException {
+        PacketBufferPool pool = new PacketBufferPool(64, 1024);
+
+        PacketBuffer first = pool.acquire(Code.SELECT, 0);
+        ByteBuffer packet = ProtoUtils.createPacket(
+            first, MsgPackLite.INSTANCE, Code.SELECT, 1L, null, Key.KEY, Arrays.asList(1)
+        );
+        ByteBuffer expected = ProtoUtils.createPacket(
+            MsgPackLite.INSTANCE, Code.SELECT, 1L, null, Key.KEY, Arrays.asList(1)
+        );
+        assertEquals(expected, packet);
+
+        PacketBuffer nested = pool.acquire(Code.SELECT, 0);
+        assertNotSame(first, nested);
+        pool.release(Code.SELECT, nested);
+        pool.release(Code.SELECT, first);
+
+        PacketBuffer second = pool.acquire(Code.SELECT, 0);
+        assertSame(first, second);
+        assertEquals(0, second.size());
+        pool.release(Code.SELECT, second);
+    }
+
+    @Test
+    @DisplayName("estimated request sizes per code")
+    void testEstimates() {
+        PacketBufferPool pool = new PacketBufferPool(64, 1024);
+        assertEquals(64, pool.getEstimatedSize(Code.INSERT));
+
+        release(pool, Code.INSERT, 800);
+        assertEquals(800, pool.getEstimatedSize(Code.INSERT));
+        assertEquals(64, pool.getEstimatedSize(Code.SELECT));
+        assertTrue(pool.acquire(Code.INSERT, 0).capacity() >= 800);
+        pool.release(Code.INSERT, pool.acquire(Code.SELECT, 0));
+
+        for (int i = 0; i < 100; i++) {
+            release(pool, Code.INSERT, 100);
+        }
+        assertTrue(pool.getEstimatedSize(Code.INSERT) < 150);
+        release(pool, Code.INSERT, 500);
+        assertEquals(500, pool.getEstimatedSize(Code.INSERT));
+    }
+
+    @Test
+    @DisplayName("dropped buffers grown beyond the retained size")
+    void testRetainedSize() {
+        PacketBufferPool pool = new PacketBufferPool(64, 1024);
+        PacketBuffer large = release(pool, Code.REPLACE, 4000);
+        for (int i = 0; i < 100; i++) {
+            release(pool, Code.REPLACE, 10);
+        }
+
+        PacketBuffer next = pool.acquire(Code.SELECT, 0);
+        assertNotSame(large, next);
+        assertTrue(next.capacity() <= 1024);
+        pool.release(Code.SELECT, next);
+    }
+
+    private PacketBuffer release(PacketBufferPool pool, Code code, int size) {
+        PacketBuffer buffer = pool.acquire(code, 0);
+        buffer.write(new byte[size], 0, size);
+        pool.release(code, buffer);
+        return buffer;
+    }
+
+}
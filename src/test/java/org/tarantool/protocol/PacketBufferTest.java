@@ -0,0 +1,92 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@DisplayName("A packet buffer")
+class PacketBufferTest {
+
+    @Test
+    @DisplayName("referenced large binaries instead of copying them")
+    void testReferences() throws IOException {
+        byte[] blob = new byte[1000];
+        Arrays.fill(blob, (byte) 7);
+        Object[] args = {Key.SPACE, 1, Key.TUPLE, Arrays.asList(1, blob, "tail", blob)};
+
+        PacketBuffer gathering = new PacketBuffer(64);
+        gathering.setReferenceThreshold(blob.length);
+        ProtoUtils.createPacket(gathering, MsgPackLite.INSTANCE, Code.INSERT, 1L, null, args);
+        ByteBuffer expected = ProtoUtils.createPacket(MsgPackLite.INSTANCE, Code.INSERT, 1L, null, args);
+
+        assertTrue(gathering.hasReferences());
+        assertEquals(expected.remaining(), gathering.getPacketSize());
+        assertEquals(expected.remaining() - 2 * blob.length, gathering.size());
+
+        ByteBuffer[] buffers = gathering.toByteBuffers();
+        assertEquals(5, buffers.length);
+        assertSame(blob, buffers[1].array());
+        assertArrayEquals(Arrays.copyOf(expected.array(), expected.remaining()), concat(buffers));
+
+        gathering.reset();
+        assertFalse(gathering.hasReferences());
+        assertEquals(0, gathering.getPacketSize());
+    }
+
+    @Test
+    @DisplayName("copied binaries below the threshold")
+    void testCopies() throws IOException {
+        Object[] args = {Key.TUPLE, Arrays.asList(new byte[100])};
+
+        PacketBuffer buffer = new PacketBuffer(64);
+        buffer.setReferenceThreshold(101);
+        ByteBuffer packet = ProtoUtils.createPacket(buffer, MsgPackLite.INSTANCE, Code.INSERT, 1L, null, args);
+
+        assertFalse(buffer.hasReferences());
+        assertEquals(packet.remaining(), buffer.getPacketSize());
+        assertEquals(1, buffer.toByteBuffers().length);
+    }
+
+    @Test
+    @DisplayName("took the remaining bytes of a byte buffer")
+    void testByteBuffer() throws IOException {
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        direct.put(new byte[] {1, 2, 3, 4, 5});
+        direct.flip();
+        direct.position(1);
+
+        PacketBuffer copied = new PacketBuffer(16);
+        MsgPackLite.INSTANCE.pack(direct, copied);
+        PacketBuffer referenced = new PacketBuffer(16);
+        referenced.setReferenceThreshold(1);
+        MsgPackLite.INSTANCE.pack(direct, referenced);
+
+        byte[] expected = {(byte) 0xc4, 4, 2, 3, 4, 5};
+        assertArrayEquals(expected, concat(copied.toByteBuffers()));
+        assertArrayEquals(expected, concat(referenced.toByteBuffers()));
+        assertEquals(1, direct.position());
+        assertEquals(5, direct.limit());
+    }
+
+    private byte[] concat(ByteBuffer[] buffers) {
+        ByteBuffer result = ByteBuffer.allocate(Arrays.stream(buffers).mapToInt(ByteBuffer::remaining).sum());
+        for (ByteBuffer buffer : buffers) {
+            result.put(buffer.duplicate());
+        }
+        return result.array();
+    }
+
+}